@@ -5,7 +5,7 @@
 echo "🚀 Inicializando Backend de Otimização de Rotas"
 echo "============================================="
 
-# Verificar se Java 17+ está instalado
+# Verificar se Java 21+ está instalado
 if type -p java; then
     echo "✅ Java encontrado"
     _java=java
@@ -13,7 +13,7 @@ elif [[ -n "$JAVA_HOME" ]] && [[ -x "$JAVA_HOME/bin/java" ]];  then
     echo "✅ Java encontrado em JAVA_HOME"
     _java="$JAVA_HOME/bin/java"
 else
-    echo "❌ Java não encontrado. Por favor, instale Java 17 ou superior."
+    echo "❌ Java não encontrado. Por favor, instale Java 21 ou superior."
     exit 1
 fi
 
@@ -22,9 +22,9 @@ if [[ "$_java" ]]; then
     version=$("$_java" -version 2>&1 | awk -F '"' '/version/ {print $2}')
     echo "📋 Versão do Java: $version"
     
-    # Verificar se é Java 17+
-    if [[ "$version" < "17" ]]; then
-        echo "❌ Java 17 ou superior é necessário. Versão atual: $version"
+    # Verificar se é Java 21+
+    if [[ "$version" < "21" ]]; then
+        echo "❌ Java 21 ou superior é necessário. Versão atual: $version"
         exit 1
     fi
 fi
@@ -0,0 +1,61 @@
+package com.agropecuaria.route;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.Product;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Instâncias sintéticas reproduzíveis para os benchmarks: entregas sorteadas
+ * com semente fixa em um raio de ~50 km em torno de Brasília.
+ */
+public final class SyntheticInstances {
+
+    /** Semente usada por todos os benchmarks */
+    public static final long SEED = 42L;
+
+    private static final double CENTER_LATITUDE = -15.7942;
+    private static final double CENTER_LONGITUDE = -47.8822;
+    private static final double SPREAD_DEGREES = 0.45;
+
+    private SyntheticInstances() {}
+
+    /**
+     * Requisição com o número de entregas informado; prazos folgados tornam todas as ordens viáveis
+     */
+    public static RouteOptimizationRequest request(int deliveries) {
+        return request(deliveries, false);
+    }
+
+    /**
+     * Requisição com prazos folgados ou apertados (a maioria das ordens gera penalidade)
+     */
+    public static RouteOptimizationRequest request(int deliveries, boolean tightDeadlines) {
+        Random random = new Random(SEED);
+        List<Delivery> list = new ArrayList<>(deliveries);
+
+        for (int i = 0; i < deliveries; i++) {
+            Location location = new Location(
+                    CENTER_LATITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES,
+                    CENTER_LONGITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES,
+                    "Entrega " + i
+            );
+            int deadline = tightDeadlines
+                    ? 60 + random.nextInt(240)
+                    : 100_000;
+            Product product = new Product("Produto " + i, "VEGETABLE", 10.0, "kg", deadline);
+            list.add(new Delivery(location, Arrays.asList(product), "Cliente " + i));
+        }
+
+        RouteOptimizationRequest request = new RouteOptimizationRequest(
+                new Location(CENTER_LATITUDE, CENTER_LONGITUDE, "Centro de distribuição"), list);
+        request.setLoadingTimeMinutes(5);
+        request.setUseGoogleMaps(false);
+        return request;
+    }
+}
@@ -0,0 +1,126 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.SyntheticInstances;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+import com.agropecuaria.route.models.RouteOptimizationResponse;
+import com.agropecuaria.route.services.GoogleMapsService;
+import io.jenetics.util.RandomRegistry;
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfig;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Otimização de ponta a ponta (matriz em linha reta, solver exato ou algoritmo
+ * genético) com os perfis e parâmetros de {@code application.properties}.
+ *
+ * Compara população única serial, avaliação em paralelo e modelo de ilhas, com e
+ * sem a etapa memética; os contadores {@code totalTimeMinutes} e {@code routes} dão a qualidade média
+ * obtida em cada modo. O gerador aleatório é reiniciado com semente fixa a cada
+ * execução (no modo de ilhas a intercalação das threads ainda varia).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class OptimizeRouteBenchmark {
+
+    // Referência forte para o nível de log não ser descartado
+    private static final Logger SERVICE_LOGGER = Logger.getLogger("com.agropecuaria");
+
+    @Param({"5", "20", "50", "200", "1000"})
+    int deliveries;
+
+    @Param({"SERIAL", "FORK_JOIN", "ISLANDS"})
+    GeneticRouteOptimizer.ParallelMode mode;
+
+    @Param({"fast"})
+    String profile;
+
+    @Param({"true", "false"})
+    boolean memetic;
+
+    private GeneticRouteOptimizer optimizer;
+    private RouteOptimizationRequest request;
+
+    /**
+     * Qualidade das rotas obtidas, somada por iteração
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Quality {
+        public double totalTimeMinutes;
+        public long routes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            totalTimeMinutes = 0;
+            routes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        SERVICE_LOGGER.setLevel(java.util.logging.Level.SEVERE);
+        SmallRyeConfig config = new SmallRyeConfigBuilder()
+                .addDefaultInterceptors()
+                .withSources(new PropertiesConfigSource(
+                        GeneticRouteOptimizer.class.getResource("/application.properties")))
+                .withConverter(Duration.class, 200, new DurationConverter()) // Formato "10s" do Quarkus
+                .withMapping(EngineProfiles.class)
+                .build();
+
+        optimizer = new GeneticRouteOptimizer();
+        optimizer.googleMapsService = new GoogleMapsService();
+        optimizer.engineProfiles = config.getConfigMapping(EngineProfiles.class);
+        optimizer.targetCostMinutes = Optional.empty();
+        optimizer.exactOptimumMaxDeliveries =
+                config.getValue("route.optimization.termination.exact-optimum-max-deliveries", Integer.class);
+        optimizer.exactSolverMaxDeliveries = config.getValue("route.optimization.exact.max-deliveries", Integer.class);
+        optimizer.parallelMode = mode;
+        optimizer.parallelThreads = Optional.empty();
+        optimizer.islands = config.getValue("route.optimization.parallel.islands", Integer.class);
+        optimizer.migrationInterval = config.getValue("route.optimization.parallel.migration-interval", Integer.class);
+        optimizer.migrants = config.getValue("route.optimization.parallel.migrants", Integer.class);
+        optimizer.memeticEnabled = memetic;
+        optimizer.memeticInterval = config.getValue("route.optimization.memetic.interval", Integer.class);
+        optimizer.memeticElite = config.getValue("route.optimization.memetic.elite", Integer.class);
+        optimizer.localSearchMaxPasses = config.getValue("route.optimization.memetic.max-passes", Integer.class);
+        optimizer.largeMinDeliveries = config.getValue("route.optimization.large.min-deliveries", Integer.class);
+        optimizer.largeClusterSize = config.getValue("route.optimization.large.cluster-size", Integer.class);
+        optimizer.largeClusterTimeBudget = config.getValue("route.optimization.large.cluster-time-budget", Duration.class);
+        optimizer.progressInterval = config.getValue("route.optimization.progress-interval", Integer.class);
+        optimizer.init();
+
+        request = SyntheticInstances.request(deliveries);
+        request.setProfile(profile);
+    }
+
+    @Setup(Level.Invocation)
+    public void seed() {
+        RandomRegistry.random(new Random(SyntheticInstances.SEED));
+    }
+
+    @TearDown
+    public void tearDown() {
+        optimizer.shutdown();
+    }
+
+    @Benchmark
+    public RouteOptimizationResponse optimizeRoute(Quality quality) {
+        RouteOptimizationResponse response = optimizer.optimizeRoute(request);
+        quality.totalTimeMinutes += response.getTotalTimeMinutes();
+        quality.routes++;
+        return response;
+    }
+}
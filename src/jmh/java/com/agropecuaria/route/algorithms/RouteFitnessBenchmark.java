@@ -0,0 +1,78 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.SyntheticInstances;
+import com.agropecuaria.route.services.GoogleMapsService;
+import io.jenetics.EnumGene;
+import io.jenetics.PermutationChromosome;
+import io.jenetics.util.RandomRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Avaliação de fitness: custo de uma ordem com prazos folgados (só tempo de
+ * viagem), com prazos apertados (caminho da penalidade) e a partir de um
+ * cromossomo do Jenetics, como feito pelo engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteFitnessBenchmark {
+
+    private static final int ORDERS = 64;
+
+    // Referência forte para o nível de log não ser descartado
+    private static final Logger SERVICE_LOGGER = Logger.getLogger("com.agropecuaria");
+
+    @Param({"5", "20", "50", "200", "1000"})
+    int deliveries;
+
+    private RouteFitnessKernel looseKernel;
+    private RouteFitnessKernel tightKernel;
+    private int[][] orders;
+    private PermutationChromosome<Integer>[] chromosomes;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        SERVICE_LOGGER.setLevel(Level.SEVERE);
+        GoogleMapsService mapsService = new GoogleMapsService();
+        looseKernel = new OptimizationContext(SyntheticInstances.request(deliveries, false), mapsService).getKernel();
+        tightKernel = new OptimizationContext(SyntheticInstances.request(deliveries, true), mapsService).getKernel();
+
+        // Permutações sorteadas com semente fixa, percorridas em ciclo
+        chromosomes = RandomRegistry.with(new Random(SyntheticInstances.SEED), random -> {
+            PermutationChromosome<Integer>[] result = new PermutationChromosome[ORDERS];
+            for (int i = 0; i < ORDERS; i++) {
+                result[i] = PermutationChromosome.ofInteger(deliveries);
+            }
+            return result;
+        });
+        orders = new int[ORDERS][];
+        for (int i = 0; i < ORDERS; i++) {
+            orders[i] = chromosomes[i].stream().mapToInt(EnumGene::alleleIndex).toArray();
+        }
+    }
+
+    @Benchmark
+    public double fitness() {
+        return looseKernel.cost(orders[next++ & (ORDERS - 1)]);
+    }
+
+    @Benchmark
+    public double fitnessWithLateness() {
+        return tightKernel.cost(orders[next++ & (ORDERS - 1)]);
+    }
+
+    @Benchmark
+    public double fitnessFromChromosome() {
+        return looseKernel.cost(chromosomes[next++ & (ORDERS - 1)]);
+    }
+}
@@ -0,0 +1,97 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.SyntheticInstances;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Matriz em linha reta (sem chave da API) e métricas de uma rota completa.
+ *
+ * {@code pairwiseHaversineMatrix} reproduz o laço anterior (todos os pares, trigonometria
+ * por par) como referência para {@code haversineMatrix}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GoogleMapsServiceBenchmark {
+
+    // Referência forte para o nível de log não ser descartado
+    private static final Logger SERVICE_LOGGER = Logger.getLogger("com.agropecuaria");
+
+    @Param({"5", "20", "50", "200", "1000"})
+    int deliveries;
+
+    private GoogleMapsService service;
+    private List<Location> locations;
+    private double[][] timeMatrix;
+    private List<Integer> route;
+
+    @Setup
+    public void setup() {
+        // O aviso de chave ausente é emitido a cada matriz
+        SERVICE_LOGGER.setLevel(Level.SEVERE);
+        service = new GoogleMapsService();
+
+        RouteOptimizationRequest request = SyntheticInstances.request(deliveries);
+        locations = new ArrayList<>();
+        locations.add(request.getStartLocation());
+        request.getDeliveries().forEach(delivery -> locations.add(delivery.getLocation()));
+        locations.add(request.getStartLocation());
+        timeMatrix = service.calculateDistanceMatrix(locations);
+
+        // Rota com as entregas em ordem aleatória (semente fixa)
+        List<Integer> order = new ArrayList<>();
+        for (int i = 1; i <= deliveries; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(SyntheticInstances.SEED));
+        route = new ArrayList<>();
+        route.add(0);
+        route.addAll(order);
+        route.add(0);
+    }
+
+    @Benchmark
+    public double[][] straightLineDistanceMatrix() {
+        return service.calculateDistanceMatrix(locations);
+    }
+
+    @Benchmark
+    public double[][] haversineMatrix() {
+        return new HaversineMatrix(locations).minutesMatrix();
+    }
+
+    @Benchmark
+    public double[][] pairwiseHaversineMatrix() {
+        int size = locations.size();
+        double[][] matrix = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix[i][j] = i == j ? 0 : service.straightLineMinutes(locations.get(i), locations.get(j));
+            }
+        }
+        return matrix;
+    }
+
+    @Benchmark
+    public double routeTime() {
+        return service.calculateRouteTime(route, timeMatrix, 5);
+    }
+
+    @Benchmark
+    public double routeDistance() {
+        return service.calculateRouteDistance(route, locations);
+    }
+}
@@ -0,0 +1,452 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.services.GoogleMapsService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Solver para rotas grandes (centenas a milhares de entregas) sem matriz densa.
+ *
+ * As entregas são agrupadas espacialmente (k-means), a ordem dos grupos é
+ * resolvida sobre os centróides e cada grupo é otimizado em paralelo com sua
+ * própria matriz de tempos, pequena. Prazos de cada grupo são deslocados pelo
+ * horário estimado de início do grupo. As ligações entre grupos consecutivos
+ * são buscadas ao final, só os pares de junção, e a memória cresce com
+ * n·(tamanho do grupo).
+ */
+public final class ClusteredRouteSolver {
+
+    private static final int KMEANS_ITERATIONS = 25;
+    private static final long KMEANS_SEED = 42L;
+    private static final int CLUSTER_ORDER_PASSES = 50;
+
+    private final OptimizationContext context;
+    private final GoogleMapsService mapsService;
+    private final int clusterSize;
+    private final Executor executor;
+    private final Function<RouteFitnessKernel, int[]> clusterSolver;
+
+    /**
+     * @param clusterSolver resolve a ordem de entregas de um grupo (mesma convenção do núcleo)
+     */
+    public ClusteredRouteSolver(OptimizationContext context, GoogleMapsService mapsService, int clusterSize,
+                                Executor executor, Function<RouteFitnessKernel, int[]> clusterSolver) {
+        this.context = context;
+        this.mapsService = mapsService;
+        this.clusterSize = Math.max(2, clusterSize);
+        this.executor = executor;
+        this.clusterSolver = clusterSolver;
+    }
+
+    public Result solve() {
+        List<Location> locations = context.getLocations();
+        List<Delivery> deliveries = context.getRequest().getDeliveries();
+        int loading = context.getRequest().getLoadingTimeMinutes();
+        int n = deliveries.size();
+        int[] deadlines = deliveries.stream().mapToInt(Delivery::getMinDeliveryTimeLimit).toArray();
+
+        // Agrupa e ordena os grupos pelos centróides
+        List<int[]> clusters = cluster(locations, n);
+        Location[] centroids = clusters.stream().map(members -> centroid(locations, members)).toArray(Location[]::new);
+        int[] clusterOrder = orderClusters(locations.get(0), centroids, clusters, deadlines);
+
+        // Horário estimado de início de cada grupo e pontos de entrada/saída estimados
+        int groups = clusterOrder.length;
+        int[][] ordered = new int[groups][];
+        double[] offsets = new double[groups];
+        Location[] entries = new Location[groups];
+        Location[] exits = new Location[groups];
+        double clock = 0;
+        Location previous = locations.get(0);
+        for (int p = 0; p < groups; p++) {
+            ordered[p] = clusters.get(clusterOrder[p]);
+            offsets[p] = clock;
+            int[] chain = nearestNeighbourChain(locations, previous, ordered[p]);
+            entries[p] = locations.get(chain[0] + 1);
+            exits[p] = locations.get(chain[chain.length - 1] + 1);
+
+            Location at = previous;
+            for (int delivery : chain) {
+                Location next = locations.get(delivery + 1);
+                clock += mapsService.straightLineMinutes(at, next) + loading;
+                at = next;
+            }
+            previous = at;
+        }
+
+        // Otimiza cada grupo em paralelo
+        List<CompletableFuture<ClusterSolution>> futures = new ArrayList<>();
+        for (int p = 0; p < groups; p++) {
+            final int position = p;
+            futures.add(CompletableFuture.supplyAsync(() -> solveCluster(
+                    ordered[position], deadlines, loading, offsets[position],
+                    position == 0 ? null : exits[position - 1],
+                    position == groups - 1 ? null : entries[position + 1]
+            ), executor));
+        }
+        List<ClusterSolution> solutions = futures.stream().map(CompletableFuture::join).toList();
+
+        List<Integer> infeasible = new ArrayList<>();
+        solutions.forEach(solution -> infeasible.addAll(solution.infeasible));
+        if (!infeasible.isEmpty()) {
+            infeasible.sort(null);
+            return new Result(null, null, infeasible, groups);
+        }
+
+        return stitch(solutions, junctionTimes(solutions, locations), n, groups);
+    }
+
+    /**
+     * Tempos reais da última entrega de cada grupo até a primeira do seguinte,
+     * buscados num único lote só com os pares de junção (cache ou API)
+     */
+    private double[] junctionTimes(List<ClusterSolution> solutions, List<Location> locations) {
+        List<List<Location>> junctions = new ArrayList<>(solutions.size() - 1);
+        for (int p = 1; p < solutions.size(); p++) {
+            ClusterSolution from = solutions.get(p - 1);
+            ClusterSolution to = solutions.get(p);
+            junctions.add(List.of(
+                    locations.get(from.members[from.order[from.order.length - 1]] + 1),
+                    locations.get(to.members[to.order[0]] + 1)
+            ));
+        }
+        if (junctions.isEmpty()) {
+            return new double[0];
+        }
+
+        List<double[][]> matrices = mapsService.calculateDistanceMatricesAsync(junctions).await().indefinitely();
+        double[] times = new double[matrices.size()];
+        for (int p = 0; p < times.length; p++) {
+            times[p] = matrices.get(p)[0][1];
+        }
+        return times;
+    }
+
+    /**
+     * Resolve um grupo com matriz própria [início, entregas do grupo, início]
+     */
+    private ClusterSolution solveCluster(int[] members, int[] deadlines, int loading, double offset,
+                                         Location entryAnchor, Location exitAnchor) {
+        List<Location> locations = context.getLocations();
+        List<Location> local = new ArrayList<>(members.length + 2);
+        local.add(locations.get(0));
+        for (int delivery : members) {
+            local.add(locations.get(delivery + 1));
+        }
+        local.add(locations.get(0));
+        double[][] matrix = mapsService.calculateDistanceMatrix(local);
+
+        // Viabilidade com prazos originais e tempos reais a partir do início
+        int[] localDeadlines = new int[members.length];
+        for (int i = 0; i < members.length; i++) {
+            localDeadlines[i] = deadlines[members[i]];
+        }
+        List<Integer> infeasible = new ArrayList<>();
+        for (int violation : FeasibilityAnalyzer.directTripViolations(new RouteFitnessKernel(matrix, localDeadlines, loading))) {
+            infeasible.add(members[violation]);
+        }
+        if (!infeasible.isEmpty()) {
+            return new ClusterSolution(members, matrix, null, infeasible);
+        }
+
+        // Nó 0 passa a representar a saída do grupo anterior (linha) e a entrada do próximo (coluna)
+        double[][] solveMatrix = new double[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            solveMatrix[i] = matrix[i].clone();
+        }
+        for (int i = 1; i <= members.length; i++) {
+            if (entryAnchor != null) {
+                solveMatrix[0][i] = mapsService.straightLineMinutes(entryAnchor, local.get(i));
+            }
+            if (exitAnchor != null) {
+                solveMatrix[i][0] = mapsService.straightLineMinutes(local.get(i), exitAnchor);
+            }
+        }
+        int[] shifted = new int[members.length];
+        for (int i = 0; i < members.length; i++) {
+            shifted[i] = (int) Math.floor(localDeadlines[i] - offset);
+        }
+
+        int[] order = clusterSolver.apply(new RouteFitnessKernel(solveMatrix, shifted, loading));
+        return new ClusterSolution(members, matrix, order, infeasible);
+    }
+
+    /**
+     * Concatena as ordens dos grupos e calcula o tempo de cada trecho da rota:
+     * dentro do grupo e de/para o início pela matriz do grupo, entre grupos pelas junções
+     */
+    private Result stitch(List<ClusterSolution> solutions, double[] junctions, int n, int groups) {
+        int[] order = new int[n];
+        double[] legs = new double[n + 1];
+        int position = 0;
+
+        for (int p = 0; p < solutions.size(); p++) {
+            ClusterSolution solution = solutions.get(p);
+            for (int k = 0; k < solution.order.length; k++) {
+                int local = solution.order[k] + 1;
+                int delivery = solution.members[solution.order[k]];
+
+                if (k > 0) {
+                    legs[position] = solution.matrix[solution.order[k - 1] + 1][local];
+                } else if (p == 0) {
+                    legs[position] = solution.matrix[0][local];
+                } else {
+                    legs[position] = junctions[p - 1];
+                }
+                order[position++] = delivery;
+            }
+        }
+        ClusterSolution last = solutions.get(solutions.size() - 1);
+        legs[n] = last.matrix[last.order[last.order.length - 1] + 1][0];
+
+        return new Result(order, legs, new ArrayList<>(), groups);
+    }
+
+    /**
+     * k-means (k-means++ com semente fixa) sobre coordenadas projetadas; grupos
+     * muito maiores que o tamanho alvo são subdivididos
+     */
+    private List<int[]> cluster(List<Location> locations, int n) {
+        double cosLatitude = Math.cos(Math.toRadians(locations.get(0).getLatitude()));
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = locations.get(i + 1).getLongitude() * cosLatitude;
+            y[i] = locations.get(i + 1).getLatitude();
+        }
+
+        int[] all = new int[n];
+        Arrays.setAll(all, i -> i);
+        List<int[]> clusters = new ArrayList<>();
+        split(all, x, y, new Random(KMEANS_SEED), clusters);
+        return clusters;
+    }
+
+    private void split(int[] members, double[] x, double[] y, Random random, List<int[]> clusters) {
+        int k = (members.length + clusterSize - 1) / clusterSize;
+        if (k <= 1) {
+            clusters.add(members);
+            return;
+        }
+
+        for (int[] group : kMeans(members, k, x, y, random)) {
+            if (group.length > 2 * clusterSize && group.length < members.length) {
+                split(group, x, y, random, clusters);
+            } else if (group.length > 0) {
+                clusters.add(group);
+            }
+        }
+    }
+
+    private static List<int[]> kMeans(int[] members, int k, double[] x, double[] y, Random random) {
+        double[] cx = new double[k];
+        double[] cy = new double[k];
+
+        // k-means++: cada novo centro é sorteado com probabilidade proporcional à distância²
+        double[] nearest = new double[members.length];
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+        int first = members[random.nextInt(members.length)];
+        cx[0] = x[first];
+        cy[0] = y[first];
+        for (int c = 1; c < k; c++) {
+            double total = 0;
+            for (int i = 0; i < members.length; i++) {
+                double dx = x[members[i]] - cx[c - 1];
+                double dy = y[members[i]] - cy[c - 1];
+                nearest[i] = Math.min(nearest[i], dx * dx + dy * dy);
+                total += nearest[i];
+            }
+            double target = random.nextDouble() * total;
+            int chosen = members.length - 1;
+            for (int i = 0; i < members.length; i++) {
+                target -= nearest[i];
+                if (target <= 0) {
+                    chosen = i;
+                    break;
+                }
+            }
+            cx[c] = x[members[chosen]];
+            cy[c] = y[members[chosen]];
+        }
+
+        int[] assignment = new int[members.length];
+        for (int iteration = 0; iteration < KMEANS_ITERATIONS; iteration++) {
+            boolean changed = false;
+            for (int i = 0; i < members.length; i++) {
+                int best = 0;
+                double bestDistance = Double.POSITIVE_INFINITY;
+                for (int c = 0; c < k; c++) {
+                    double dx = x[members[i]] - cx[c];
+                    double dy = y[members[i]] - cy[c];
+                    double distance = dx * dx + dy * dy;
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        best = c;
+                    }
+                }
+                if (iteration == 0 || assignment[i] != best) {
+                    changed = true;
+                    assignment[i] = best;
+                }
+            }
+            if (!changed) {
+                break;
+            }
+
+            double[] sumX = new double[k];
+            double[] sumY = new double[k];
+            int[] counts = new int[k];
+            for (int i = 0; i < members.length; i++) {
+                sumX[assignment[i]] += x[members[i]];
+                sumY[assignment[i]] += y[members[i]];
+                counts[assignment[i]]++;
+            }
+            for (int c = 0; c < k; c++) {
+                if (counts[c] > 0) {
+                    cx[c] = sumX[c] / counts[c];
+                    cy[c] = sumY[c] / counts[c];
+                }
+            }
+        }
+
+        int[] counts = new int[k];
+        for (int c : assignment) {
+            counts[c]++;
+        }
+        List<int[]> groups = new ArrayList<>(k);
+        int[] filled = new int[k];
+        for (int c = 0; c < k; c++) {
+            groups.add(new int[counts[c]]);
+        }
+        for (int i = 0; i < members.length; i++) {
+            groups.get(assignment[i])[filled[assignment[i]]++] = members[i];
+        }
+        return groups;
+    }
+
+    /**
+     * Ordem de visita dos grupos: rota sobre os centróides com o menor prazo de cada grupo
+     */
+    private int[] orderClusters(Location start, Location[] centroids, List<int[]> clusters, int[] deadlines) {
+        int groups = centroids.length;
+        double[][] matrix = new double[groups + 2][groups + 2];
+        for (int i = 0; i < groups + 2; i++) {
+            for (int j = 0; j < groups + 2; j++) {
+                Location from = i == 0 || i == groups + 1 ? start : centroids[i - 1];
+                Location to = j == 0 || j == groups + 1 ? start : centroids[j - 1];
+                matrix[i][j] = i == j ? 0 : mapsService.straightLineMinutes(from, to);
+            }
+        }
+        int[] clusterDeadlines = clusters.stream()
+                .mapToInt(members -> Arrays.stream(members).map(d -> deadlines[d]).min().orElse(Integer.MAX_VALUE))
+                .toArray();
+        RouteFitnessKernel kernel = new RouteFitnessKernel(matrix, clusterDeadlines, 0);
+
+        if (groups <= HeldKarpRouteSolver.MAX_SUPPORTED_DELIVERIES) {
+            int[] exact = HeldKarpRouteSolver.solve(kernel);
+            if (exact != null) {
+                return exact;
+            }
+        }
+        return new RouteLocalSearch(kernel, CLUSTER_ORDER_PASSES).improve(FeasibilityAnalyzer.earliestDueDateOrder(kernel));
+    }
+
+    /**
+     * Sequência gulosa pelo vizinho mais próximo, usada só para estimar horários
+     */
+    private int[] nearestNeighbourChain(List<Location> locations, Location from, int[] members) {
+        int[] chain = new int[members.length];
+        boolean[] used = new boolean[members.length];
+        Location at = from;
+        for (int k = 0; k < members.length; k++) {
+            int best = -1;
+            double bestTime = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < members.length; i++) {
+                if (!used[i]) {
+                    double time = mapsService.straightLineMinutes(at, locations.get(members[i] + 1));
+                    if (time < bestTime) {
+                        bestTime = time;
+                        best = i;
+                    }
+                }
+            }
+            used[best] = true;
+            chain[k] = members[best];
+            at = locations.get(members[best] + 1);
+        }
+        return chain;
+    }
+
+    private static Location centroid(List<Location> locations, int[] members) {
+        double latitude = 0;
+        double longitude = 0;
+        for (int delivery : members) {
+            latitude += locations.get(delivery + 1).getLatitude();
+            longitude += locations.get(delivery + 1).getLongitude();
+        }
+        return new Location(latitude / members.length, longitude / members.length, "Centróide");
+    }
+
+    /**
+     * Solução de um grupo: entregas (índices globais), matriz real e ordem local
+     */
+    private static final class ClusterSolution {
+        private final int[] members;
+        private final double[][] matrix;
+        private final int[] order;
+        private final List<Integer> infeasible;
+
+        private ClusterSolution(int[] members, double[][] matrix, int[] order, List<Integer> infeasible) {
+            this.members = members;
+            this.matrix = matrix;
+            this.order = order;
+            this.infeasible = infeasible;
+        }
+    }
+
+    /**
+     * Rota completa: ordem das entregas (base 0) e tempo de cada trecho, do
+     * início até a primeira entrega (legs[0]) até a volta ao início (legs[n])
+     */
+    public static final class Result {
+        private final int[] order;
+        private final double[] legTimes;
+        private final List<Integer> infeasibleDeliveries;
+        private final int clusterCount;
+
+        public Result(int[] order, double[] legTimes, List<Integer> infeasibleDeliveries, int clusterCount) {
+            this.order = order;
+            this.legTimes = legTimes;
+            this.infeasibleDeliveries = infeasibleDeliveries;
+            this.clusterCount = clusterCount;
+        }
+
+        public boolean isFeasible() {
+            return infeasibleDeliveries.isEmpty();
+        }
+
+        public int[] getOrder() {
+            return order;
+        }
+
+        public double[] getLegTimes() {
+            return legTimes;
+        }
+
+        public List<Integer> getInfeasibleDeliveries() {
+            return infeasibleDeliveries;
+        }
+
+        public int getClusterCount() {
+            return clusterCount;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.agropecuaria.route.algorithms;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Perfis do algoritmo genético ({@code fast}, {@code balanced}, {@code thorough}...)
+ * configurados em {@code route.optimization.engine.profiles.<nome>.*}.
+ *
+ * Tamanho da população e limite de gerações crescem com o número de entregas,
+ * dentro dos limites de cada perfil.
+ */
+@ConfigMapping(prefix = "route.optimization.engine")
+public interface EngineProfiles {
+
+    /** Perfil usado quando a requisição não informa nenhum */
+    @WithDefault("balanced")
+    String defaultProfile();
+
+    Map<String, Profile> profiles();
+
+    /**
+     * Parâmetros de um perfil
+     */
+    interface Profile {
+
+        Scaling population();
+
+        Scaling generations();
+
+        double mutationProbability();
+
+        double crossoverProbability();
+
+        /** Gerações sem melhoria antes de encerrar (0 desativa) */
+        long steadyGenerations();
+
+        /** Tempo máximo de evolução por requisição */
+        Duration timeBudget();
+    }
+
+    /**
+     * Valor proporcional ao número de entregas, limitado a [min, max]
+     */
+    interface Scaling {
+
+        double perDelivery();
+
+        int min();
+
+        int max();
+    }
+}
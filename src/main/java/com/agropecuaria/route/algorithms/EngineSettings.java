@@ -0,0 +1,91 @@
+package com.agropecuaria.route.algorithms;
+
+import java.time.Duration;
+
+/**
+ * Parâmetros efetivos do algoritmo genético para uma requisição, obtidos do
+ * perfil escolhido e escalados pelo número de entregas.
+ */
+public final class EngineSettings {
+
+    private final String profile;
+    private final int populationSize;
+    private final long maxGenerations;
+    private final double mutationProbability;
+    private final double crossoverProbability;
+    private final long steadyGenerations;
+    private final Duration timeBudget;
+
+    public EngineSettings(String profile, int populationSize, long maxGenerations,
+                          double mutationProbability, double crossoverProbability,
+                          long steadyGenerations, Duration timeBudget) {
+        this.profile = profile;
+        this.populationSize = populationSize;
+        this.maxGenerations = maxGenerations;
+        this.mutationProbability = mutationProbability;
+        this.crossoverProbability = crossoverProbability;
+        this.steadyGenerations = steadyGenerations;
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Resolve o perfil para o número de entregas informado
+     */
+    public static EngineSettings resolve(String name, EngineProfiles.Profile profile, int deliveries) {
+        return new EngineSettings(
+                name,
+                scale(profile.population(), deliveries),
+                scale(profile.generations(), deliveries),
+                profile.mutationProbability(),
+                profile.crossoverProbability(),
+                profile.steadyGenerations(),
+                profile.timeBudget()
+        );
+    }
+
+    private static int scale(EngineProfiles.Scaling scaling, int deliveries) {
+        long value = Math.round(scaling.perDelivery() * deliveries);
+        return (int) Math.max(scaling.min(), Math.min(scaling.max(), value));
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    public long getMaxGenerations() {
+        return maxGenerations;
+    }
+
+    public double getMutationProbability() {
+        return mutationProbability;
+    }
+
+    public double getCrossoverProbability() {
+        return crossoverProbability;
+    }
+
+    public long getSteadyGenerations() {
+        return steadyGenerations;
+    }
+
+    public Duration getTimeBudget() {
+        return timeBudget;
+    }
+
+    @Override
+    public String toString() {
+        return "EngineSettings{" +
+                "profile='" + profile + '\'' +
+                ", populationSize=" + populationSize +
+                ", maxGenerations=" + maxGenerations +
+                ", mutationProbability=" + mutationProbability +
+                ", crossoverProbability=" + crossoverProbability +
+                ", steadyGenerations=" + steadyGenerations +
+                ", timeBudget=" + timeBudget +
+                '}';
+    }
+}
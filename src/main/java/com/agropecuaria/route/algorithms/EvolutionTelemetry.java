@@ -0,0 +1,194 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.EvolutionStatistics;
+import com.agropecuaria.route.models.GenerationStatistics;
+import io.jenetics.EnumGene;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.util.ISeq;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Telemetria de uma execução do algoritmo genético: melhor custo, custo médio,
+ * diversidade e tempo de avaliação de cada geração, além da geração em que o
+ * melhor custo final apareceu pela primeira vez.
+ *
+ * A diversidade é a proporção de custos distintos na população, que dispensa
+ * comparar as permutações e cai para perto de zero quando a população converge.
+ * As gerações são registradas em ordem pela thread que conduz a evolução; a
+ * instância não é segura para acesso concorrente.
+ */
+public final class EvolutionTelemetry {
+
+    private static final double EPSILON = 1e-9;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private long[] generations = new long[INITIAL_CAPACITY];
+    private double[] bestCosts = new double[INITIAL_CAPACITY];
+    private double[] meanCosts = new double[INITIAL_CAPACITY];
+    private double[] diversities = new double[INITIAL_CAPACITY];
+    private long[] evaluationNanos = new long[INITIAL_CAPACITY];
+    private int count;
+
+    private double bestCost = Double.POSITIVE_INFINITY;
+    private long bestGeneration;
+    private long fitnessEvaluations;
+
+    /**
+     * Registra uma geração da evolução em população única
+     */
+    public void record(EvolutionResult<EnumGene<Integer>, Double> result) {
+        Sample sample = Sample.of(result);
+        record(result.generation(), sample.bestCost, sample.meanCost, sample.diversity, sample.evaluationNanos);
+    }
+
+    /**
+     * Registra uma geração já resumida (no modelo de ilhas, a combinação das ilhas)
+     */
+    public void record(long generation, double best, double mean, double diversity, long evaluation) {
+        if (count == generations.length) {
+            int capacity = count * 2;
+            generations = Arrays.copyOf(generations, capacity);
+            bestCosts = Arrays.copyOf(bestCosts, capacity);
+            meanCosts = Arrays.copyOf(meanCosts, capacity);
+            diversities = Arrays.copyOf(diversities, capacity);
+            evaluationNanos = Arrays.copyOf(evaluationNanos, capacity);
+        }
+        generations[count] = generation;
+        bestCosts[count] = best;
+        meanCosts[count] = mean;
+        diversities[count] = diversity;
+        evaluationNanos[count] = evaluation;
+        count++;
+
+        if (best < bestCost - EPSILON) {
+            bestCost = best;
+            bestGeneration = generation;
+        }
+    }
+
+    public void setFitnessEvaluations(long fitnessEvaluations) {
+        this.fitnessEvaluations = fitnessEvaluations;
+    }
+
+    public int getGenerationCount() {
+        return count;
+    }
+
+    /**
+     * Geração em que o melhor custo final apareceu pela primeira vez (0 sem gerações)
+     */
+    public long getBestGeneration() {
+        return bestGeneration;
+    }
+
+    public double getBestCost() {
+        return bestCost;
+    }
+
+    /**
+     * Diversidade da última geração registrada (NaN sem gerações)
+     */
+    public double getFinalDiversity() {
+        return count > 0 ? diversities[count - 1] : Double.NaN;
+    }
+
+    /**
+     * Tempo de avaliação da aptidão de cada geração, em nanossegundos
+     */
+    public long[] getEvaluationNanos() {
+        return Arrays.copyOf(evaluationNanos, count);
+    }
+
+    /**
+     * Resumo da execução com no máximo {@code maxPoints} gerações no histórico, amostradas
+     * em intervalos regulares; a última geração sempre entra
+     */
+    public EvolutionStatistics summarize(int maxPoints) {
+        EvolutionStatistics statistics = new EvolutionStatistics();
+        statistics.setGenerations((long) count);
+        statistics.setFitnessEvaluations(fitnessEvaluations);
+        if (count == 0) {
+            statistics.setHistory(List.of());
+            return statistics;
+        }
+
+        long totalNanos = 0;
+        long maxNanos = 0;
+        for (int i = 0; i < count; i++) {
+            totalNanos += evaluationNanos[i];
+            maxNanos = Math.max(maxNanos, evaluationNanos[i]);
+        }
+        statistics.setBestGeneration(bestGeneration);
+        statistics.setInitialBestCost(bestCosts[0]);
+        statistics.setFinalBestCost(bestCost);
+        statistics.setMeanEvaluationMs(totalNanos / 1e6 / count);
+        statistics.setMaxEvaluationMs(maxNanos / 1e6);
+        statistics.setFinalDiversity(getFinalDiversity());
+
+        int stride = Math.max(1, (count + Math.max(1, maxPoints) - 1) / Math.max(1, maxPoints));
+        List<GenerationStatistics> history = new ArrayList<>();
+        for (int i = 0; i < count; i += stride) {
+            history.add(generation(i));
+        }
+        if ((count - 1) % stride != 0) {
+            if (history.size() == maxPoints) {
+                history.remove(history.size() - 1);
+            }
+            history.add(generation(count - 1));
+        }
+        statistics.setHistory(history);
+        return statistics;
+    }
+
+    private GenerationStatistics generation(int i) {
+        return new GenerationStatistics(generations[i], bestCosts[i], meanCosts[i], diversities[i],
+                evaluationNanos[i] / 1e6);
+    }
+
+    /**
+     * Resumo de uma geração de uma população
+     */
+    static final class Sample {
+        final double bestCost;
+        final double meanCost;
+        final double diversity;
+        final long evaluationNanos;
+
+        private Sample(double bestCost, double meanCost, double diversity, long evaluationNanos) {
+            this.bestCost = bestCost;
+            this.meanCost = meanCost;
+            this.diversity = diversity;
+            this.evaluationNanos = evaluationNanos;
+        }
+
+        static Sample of(EvolutionResult<EnumGene<Integer>, Double> result) {
+            ISeq<Phenotype<EnumGene<Integer>, Double>> population = result.population();
+            double[] costs = new double[population.size()];
+            double sum = 0;
+            for (int i = 0; i < costs.length; i++) {
+                costs[i] = -population.get(i).fitness();
+                sum += costs[i];
+            }
+
+            // Custos distintos contados após ordenar, sem caixas nem conjuntos
+            Arrays.sort(costs);
+            int distinct = costs.length > 0 ? 1 : 0;
+            for (int i = 1; i < costs.length; i++) {
+                if (costs[i] != costs[i - 1]) {
+                    distinct++;
+                }
+            }
+
+            return new Sample(
+                    -result.bestFitness(),
+                    costs.length > 0 ? sum / costs.length : Double.NaN,
+                    costs.length > 0 ? (double) distinct / costs.length : Double.NaN,
+                    result.durations().evaluationDuration().toNanos()
+            );
+        }
+    }
+}
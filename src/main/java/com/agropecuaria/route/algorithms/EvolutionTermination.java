@@ -0,0 +1,118 @@
+package com.agropecuaria.route.algorithms;
+
+import io.jenetics.engine.EvolutionResult;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Critérios de parada da evolução, avaliados a cada geração.
+ *
+ * O resultado que dispara um critério ainda é aceito (para que o melhor
+ * indivíduo daquela geração não seja descartado); o stream é interrompido
+ * na geração seguinte. O critério que encerrou a execução e o número de
+ * gerações executadas ficam disponíveis para a resposta.
+ */
+public final class EvolutionTermination implements Predicate<EvolutionResult<?, Double>> {
+
+    /**
+     * Critério que encerrou a evolução
+     */
+    public enum Reason {
+        MAX_GENERATIONS,
+        STEADY_FITNESS,
+        TIME_BUDGET,
+        TARGET_FITNESS,
+        OPTIMUM_REACHED,
+        CANCELLED
+    }
+
+    private static final double EPSILON = 1e-9;
+
+    private final long maxGenerations;
+    private final long steadyGenerations;
+    private final long timeBudgetNanos;
+    private final double targetCost;
+    private final double optimumCost;
+    private final long startNanos;
+    private BooleanSupplier cancelled = () -> false;
+
+    private double bestCost = Double.POSITIVE_INFINITY;
+    private long lastImprovement;
+    private long generations;
+    private Reason reason;
+
+    /**
+     * @param maxGenerations limite absoluto de gerações
+     * @param steadyGenerations gerações sem melhoria antes de parar (0 desativa)
+     * @param timeBudget tempo máximo de evolução (null desativa)
+     * @param targetCost custo (minutos) considerado bom o suficiente (NaN desativa)
+     * @param optimumCost custo ótimo conhecido da instância (NaN se desconhecido)
+     */
+    public EvolutionTermination(long maxGenerations, long steadyGenerations, Duration timeBudget,
+                                double targetCost, double optimumCost) {
+        this.maxGenerations = maxGenerations;
+        this.steadyGenerations = steadyGenerations;
+        this.timeBudgetNanos = timeBudget != null ? timeBudget.toNanos() : Long.MAX_VALUE;
+        this.targetCost = targetCost;
+        this.optimumCost = optimumCost;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Encerra a evolução quando a condição indicar cancelamento (ex.: job cancelado pelo cliente)
+     */
+    public EvolutionTermination cancelWhen(BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+        return this;
+    }
+
+    @Override
+    public boolean test(EvolutionResult<?, Double> result) {
+        return proceed(result.generation(), -result.bestFitness());
+    }
+
+    /**
+     * Registra o melhor custo da geração e indica se a evolução deve continuar
+     */
+    public boolean proceed(long generation, double generationBestCost) {
+        if (reason != null) {
+            return false;
+        }
+
+        generations = generation;
+        if (generationBestCost < bestCost - EPSILON) {
+            bestCost = generationBestCost;
+            lastImprovement = generation;
+        }
+
+        if (cancelled.getAsBoolean()) {
+            reason = Reason.CANCELLED;
+        } else if (!Double.isNaN(optimumCost) && bestCost <= optimumCost + EPSILON) {
+            reason = Reason.OPTIMUM_REACHED;
+        } else if (!Double.isNaN(targetCost) && bestCost <= targetCost) {
+            reason = Reason.TARGET_FITNESS;
+        } else if (generation >= maxGenerations) {
+            reason = Reason.MAX_GENERATIONS;
+        } else if (steadyGenerations > 0 && generation - lastImprovement >= steadyGenerations) {
+            reason = Reason.STEADY_FITNESS;
+        } else if (System.nanoTime() - startNanos >= timeBudgetNanos) {
+            reason = Reason.TIME_BUDGET;
+        }
+
+        return true;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public long getGenerations() {
+        return generations;
+    }
+
+    public double getBestCost() {
+        return bestCost;
+    }
+}
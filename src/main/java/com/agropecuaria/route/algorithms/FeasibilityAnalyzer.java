@@ -0,0 +1,179 @@
+package com.agropecuaria.route.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Análise rápida de viabilidade sem executar o algoritmo genético.
+ *
+ * Combina limites inferiores que provam inviabilidade (viagem direta, conflito
+ * entre pares de entregas e prazo acumulado das entregas mais urgentes) com uma
+ * sequência por prazo de entrega (EDD) que, se cumprir todos os prazos, prova a
+ * viabilidade. Tudo em O(n²) sobre o núcleo de avaliação já compilado.
+ */
+public final class FeasibilityAnalyzer {
+
+    /**
+     * Conclusão da análise
+     */
+    public enum Verdict {
+        /** A sequência por prazo cumpre todos os prazos */
+        PROVEN_FEASIBLE,
+        /** Algum limite inferior excede um prazo */
+        PROVEN_INFEASIBLE,
+        /** Nenhum limite indica inviabilidade, mas a sequência por prazo não basta */
+        NOT_EXCLUDED
+    }
+
+    private FeasibilityAnalyzer() {}
+
+    /**
+     * Executa todas as verificações, da mais barata para a mais cara
+     */
+    public static Result analyze(RouteFitnessKernel kernel) {
+        List<Integer> infeasible = directTripViolations(kernel);
+        if (infeasible.isEmpty()) {
+            infeasible = pairwiseConflicts(kernel);
+        }
+        if (infeasible.isEmpty()) {
+            infeasible = deadlinePrefixViolations(kernel);
+        }
+        if (!infeasible.isEmpty()) {
+            return new Result(Verdict.PROVEN_INFEASIBLE, infeasible);
+        }
+
+        Verdict verdict = kernel.isOnTime(earliestDueDateOrder(kernel))
+                ? Verdict.PROVEN_FEASIBLE
+                : Verdict.NOT_EXCLUDED;
+        return new Result(verdict, infeasible);
+    }
+
+    /**
+     * Entregas que não cumprem o prazo nem indo diretamente do ponto inicial
+     */
+    public static List<Integer> directTripViolations(RouteFitnessKernel kernel) {
+        List<Integer> infeasible = new ArrayList<>();
+
+        for (int i = 0; i < kernel.getDeliveryCount(); i++) {
+            // Tempo mínimo direto do ponto inicial até esta entrega
+            double minTimeToDelivery = kernel.travelTime(0, i + 1) + kernel.getLoadingTime();
+
+            if (minTimeToDelivery > kernel.deadline(i)) {
+                infeasible.add(i);
+            }
+        }
+
+        return infeasible;
+    }
+
+    /**
+     * Pares de entregas em que qualquer ordem entre as duas estoura o prazo da segunda
+     */
+    public static List<Integer> pairwiseConflicts(RouteFitnessKernel kernel) {
+        int n = kernel.getDeliveryCount();
+        double loading = kernel.getLoadingTime();
+        boolean[] conflicting = new boolean[n];
+
+        for (int i = 0; i < n; i++) {
+            double earliestI = kernel.travelTime(0, i + 1) + loading;
+            for (int j = i + 1; j < n; j++) {
+                double earliestJ = kernel.travelTime(0, j + 1) + loading;
+                boolean iThenJ = earliestI + kernel.travelTime(i + 1, j + 1) + loading <= kernel.deadline(j);
+                boolean jThenI = earliestJ + kernel.travelTime(j + 1, i + 1) + loading <= kernel.deadline(i);
+                if (!iThenJ && !jThenI) {
+                    conflicting[i] = true;
+                    conflicting[j] = true;
+                }
+            }
+        }
+
+        return indexesOf(conflicting);
+    }
+
+    /**
+     * Para as k entregas de prazo mais curto, cada uma precisa ser alcançada por
+     * alguma aresta de entrada; a soma das menores entradas mais o tempo de
+     * carregamento é um limite inferior para concluir todas elas, que não pode
+     * exceder o maior prazo do grupo.
+     */
+    public static List<Integer> deadlinePrefixViolations(RouteFitnessKernel kernel) {
+        int n = kernel.getDeliveryCount();
+        Integer[] byDeadline = IntStream.range(0, n).boxed().toArray(Integer[]::new);
+        Arrays.sort(byDeadline, Comparator.comparingInt(kernel::deadline));
+
+        double lowerBound = 0;
+        for (int k = 0; k < n; k++) {
+            int delivery = byDeadline[k];
+            lowerBound += minIncomingTime(kernel, delivery) + kernel.getLoadingTime();
+            if (lowerBound > kernel.deadline(delivery)) {
+                List<Integer> infeasible = new ArrayList<>();
+                for (int m = 0; m <= k; m++) {
+                    infeasible.add(byDeadline[m]);
+                }
+                infeasible.sort(null);
+                return infeasible;
+            }
+        }
+
+        return new ArrayList<>();
+    }
+
+    /**
+     * Sequência por prazo de entrega crescente (empates pelo mais próximo do início)
+     */
+    public static int[] earliestDueDateOrder(RouteFitnessKernel kernel) {
+        return IntStream.range(0, kernel.getDeliveryCount()).boxed()
+                .sorted(Comparator.<Integer>comparingInt(kernel::deadline)
+                        .thenComparingDouble(i -> kernel.travelTime(0, i + 1)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static double minIncomingTime(RouteFitnessKernel kernel, int delivery) {
+        double min = kernel.travelTime(0, delivery + 1);
+        for (int other = 0; other < kernel.getDeliveryCount(); other++) {
+            if (other != delivery) {
+                min = Math.min(min, kernel.travelTime(other + 1, delivery + 1));
+            }
+        }
+        return min;
+    }
+
+    private static List<Integer> indexesOf(boolean[] flags) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < flags.length; i++) {
+            if (flags[i]) {
+                indexes.add(i);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Resultado da análise de viabilidade
+     */
+    public static class Result {
+        private final Verdict verdict;
+        private final List<Integer> infeasibleDeliveries;
+
+        public Result(Verdict verdict, List<Integer> infeasibleDeliveries) {
+            this.verdict = verdict;
+            this.infeasibleDeliveries = infeasibleDeliveries;
+        }
+
+        public Verdict getVerdict() {
+            return verdict;
+        }
+
+        public boolean isFeasible() {
+            return verdict != Verdict.PROVEN_INFEASIBLE;
+        }
+
+        public List<Integer> getInfeasibleDeliveries() {
+            return infeasibleDeliveries;
+        }
+    }
+}
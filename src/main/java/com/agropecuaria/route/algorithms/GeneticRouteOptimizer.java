@@ -1,24 +1,54 @@
 package com.agropecuaria.route.algorithms;
 
 import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.FleetOptimizationResponse;
 import com.agropecuaria.route.models.Location;
 import com.agropecuaria.route.models.RouteOptimizationRequest;
 import com.agropecuaria.route.models.RouteOptimizationResponse;
+import com.agropecuaria.route.models.RouteRepairRequest;
+import com.agropecuaria.route.models.RouteRepairResponse;
+import com.agropecuaria.route.models.Vehicle;
+import com.agropecuaria.route.models.VehicleRoute;
 import com.agropecuaria.route.services.GoogleMapsService;
+import com.agropecuaria.route.services.OptimizationMetrics;
+import com.agropecuaria.route.services.OptimizationMetrics.Phase;
+import com.agropecuaria.route.services.OptimizationResultCache;
+import com.agropecuaria.route.services.RequestFingerprint;
+import com.agropecuaria.route.services.SolutionHistory;
 import io.jenetics.*;
 import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionInterceptor;
 import io.jenetics.engine.EvolutionResult;
 import io.jenetics.util.ISeq;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
- * Implementação do algoritmo genético para otimização de rotas usando Jenetics
+ * Implementação do algoritmo genético para otimização de rotas usando Jenetics.
+ * Instâncias pequenas são resolvidas de forma exata por programação dinâmica.
  */
 @ApplicationScoped
 public class GeneticRouteOptimizer {
@@ -28,41 +58,267 @@ public class GeneticRouteOptimizer {
     @Inject
     GoogleMapsService googleMapsService;
     
-    // Parâmetros do algoritmo genético
-    private static final int POPULATION_SIZE = 100;
-    private static final int MAX_GENERATIONS = 5000;
-    private static final double MUTATION_PROBABILITY = 0.15;
-    private static final double CROSSOVER_PROBABILITY = 0.65;
+    @Inject
+    OptimizationResultCache resultCache;
+    
+    // Planos anteriores para iniciar a evolução a partir de uma solução parecida
+    @Inject
+    SolutionHistory solutionHistory;
+    
+    // Perfis com os parâmetros do algoritmo genético
+    @Inject
+    EngineProfiles engineProfiles;
+    
+    // Estratégias de solução reportadas na resposta
+    private static final String SOLVER_EXACT = "EXACT_DP";
+    private static final String SOLVER_GENETIC = "GENETIC_ALGORITHM";
+    private static final String SOLVER_CLUSTERED = "CLUSTERED";
+    private static final String SOLVER_FLEET = "GIANT_TOUR_SPLIT";
+    private static final String SOLVER_REPAIR = "INCREMENTAL_REPAIR";
+    
+    /**
+     * Modos de execução paralela da evolução
+     */
+    public enum ParallelMode {
+        /** Avaliação de fitness na própria thread da requisição */
+        SERIAL,
+        /** Avaliação de fitness distribuída no pool dedicado */
+        FORK_JOIN,
+        /** Várias subpopulações evoluindo em paralelo no pool dedicado, com migração */
+        ISLANDS
+    }
+    
+    // Critérios de parada comuns a todos os perfis
+    @ConfigProperty(name = "route.optimization.termination.target-cost-minutes")
+    Optional<Double> targetCostMinutes;
+    
+    @ConfigProperty(name = "route.optimization.termination.exact-optimum-max-deliveries", defaultValue = "16")
+    int exactOptimumMaxDeliveries;
+    
+    // Até este número de entregas a rota é resolvida pelo solver exato (0 desativa)
+    @ConfigProperty(name = "route.optimization.exact.max-deliveries", defaultValue = "12")
+    int exactSolverMaxDeliveries;
+    
+    // Paralelismo da evolução
+    @ConfigProperty(name = "route.optimization.parallel.mode", defaultValue = "FORK_JOIN")
+    ParallelMode parallelMode;
+    
+    @ConfigProperty(name = "route.optimization.parallel.threads")
+    Optional<Integer> parallelThreads;
+    
+    @ConfigProperty(name = "route.optimization.parallel.islands", defaultValue = "4")
+    int islands;
+    
+    @ConfigProperty(name = "route.optimization.parallel.migration-interval", defaultValue = "25")
+    int migrationInterval;
+    
+    @ConfigProperty(name = "route.optimization.parallel.migrants", defaultValue = "2")
+    int migrants;
+    
+    // Etapa memética: busca local 2-opt/Or-opt na elite a cada intervalo e no resultado final
+    @ConfigProperty(name = "route.optimization.memetic.enabled", defaultValue = "true")
+    boolean memeticEnabled;
+    
+    @ConfigProperty(name = "route.optimization.memetic.interval", defaultValue = "25")
+    int memeticInterval;
+    
+    @ConfigProperty(name = "route.optimization.memetic.elite", defaultValue = "3")
+    int memeticElite;
+    
+    @ConfigProperty(name = "route.optimization.memetic.max-passes", defaultValue = "20")
+    int localSearchMaxPasses;
+    
+    // Vizinhos candidatos da busca local; acima do dobro disso em entregas a vizinhança é restrita (0 desativa)
+    @ConfigProperty(name = "route.optimization.memetic.neighbours", defaultValue = "10")
+    int localSearchNeighbours;
+    
+    // Rotas grandes: agrupamento espacial, grupos otimizados em paralelo e vizinhos esparsos
+    @ConfigProperty(name = "route.optimization.large.min-deliveries", defaultValue = "150")
+    int largeMinDeliveries;
+    
+    @ConfigProperty(name = "route.optimization.large.cluster-size", defaultValue = "40")
+    int largeClusterSize;
+    
+    @ConfigProperty(name = "route.optimization.large.cluster-time-budget", defaultValue = "2s")
+    Duration largeClusterTimeBudget;
+    
+    // Gerações entre relatos de progresso às execuções assíncronas
+    @ConfigProperty(name = "route.optimization.progress-interval", defaultValue = "10")
+    int progressInterval;
+    
+    // Gerações no histórico da telemetria devolvida quando a requisição pede includeStatistics
+    @ConfigProperty(name = "route.optimization.statistics.max-points", defaultValue = "200")
+    int statisticsMaxPoints;
+    
+    private ForkJoinPool evolutionPool;
+    
+    @PostConstruct
+    void init() {
+        // Acima do limite o solver exato recusa a instância
+        if (exactSolverMaxDeliveries > HeldKarpRouteSolver.MAX_SUPPORTED_DELIVERIES
+                || exactOptimumMaxDeliveries > HeldKarpRouteSolver.MAX_SUPPORTED_DELIVERIES) {
+            LOG.warn("Limites do solver exato reduzidos para " + HeldKarpRouteSolver.MAX_SUPPORTED_DELIVERIES + " entregas");
+            exactSolverMaxDeliveries = Math.min(exactSolverMaxDeliveries, HeldKarpRouteSolver.MAX_SUPPORTED_DELIVERIES);
+            exactOptimumMaxDeliveries = Math.min(exactOptimumMaxDeliveries, HeldKarpRouteSolver.MAX_SUPPORTED_DELIVERIES);
+        }
+        
+        int threads = parallelThreads.orElse(Runtime.getRuntime().availableProcessors());
+        // As threads herdam o class loader da aplicação: os grupos chamam o cliente reativo do Google Maps
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        evolutionPool = new ForkJoinPool(Math.max(1, threads), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+        LOG.info("Evolução em modo " + parallelMode + " com " + evolutionPool.getParallelism() + " threads");
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        if (evolutionPool != null) {
+            evolutionPool.shutdownNow();
+        }
+    }
+    
+    /**
+     * Cria o contexto que carrega localizações e matriz de tempos durante toda a requisição
+     */
+    public OptimizationContext createContext(RouteOptimizationRequest request) {
+        return new OptimizationContext(request, googleMapsService);
+    }
+    
+    /**
+     * Cria o contexto e já busca a matriz de tempos, concentrando a E/S antes da otimização;
+     * rotas grandes não usam a matriz densa e buscam as matrizes dos grupos durante a otimização
+     */
+    public OptimizationContext prepareContext(RouteOptimizationRequest request) {
+        OptimizationContext context = createContext(request);
+        if (request.getDeliveries().size() < largeMinDeliveries) {
+            context.getTimeMatrix();
+        }
+        return context;
+    }
+    
+    /**
+     * Cria o contexto da frota com a matriz de tempos já buscada
+     */
+    public OptimizationContext prepareFleetContext(RouteOptimizationRequest request) {
+        OptimizationContext context = createContext(request);
+        context.getTimeMatrix();
+        return context;
+    }
+    
+    /**
+     * Cria os contextos de um lote buscando as matrizes de todas as rotas de uma vez:
+     * localizações repetidas entre as rotas aparecem uma vez e cada par usado por alguma
+     * rota é calculado uma única vez. Rotas grandes continuam buscando as matrizes dos
+     * grupos durante a otimização
+     */
+    public List<OptimizationContext> prepareBatchContexts(List<RouteOptimizationRequest> requests) {
+        List<OptimizationContext> contexts = requests.stream().map(this::createContext).toList();
+        List<OptimizationContext> dense = contexts.stream()
+                .filter(context -> context.getRequest().getDeliveries().size() < largeMinDeliveries)
+                .toList();
+        if (dense.isEmpty()) {
+            return contexts;
+        }
+        
+        List<double[][]> matrices = googleMapsService.calculateDistanceMatricesAsync(
+                dense.stream().map(OptimizationContext::getLocations).toList()
+        ).await().indefinitely();
+        for (int r = 0; r < dense.size(); r++) {
+            dense.get(r).setTimeMatrix(matrices.get(r));
+        }
+        
+        LOG.debug("Lote de " + contexts.size() + " rotas com " + dense.size() + " matrizes buscadas em conjunto");
+        return contexts;
+    }
+    
+    /**
+     * Indica se o perfil existe (nulo ou vazio seleciona o perfil padrão)
+     */
+    public boolean hasProfile(String profile) {
+        return profile == null || profile.isBlank() || engineProfiles.profiles().containsKey(profile);
+    }
+    
+    /**
+     * Parâmetros do algoritmo genético para o perfil e número de entregas informados
+     */
+    public EngineSettings engineSettings(String profile, int deliveries) {
+        String name = profile == null || profile.isBlank() ? engineProfiles.defaultProfile() : profile;
+        EngineProfiles.Profile selected = engineProfiles.profiles().get(name);
+        if (selected == null) {
+            throw new IllegalArgumentException("Perfil de otimização desconhecido: " + name);
+        }
+        return EngineSettings.resolve(name, selected, deliveries);
+    }
     
     /**
      * Otimiza a rota usando algoritmo genético
      */
     public RouteOptimizationResponse optimizeRoute(RouteOptimizationRequest request) {
+        return optimizeRoute(createContext(request));
+    }
+    
+    /**
+     * Otimiza a rota reaproveitando a matriz de tempos do contexto
+     */
+    public RouteOptimizationResponse optimizeRoute(OptimizationContext context) {
         long startTime = System.currentTimeMillis();
+        RouteOptimizationRequest request = context.getRequest();
         
         try {
+            // Rotas grandes: sem matriz densa
+            if (request.getDeliveries().size() >= largeMinDeliveries) {
+                return optimizeLargeRoute(context, startTime);
+            }
+            
             // Prepara dados para o algoritmo
-            List<Location> allLocations = prepareLocations(request);
-            double[][] timeMatrix = googleMapsService.calculateDistanceMatrix(allLocations);
+            double[][] timeMatrix = context.getTimeMatrix();
+            
+            // Matriz e prazos pré-compilados uma única vez para todas as avaliações
+            RouteFitnessKernel kernel = context.getKernel();
             
             // Verifica viabilidade antes de otimizar
-            FeasibilityResult feasibilityResult = checkFeasibility(request, timeMatrix);
-            if (!feasibilityResult.isFeasible()) {
-                return createInfeasibleResponse(feasibilityResult, startTime);
+            List<Integer> infeasibleDeliveries = OptimizationMetrics.timePhase(Phase.FEASIBILITY,
+                    kernel.getDeliveryCount(), () -> FeasibilityAnalyzer.directTripViolations(kernel));
+            if (!infeasibleDeliveries.isEmpty()) {
+                return createInfeasibleResponse(infeasibleDeliveries, startTime);
             }
             
-            // Executa algoritmo genético
-            List<Integer> optimizedRoute = runGeneticAlgorithm(request, timeMatrix);
+            // Instâncias pequenas: ótimo exato por programação dinâmica
+            int[] exactOrder = kernel.getDeliveryCount() <= exactSolverMaxDeliveries
+                    ? HeldKarpRouteSolver.solve(kernel)
+                    : null;
+            
+            RouteOptimizationResponse response = new RouteOptimizationResponse();
+            List<Integer> optimizedRoute;
+            EvolutionTermination termination = null;
+            EvolutionTelemetry telemetry = new EvolutionTelemetry();
+            if (exactOrder != null) {
+                optimizedRoute = toRoute(exactOrder);
+            } else {
+                // Executa algoritmo genético com os parâmetros do perfil escolhido
+                EngineSettings settings = engineSettings(request.getProfile(), kernel.getDeliveryCount());
+                termination = createTermination(kernel, settings).cancelWhen(context::isCancelled);
+                int[] previousOrder = solutionHistory != null
+                        ? solutionHistory.previousOrder(request).orElse(null)
+                        : null;
+                EvolutionTermination gaTermination = termination;
+                optimizedRoute = toRoute(OptimizationMetrics.timePhase(Phase.EVOLUTION, kernel.getDeliveryCount(),
+                        () -> evolveOrder(kernel, neighbourCandidates(context), previousOrder, gaTermination,
+                                telemetry, settings, parallelMode, context.getProgressListener())));
+                response.setEngineProfile(settings.getProfile());
+            }
             
             // Calcula métricas da rota otimizada
             double totalTime = googleMapsService.calculateRouteTime(
                     optimizedRoute, timeMatrix, request.getLoadingTimeMinutes()
             );
             
-            double totalDistance = googleMapsService.calculateRouteDistance(optimizedRoute, allLocations);
+            double totalDistance = googleMapsService.calculateRouteDistance(optimizedRoute, context.getLocations());
             
             // Constrói resposta
-            RouteOptimizationResponse response = new RouteOptimizationResponse();
             // Mantém o início e fim (0) na lista
             response.setOptimizedRoute(new ArrayList<>(optimizedRoute));
             response.setDeliveryOrder(buildDeliveryOrder(optimizedRoute, request.getDeliveries()));
@@ -70,6 +326,18 @@ public class GeneticRouteOptimizer {
             response.setTotalTimeMinutes((int) Math.ceil(totalTime));
             response.setFeasible(true);
             response.setMessage("Rota otimizada com sucesso");
+            if (termination != null) {
+                response.setSolverStrategy(SOLVER_GENETIC);
+                response.setTerminationReason(termination.getReason().name());
+                response.setGenerationsExecuted(termination.getGenerations());
+                if (Boolean.TRUE.equals(request.getIncludeStatistics())) {
+                    response.setEvolutionStatistics(telemetry.summarize(statisticsMaxPoints));
+                }
+            } else {
+                response.setSolverStrategy(SOLVER_EXACT);
+                response.setTerminationReason(EvolutionTermination.Reason.OPTIMUM_REACHED.name());
+                response.setGenerationsExecuted(0L);
+            }
             response.setAlgorithmExecutionTimeMs(System.currentTimeMillis() - startTime);
             
             return response;
@@ -87,122 +355,635 @@ public class GeneticRouteOptimizer {
     }
     
     /**
-     * Prepara lista de localizações incluindo ponto inicial/final
+     * Executa o algoritmo genético, com a população inicial semeada por heurísticas
+     * e, se houver, pela ordem de um plano anterior parecido
      */
-    private List<Location> prepareLocations(RouteOptimizationRequest request) {
-        List<Location> locations = new ArrayList<>();
-        locations.add(request.getStartLocation()); // Índice 0
+    private int[] evolveOrder(RouteFitnessKernel kernel, int[][] candidates, int[] previousOrder,
+                              EvolutionTermination termination, EvolutionTelemetry telemetry,
+                              EngineSettings settings, ParallelMode mode, OptimizationProgressListener listener) {
+        EvolutionInterceptor<EnumGene<Integer>, Double> memeticStage = memeticEnabled
+                ? new MemeticStage(kernel, memeticInterval, memeticElite, localSearchMaxPasses, candidates)
+                : EvolutionInterceptor.identity();
+        
+        // Ordem final, refinada pela busca local
+        List<int[]> seeds = WarmStartSeeds.of(kernel, previousOrder);
+        int[] order = evolve(kernel::cost, kernel.getDeliveryCount(), seeds, memeticStage, termination, telemetry,
+                settings, mode, listener);
+        if (memeticEnabled) {
+            order = new RouteLocalSearch(kernel, localSearchMaxPasses, candidates).improve(order);
+        }
+        
+        return order;
+    }
+    
+    /**
+     * Listas de vizinhos da busca local, só quando restringem de fato a vizinhança
+     */
+    private int[][] neighbourCandidates(OptimizationContext context) {
+        int deliveries = context.getRequest().getDeliveries().size();
+        if (localSearchNeighbours <= 0 || deliveries <= 2 * localSearchNeighbours) {
+            return null;
+        }
+        return context.getNeighbourCandidates(localSearchNeighbours);
+    }
+    
+    /**
+     * Resposta já calculada para uma requisição equivalente (mesma impressão digital),
+     * com a ordem de entregas montada a partir desta requisição. Pedidos de telemetria
+     * não usam o cache: ela descreve uma execução, e a resposta guardada não a traz
+     */
+    public Optional<RouteOptimizationResponse> cachedResponse(RouteOptimizationRequest request) {
+        if (resultCache == null || !resultCache.isEnabled() || Boolean.TRUE.equals(request.getIncludeStatistics())) {
+            return Optional.empty();
+        }
+        return resultCache.get(fingerprint(request)).map(cached -> {
+            RouteOptimizationResponse response = copyResponse(cached, request);
+            response.setCached(true);
+            return response;
+        });
+    }
+    
+    /**
+     * Otimiza a rota e, se viável, verifica produtos que podem estragar: a solução é mantida
+     * e o aviso é acrescentado à mensagem. Resultados completos vão para o cache de resultados.
+     */
+    public RouteOptimizationResponse optimizeAndValidate(OptimizationContext context) {
+        RouteOptimizationResponse response = optimizeRoute(context);
+        
+        if (response.getFeasible()) {
+            try {
+                ProductSpoilageResult spoilageResult = OptimizationMetrics.timePhase(Phase.SPOILAGE_VALIDATION,
+                        context.getRequest().getDeliveries().size(),
+                        () -> validateOptimizedRoute(response.getOptimizedRoute(), context));
+                
+                if (!spoilageResult.isAllProductsValid()) {
+                    // Alguns produtos estragaram - retorna warning mas mantém a solução
+                    String warningMessage = "ATENÇÃO: Alguns produtos podem estragar durante a entrega: " + 
+                            String.join(", ", spoilageResult.getSpoiledProducts());
+                    
+                    response.setMessage(response.getMessage() + ". " + warningMessage);
+                    
+                    LOG.warn("Produtos que podem estragar: " + spoilageResult.getSpoiledProducts());
+                    LOG.warn("Entregas afetadas: " + spoilageResult.getSpoiledDeliveries());
+                }
+                
+            } catch (Exception e) {
+                LOG.warn("Erro durante verificação de produtos estragados: " + e.getMessage());
+                // Continua sem a verificação adicional
+            }
+        }
+        
+        // Erros e otimizações canceladas não são guardados
+        boolean complete = response.getFeasible() || response.getInfeasibleDeliveries() != null;
+        if (resultCache != null && resultCache.isEnabled() && complete && !context.isCancelled()) {
+            resultCache.put(fingerprint(context.getRequest()), copyResponse(response, context.getRequest()));
+        }
+        if (solutionHistory != null && response.getFeasible() && !context.isCancelled()) {
+            solutionHistory.record(context.getRequest(), response.getOptimizedRoute());
+        }
+        
+        return response;
+    }
+    
+    private String fingerprint(RouteOptimizationRequest request) {
+        String profile = request.getProfile() == null || request.getProfile().isBlank()
+                ? engineProfiles.defaultProfile()
+                : request.getProfile();
+        return RequestFingerprint.of(request, profile);
+    }
+    
+    /**
+     * Cópia da resposta com a ordem de entregas apontando para as entregas da requisição informada
+     */
+    private RouteOptimizationResponse copyResponse(RouteOptimizationResponse source, RouteOptimizationRequest request) {
+        RouteOptimizationResponse copy = new RouteOptimizationResponse();
+        if (source.getOptimizedRoute() != null) {
+            copy.setOptimizedRoute(new ArrayList<>(source.getOptimizedRoute()));
+            copy.setDeliveryOrder(buildDeliveryOrder(source.getOptimizedRoute(), request.getDeliveries()));
+        }
+        if (source.getInfeasibleDeliveries() != null) {
+            copy.setInfeasibleDeliveries(new ArrayList<>(source.getInfeasibleDeliveries()));
+        }
+        copy.setTotalDistanceKm(source.getTotalDistanceKm());
+        copy.setTotalTimeMinutes(source.getTotalTimeMinutes());
+        copy.setFeasible(source.getFeasible());
+        copy.setMessage(source.getMessage());
+        copy.setAlgorithmExecutionTimeMs(source.getAlgorithmExecutionTimeMs());
+        copy.setSolverStrategy(source.getSolverStrategy());
+        copy.setTerminationReason(source.getTerminationReason());
+        copy.setGenerationsExecuted(source.getGenerationsExecuted());
+        copy.setEngineProfile(source.getEngineProfile());
+        copy.setPartial(source.getPartial());
+        return copy;
+    }
+    
+    /**
+     * Resposta parcial para a melhor rota de uma evolução ainda em andamento (sem validação de deterioração)
+     */
+    public RouteOptimizationResponse partialResponse(OptimizationContext context, long generation, List<Integer> route) {
+        RouteOptimizationRequest request = context.getRequest();
+        int[] order = route.subList(1, route.size() - 1).stream().mapToInt(node -> node - 1).toArray();
+        
+        RouteOptimizationResponse response = new RouteOptimizationResponse();
+        response.setOptimizedRoute(new ArrayList<>(route));
+        response.setDeliveryOrder(buildDeliveryOrder(route, request.getDeliveries()));
+        response.setTotalDistanceKm(googleMapsService.calculateRouteDistance(route, context.getLocations()));
+        response.setTotalTimeMinutes((int) Math.ceil(googleMapsService.calculateRouteTime(
+                route, context.getTimeMatrix(), request.getLoadingTimeMinutes()
+        )));
+        response.setFeasible(context.getKernel().isOnTime(order));
+        response.setMessage("Rota parcial: otimização em andamento");
+        response.setSolverStrategy(SOLVER_GENETIC);
+        response.setGenerationsExecuted(generation);
+        response.setPartial(true);
+        
+        return response;
+    }
+    
+    /**
+     * Otimiza uma frota: distribui as entregas entre os veículos respeitando as capacidades
+     * e sequencia a rota de cada um
+     */
+    public FleetOptimizationResponse optimizeFleet(OptimizationContext context) {
+        long startTime = System.currentTimeMillis();
+        RouteOptimizationRequest request = context.getRequest();
+        
+        try {
+            List<Delivery> deliveries = request.getDeliveries();
+            List<Vehicle> vehicles = request.getVehicles();
+            double[] loads = deliveries.stream().mapToDouble(Delivery::getTotalQuantity).toArray();
+            double[] capacities = vehicles.stream().mapToDouble(Vehicle::getCapacity).toArray();
+            
+            // Entregas que não cabem nem no maior veículo
+            double largestCapacity = Arrays.stream(capacities).max().orElse(0);
+            List<Integer> oversized = IntStream.range(0, loads.length)
+                    .filter(i -> loads[i] > largestCapacity)
+                    .boxed()
+                    .collect(Collectors.toList());
+            if (!oversized.isEmpty()) {
+                return createInfeasibleFleetResponse(oversized,
+                        "Há entregas com carga acima da capacidade do maior veículo", startTime);
+            }
+            if (Arrays.stream(loads).sum() > Arrays.stream(capacities).sum()) {
+                return createInfeasibleFleetResponse(new ArrayList<>(),
+                        "A carga total das entregas excede a capacidade da frota", startTime);
+            }
+            
+            RouteFitnessKernel kernel = context.getKernel();
+            List<Integer> infeasibleDeliveries = OptimizationMetrics.timePhase(Phase.FEASIBILITY,
+                    kernel.getDeliveryCount(), () -> FeasibilityAnalyzer.directTripViolations(kernel));
+            if (!infeasibleDeliveries.isEmpty()) {
+                return createInfeasibleFleetResponse(infeasibleDeliveries,
+                        "Não é possível entregar todos os produtos dentro do prazo limite", startTime);
+            }
+            
+            // Rota gigante evoluída pelo algoritmo genético; cada avaliação faz a divisão ótima entre os veículos
+            GiantTourSplit split = new GiantTourSplit(kernel, loads, capacities);
+            EngineSettings settings = engineSettings(request.getProfile(), deliveries.size());
+            EvolutionTermination termination = null;
+            EvolutionTelemetry telemetry = new EvolutionTelemetry();
+            int[] tour = {0};
+            if (deliveries.size() > 1) {
+                termination = new EvolutionTermination(
+                        settings.getMaxGenerations(),
+                        settings.getSteadyGenerations(),
+                        settings.getTimeBudget(),
+                        Double.NaN,
+                        Double.NaN
+                );
+                termination.cancelWhen(context::isCancelled);
+                EvolutionTermination fleetTermination = termination;
+                tour = OptimizationMetrics.timePhase(Phase.EVOLUTION, deliveries.size(),
+                        () -> evolve(split::cost, deliveries.size(), WarmStartSeeds.of(kernel, null),
+                                EvolutionInterceptor.identity(), fleetTermination, telemetry, settings, parallelMode,
+                                context.getProgressListener()));
+            }
+            
+            // As rotas dos veículos são independentes: cada uma é resequenciada em paralelo
+            int[][] assignment = split.split(tour);
+            List<CompletableFuture<int[]>> sequencing = new ArrayList<>();
+            for (int[] route : assignment) {
+                sequencing.add(CompletableFuture.supplyAsync(() -> sequenceVehicleRoute(kernel, route), evolutionPool));
+            }
+            
+            double[][] timeMatrix = context.getTimeMatrix();
+            List<VehicleRoute> routes = new ArrayList<>();
+            double totalDistance = 0;
+            int totalTime = 0;
+            int makespan = 0;
+            for (int v = 0; v < vehicles.size(); v++) {
+                int[] order = sequencing.get(v).join();
+                if (order.length == 0) {
+                    continue;
+                }
+                
+                List<Integer> optimizedRoute = toRoute(order);
+                VehicleRoute route = new VehicleRoute();
+                route.setVehicleId(vehicles.get(v).getId() != null ? vehicles.get(v).getId() : "Veículo " + (v + 1));
+                route.setOptimizedRoute(optimizedRoute);
+                route.setDeliveryOrder(buildDeliveryOrder(optimizedRoute, deliveries));
+                route.setLoad(split.load(order));
+                route.setCapacity(capacities[v]);
+                route.setTotalDistanceKm(googleMapsService.calculateRouteDistance(optimizedRoute, context.getLocations()));
+                route.setTotalTimeMinutes((int) Math.ceil(googleMapsService.calculateRouteTime(
+                        optimizedRoute, timeMatrix, request.getLoadingTimeMinutes()
+                )));
+                route.setOnTime(kernel.isOnTime(order));
+                routes.add(route);
+                
+                totalDistance += route.getTotalDistanceKm();
+                totalTime += route.getTotalTimeMinutes();
+                makespan = Math.max(makespan, route.getTotalTimeMinutes());
+            }
+            
+            FleetOptimizationResponse response = new FleetOptimizationResponse();
+            response.setRoutes(routes);
+            response.setVehiclesUsed(routes.size());
+            response.setTotalDistanceKm(totalDistance);
+            response.setTotalTimeMinutes(totalTime);
+            response.setMakespanMinutes(makespan);
+            response.setFeasible(true);
+            response.setMessage("Frota otimizada com sucesso");
+            response.setSolverStrategy(SOLVER_FLEET);
+            response.setEngineProfile(settings.getProfile());
+            if (termination != null) {
+                response.setTerminationReason(termination.getReason().name());
+                response.setGenerationsExecuted(termination.getGenerations());
+                if (Boolean.TRUE.equals(request.getIncludeStatistics())) {
+                    response.setEvolutionStatistics(telemetry.summarize(statisticsMaxPoints));
+                }
+            } else {
+                response.setGenerationsExecuted(0L);
+            }
+            response.setAlgorithmExecutionTimeMs(System.currentTimeMillis() - startTime);
+            
+            return response;
+            
+        } catch (Exception e) {
+            LOG.error("Erro durante otimização da frota: " + e.getMessage(), e);
+            
+            FleetOptimizationResponse response = new FleetOptimizationResponse();
+            response.setFeasible(false);
+            response.setMessage("Erro durante otimização: " + e.getMessage());
+            response.setAlgorithmExecutionTimeMs(System.currentTimeMillis() - startTime);
+            
+            return response;
+        }
+    }
+    
+    /**
+     * Reotimiza uma rota em andamento a partir da posição atual do veículo, sem novo algoritmo
+     * genético: a ordem planejada é mantida, as entregas novas são inseridas na posição mais
+     * barata e a sequência passa pela busca local. Os tempos de pares já consultados vêm do
+     * cache do Google Maps; só os pares da posição atual e das entregas novas são buscados.
+     *
+     * @throws IllegalArgumentException se a rota ou as alterações citam entregas inexistentes
+     */
+    public RouteRepairResponse repairRoute(RouteRepairRequest repair) {
+        long startTime = System.currentTimeMillis();
+        RouteOptimizationRequest original = repair.getRequest();
+        
+        List<Delivery> deliveries = new ArrayList<>(original.getDeliveries());
+        deliveries.addAll(orEmpty(repair.getAddedDeliveries()));
+        int nodeCount = deliveries.size();
+        
+        Set<Integer> dropped = new HashSet<>(checkNodes(repair.getCompletedDeliveries(), nodeCount, "completedDeliveries"));
+        dropped.addAll(checkNodes(repair.getRemovedDeliveries(), nodeCount, "removedDeliveries"));
+        
+        // Pendentes: a ordem da rota atual e, em seguida, as entregas adicionadas
+        Set<Integer> pending = new LinkedHashSet<>();
+        for (int node : checkNodes(repair.getCurrentRoute(), nodeCount, "currentRoute")) {
+            if (node != 0 && !dropped.contains(node)) {
+                pending.add(node);
+            }
+        }
+        int planned = pending.size();
+        for (int node = original.getDeliveries().size() + 1; node <= nodeCount; node++) {
+            if (!dropped.contains(node)) {
+                pending.add(node);
+            }
+        }
+        
+        List<Integer> nodes = new ArrayList<>(pending);
+        List<Integer> prioritizedNodes = checkNodes(repair.getPrioritizedDeliveries(), nodeCount, "prioritizedDeliveries");
+        int[] prioritized = new int[prioritizedNodes.size()];
+        for (int k = 0; k < prioritized.length; k++) {
+            prioritized[k] = nodes.indexOf(prioritizedNodes.get(k));
+            if (prioritized[k] < 0) {
+                throw new IllegalArgumentException("Entrega priorizada não está pendente: " + prioritizedNodes.get(k));
+            }
+        }
         
-        for (Delivery delivery : request.getDeliveries()) {
+        // Posição atual (0), entregas pendentes e retorno ao ponto inicial
+        List<Location> locations = new ArrayList<>();
+        locations.add(repair.getCurrentLocation());
+        int[] deadlines = new int[nodes.size()];
+        for (int k = 0; k < nodes.size(); k++) {
+            Delivery delivery = deliveries.get(nodes.get(k) - 1);
             locations.add(delivery.getLocation());
+            deadlines[k] = delivery.getMinDeliveryTimeLimit() - repair.getElapsedMinutes();
         }
+        locations.add(original.getStartLocation());
+        double[][] timeMatrix = googleMapsService.calculateDistanceMatrix(locations);
+        
+        IncrementalRouteRepair routeRepair = new IncrementalRouteRepair(
+                timeMatrix, deadlines, original.getLoadingTimeMinutes(), localSearchMaxPasses
+        );
+        int[] order = routeRepair.repair(IntStream.range(0, planned).toArray(), prioritized);
+        double[] lateness = routeRepair.lateness(order);
         
-        locations.add(request.getStartLocation()); // Índice final (mesmo que 0)
+        List<Integer> remainingRoute = new ArrayList<>();
+        List<Integer> localRoute = new ArrayList<>();
+        List<Delivery> deliveryOrder = new ArrayList<>();
+        List<Integer> lateDeliveries = new ArrayList<>();
+        localRoute.add(0);
+        for (int local : order) {
+            int node = nodes.get(local);
+            remainingRoute.add(node);
+            localRoute.add(local + 1);
+            deliveryOrder.add(deliveries.get(node - 1));
+            if (lateness[local] > 0) {
+                lateDeliveries.add(node);
+            }
+        }
+        remainingRoute.add(0);
+        localRoute.add(locations.size() - 1);
         
-        return locations;
+        RouteOptimizationRequest updated = new RouteOptimizationRequest(original.getStartLocation(), deliveries);
+        updated.setVehicleSpeedKmH(original.getVehicleSpeedKmH());
+        updated.setLoadingTimeMinutes(original.getLoadingTimeMinutes());
+        updated.setUseGoogleMaps(original.getUseGoogleMaps());
+        updated.setProfile(original.getProfile());
+        updated.setVehicles(original.getVehicles());
+        updated.setIncludeStatistics(original.getIncludeStatistics());
+        
+        RouteRepairResponse response = new RouteRepairResponse();
+        response.setRequest(updated);
+        response.setRemainingRoute(remainingRoute);
+        response.setDeliveryOrder(deliveryOrder);
+        response.setRemainingTimeMinutes((int) Math.ceil(googleMapsService.calculateRouteTime(
+                localRoute, timeMatrix, original.getLoadingTimeMinutes()
+        )));
+        response.setRemainingDistanceKm(googleMapsService.calculateRouteDistance(localRoute, locations));
+        response.setFeasible(lateDeliveries.isEmpty());
+        response.setLateDeliveries(lateDeliveries);
+        response.setMessage(lateDeliveries.isEmpty()
+                ? "Rota reotimizada com sucesso"
+                : "Rota reotimizada. ATENÇÃO: entregas fora do prazo: " + lateDeliveries);
+        response.setSolverStrategy(SOLVER_REPAIR);
+        response.setAlgorithmExecutionTimeMs(System.currentTimeMillis() - startTime);
+        
+        return response;
+    }
+    
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : List.of();
     }
     
     /**
-     * Executa o algoritmo genético
+     * Nós de entrega informados pelo cliente; 0 (ponto inicial) é aceito e ignorado pelo chamador
      */
-    private List<Integer> runGeneticAlgorithm(RouteOptimizationRequest request, double[][] timeMatrix) {
-        int numDeliveries = request.getDeliveries().size();
+    private static List<Integer> checkNodes(List<Integer> nodes, int nodeCount, String field) {
+        for (Integer node : orEmpty(nodes)) {
+            if (node == null || node < 0 || node > nodeCount) {
+                throw new IllegalArgumentException("Índice de entrega inválido em " + field + ": " + node);
+            }
+        }
+        return orEmpty(nodes);
+    }
+    
+    /**
+     * Resequencia as entregas de um veículo isoladamente: exato quando pequeno, senão busca local
+     */
+    private int[] sequenceVehicleRoute(RouteFitnessKernel kernel, int[] route) {
+        if (route.length < 2) {
+            return route;
+        }
         
-        // Cria engine do algoritmo genético
-        Engine<EnumGene<Integer>, Double> engine = Engine
-                .builder(
-                    genotype -> fitness(genotype, request, timeMatrix),
-                    PermutationChromosome.ofInteger(numDeliveries)
-                )
-                .populationSize(POPULATION_SIZE)
-                .alterers(
-                    new SwapMutator<>(MUTATION_PROBABILITY),
-                    new PartiallyMatchedCrossover<>(CROSSOVER_PROBABILITY)
-                )
-                .build();
+        // Submatriz com o ponto inicial (nó 0) e as entregas do veículo
+        double[][] matrix = new double[route.length + 1][route.length + 1];
+        int[] deadlines = new int[route.length];
+        for (int a = 0; a <= route.length; a++) {
+            int from = a == 0 ? 0 : route[a - 1] + 1;
+            for (int b = 0; b <= route.length; b++) {
+                matrix[a][b] = kernel.travelTime(from, b == 0 ? 0 : route[b - 1] + 1);
+            }
+            if (a > 0) {
+                deadlines[a - 1] = kernel.deadline(route[a - 1]);
+            }
+        }
+        RouteFitnessKernel vehicleKernel = new RouteFitnessKernel(matrix, deadlines, (int) kernel.getLoadingTime());
         
-        // Executa evolução
-        Phenotype<EnumGene<Integer>, Double> best = engine.stream()
-                .limit(MAX_GENERATIONS)
-                .collect(EvolutionResult.toBestPhenotype());
+        int[] identity = IntStream.range(0, route.length).toArray();
+        int[] order = route.length <= exactSolverMaxDeliveries ? HeldKarpRouteSolver.solve(vehicleKernel) : null;
+        if (order == null) {
+            order = new RouteLocalSearch(vehicleKernel, localSearchMaxPasses).improve(identity);
+        }
+        if (vehicleKernel.cost(order) >= vehicleKernel.cost(identity)) {
+            return route;
+        }
         
-        // Constrói rota final
-        List<Integer> route = new ArrayList<>();
-        route.add(0); // Ponto inicial
+        int[] sequenced = new int[route.length];
+        for (int k = 0; k < order.length; k++) {
+            sequenced[k] = route[order[k]];
+        }
+        return sequenced;
+    }
+    
+    /**
+     * Evolui permutações das entregas pelo custo informado até algum critério de parada,
+     * informando o melhor resultado parcial ao ouvinte (opcional) a cada lote de gerações.
+     * As sementes (ordens base 0) entram na população inicial, completada com indivíduos aleatórios.
+     * Cada geração é registrada na telemetria, resumida nos histogramas de convergência ao final.
+     */
+    private int[] evolve(ToDoubleFunction<Chromosome<EnumGene<Integer>>> cost, int deliveries, List<int[]> seeds,
+                         EvolutionInterceptor<EnumGene<Integer>, Double> interceptor,
+                         EvolutionTermination termination, EvolutionTelemetry telemetry,
+                         EngineSettings settings, ParallelMode mode, OptimizationProgressListener listener) {
+        // No modelo de ilhas o paralelismo vem das ilhas; cada uma avalia sua população em série
+        Executor fitnessExecutor = mode == ParallelMode.FORK_JOIN ? evolutionPool : Runnable::run;
+        LongAdder evaluations = new LongAdder();
+        ToDoubleFunction<Chromosome<EnumGene<Integer>>> countedCost = chromosome -> {
+            evaluations.increment();
+            return cost.applyAsDouble(chromosome);
+        };
+        Engine<EnumGene<Integer>, Double> engine = buildEngine(countedCost, deliveries, interceptor, settings, fitnessExecutor);
+        
+        PermutationChromosome<Integer> template = PermutationChromosome.ofInteger(deliveries);
+        List<Genotype<EnumGene<Integer>>> initial = seeds.stream()
+                .limit(settings.getPopulationSize())
+                .map(order -> MemeticStage.toGenotype(order, template))
+                .toList();
         
-        // Adiciona entregas na ordem otimizada
-        PermutationChromosome<Integer> chromosome = (PermutationChromosome<Integer>) best.genotype().chromosome();
-        for (int i = 0; i < chromosome.length(); i++) {
-            int deliveryIndex = chromosome.get(i).allele() + 1; // +1 porque 0 é o ponto inicial
-            route.add(deliveryIndex);
+        // Executa evolução até que algum critério de parada seja atingido
+        Phenotype<EnumGene<Integer>, Double> best;
+        if (mode == ParallelMode.ISLANDS) {
+            // Progresso a cada época, quando as ilhas se sincronizam
+            best = new IslandEvolution(engine, islands, migrationInterval, migrants, evolutionPool)
+                    .run(initial, termination, (generation, epochBest) -> reportProgress(listener, generation, epochBest),
+                            telemetry);
+        } else {
+            best = engine.stream(initial)
+                    .takeWhile(termination)
+                    .peek(result -> {
+                        telemetry.record(result);
+                        if (result.generation() % progressInterval == 0) {
+                            reportProgress(listener, result.generation(), result.bestPhenotype());
+                        }
+                    })
+                    .collect(EvolutionResult.toBestPhenotype());
         }
         
-        route.add(0); // Retorna ao ponto inicial
+        LOG.debug("Evolução (" + mode + ", perfil " + settings.getProfile() + ") encerrada por " + termination.getReason() + 
+                " após " + termination.getGenerations() + " gerações");
+        OptimizationMetrics.countEvolution(deliveries, termination.getGenerations(), evaluations.sum());
+        telemetry.setFitnessEvaluations(evaluations.sum());
+        OptimizationMetrics.recordConvergence(deliveries, telemetry.getGenerationCount(), telemetry.getBestGeneration(),
+                telemetry.getFinalDiversity(), telemetry.getEvaluationNanos());
         
-        return route;
+        return MemeticStage.toOrder(best.genotype().chromosome());
+    }
+    
+    private void reportProgress(OptimizationProgressListener listener, long generation,
+                                Phenotype<EnumGene<Integer>, Double> best) {
+        if (listener != null) {
+            listener.onProgress(generation, -best.fitness(), toRoute(MemeticStage.toOrder(best.genotype().chromosome())));
+        }
     }
     
     /**
-     * Função de fitness (Jenetics maximiza, então retornamos o negativo para minimizar tempo + penalidade)
+     * Otimiza rotas grandes por grupos, sem calcular a matriz densa de tempos
      */
-    private double fitness(Genotype<EnumGene<Integer>> genotype, 
-                          RouteOptimizationRequest request, 
-                          double[][] timeMatrix) {
+    private RouteOptimizationResponse optimizeLargeRoute(OptimizationContext context, long startTime) {
+        RouteOptimizationRequest request = context.getRequest();
         
-        // Constrói rota a partir do genótipo
-        List<Integer> route = new ArrayList<>();
-        route.add(0); // Ponto inicial
+        // Grupos rodam em paralelo no pool; cada um evolui em série
+        Timer.Sample sample = OptimizationMetrics.start();
+        ClusteredRouteSolver.Result result = new ClusteredRouteSolver(
+                context, googleMapsService, largeClusterSize, evolutionPool,
+                kernel -> solveClusterOrder(kernel, request.getProfile(), context)
+        ).solve();
+        OptimizationMetrics.recordPhase(Phase.EVOLUTION, request.getDeliveries().size(), sample);
         
-        PermutationChromosome<Integer> chromosome = (PermutationChromosome<Integer>) genotype.chromosome();
-        for (int i = 0; i < chromosome.length(); i++) {
-            int deliveryIndex = chromosome.get(i).allele() + 1;
-            route.add(deliveryIndex);
+        if (!result.isFeasible()) {
+            return createInfeasibleResponse(result.getInfeasibleDeliveries(), startTime);
         }
         
-        route.add(0); // Retorna ao ponto inicial
+        List<Integer> optimizedRoute = toRoute(result.getOrder());
+        context.setRouteLegTimes(optimizedRoute, result.getLegTimes());
         
-        // Calcula fitness baseado no tempo total e violações de restrições
-        double totalTime = googleMapsService.calculateRouteTime(
-                route, timeMatrix, request.getLoadingTimeMinutes()
-        );
+        double totalTime = request.getDeliveries().size() * (double) request.getLoadingTimeMinutes();
+        for (double leg : result.getLegTimes()) {
+            totalTime += leg;
+        }
         
-        // Penaliza rotas que violam restrições de tempo
-        double penalty = calculateTimePenalty(route, request, timeMatrix);
+        RouteOptimizationResponse response = new RouteOptimizationResponse();
+        response.setOptimizedRoute(new ArrayList<>(optimizedRoute));
+        response.setDeliveryOrder(buildDeliveryOrder(optimizedRoute, request.getDeliveries()));
+        response.setTotalDistanceKm(googleMapsService.calculateRouteDistance(optimizedRoute, context.getLocations()));
+        response.setTotalTimeMinutes((int) Math.ceil(totalTime));
+        response.setFeasible(true);
+        response.setMessage("Rota otimizada com sucesso");
+        response.setSolverStrategy(SOLVER_CLUSTERED);
+        response.setEngineProfile(engineSettings(request.getProfile(), largeClusterSize).getProfile());
+        response.setAlgorithmExecutionTimeMs(System.currentTimeMillis() - startTime);
         
-        // Retorna o negativo porque Jenetics maximiza (queremos minimizar tempo + penalidade)
-        return -(totalTime + penalty);
+        LOG.debug("Rota grande otimizada em " + result.getClusterCount() + " grupos");
+        return response;
     }
     
     /**
-     * Calcula penalidade por violação de restrições de tempo
+     * Ordem de entregas de um grupo: exata quando pequeno, senão algoritmo genético serial
      */
-    private double calculateTimePenalty(List<Integer> route, 
-                                      RouteOptimizationRequest request, 
-                                      double[][] timeMatrix) {
-        double penalty = 0;
-        double currentTime = 0;
+    private int[] solveClusterOrder(RouteFitnessKernel kernel, String profile, OptimizationContext context) {
+        if (kernel.getDeliveryCount() <= exactSolverMaxDeliveries) {
+            int[] exact = HeldKarpRouteSolver.solve(kernel);
+            if (exact != null) {
+                return exact;
+            }
+        }
         
-        for (int i = 1; i < route.size() - 1; i++) {
-            int prevIndex = route.get(i - 1);
-            int currentIndex = route.get(i);
-            
-            // Adiciona tempo de viagem
-            currentTime += timeMatrix[prevIndex][currentIndex];
-            
-            // Adiciona tempo de carregamento
-            currentTime += request.getLoadingTimeMinutes();
-            
-            // Verifica se viola restrição de tempo do produto
-            Delivery delivery = request.getDeliveries().get(currentIndex - 1);
-            int maxTimeLimit = delivery.getMinDeliveryTimeLimit();
-            
-            if (currentTime > maxTimeLimit) {
-                // Penalidade exponencial para violações graves
-                penalty += Math.pow(currentTime - maxTimeLimit, 2) * 1000;
+        EngineSettings settings = engineSettings(profile, kernel.getDeliveryCount());
+        EvolutionTermination termination = new EvolutionTermination(
+                settings.getMaxGenerations(),
+                settings.getSteadyGenerations(),
+                settings.getTimeBudget().compareTo(largeClusterTimeBudget) < 0
+                        ? settings.getTimeBudget()
+                        : largeClusterTimeBudget,
+                Double.NaN,
+                Double.NaN
+        ).cancelWhen(context::isCancelled);
+        return evolveOrder(kernel, null, null, termination, new EvolutionTelemetry(), settings, ParallelMode.SERIAL, null);
+    }
+    
+    /**
+     * Cria engine do algoritmo genético sobre permutações das entregas, minimizando o custo informado
+     */
+    private Engine<EnumGene<Integer>, Double> buildEngine(ToDoubleFunction<Chromosome<EnumGene<Integer>>> cost,
+                                                          int deliveries,
+                                                          EvolutionInterceptor<EnumGene<Integer>, Double> interceptor,
+                                                          EngineSettings settings, Executor executor) {
+        return Engine
+                .builder(
+                    genotype -> fitness(genotype, cost),
+                    PermutationChromosome.ofInteger(deliveries)
+                )
+                .populationSize(settings.getPopulationSize())
+                .alterers(
+                    new SwapMutator<>(settings.getMutationProbability()),
+                    new PartiallyMatchedCrossover<>(settings.getCrossoverProbability())
+                )
+                .interceptor(interceptor)
+                .executor(executor)
+                .build();
+    }
+    
+    /**
+     * Converte ordem de entregas (base 0) em rota com início e retorno no ponto 0
+     */
+    private List<Integer> toRoute(int[] order) {
+        List<Integer> route = new ArrayList<>(order.length + 2);
+        route.add(0); // Ponto inicial
+        
+        for (int deliveryIndex : order) {
+            route.add(deliveryIndex + 1); // +1 porque 0 é o ponto inicial
+        }
+        
+        route.add(0); // Retorna ao ponto inicial
+        
+        return route;
+    }
+    
+    /**
+     * Cria os critérios de parada configurados para esta instância. Dentro do limite do solver
+     * exato ele já rodou sem achar ordem que cumpra os prazos, então o ótimo fica desconhecido
+     */
+    private EvolutionTermination createTermination(RouteFitnessKernel kernel, EngineSettings settings) {
+        double optimumCost = Double.NaN;
+        int deliveries = kernel.getDeliveryCount();
+        if (deliveries <= exactOptimumMaxDeliveries && deliveries > exactSolverMaxDeliveries) {
+            int[] optimalOrder = HeldKarpRouteSolver.solve(kernel);
+            if (optimalOrder != null) {
+                optimumCost = kernel.cost(optimalOrder);
             }
         }
         
-        return penalty;
+        return new EvolutionTermination(
+                settings.getMaxGenerations(),
+                settings.getSteadyGenerations(),
+                settings.getTimeBudget(),
+                targetCostMinutes.orElse(Double.NaN),
+                optimumCost
+        );
+    }
+    
+    /**
+     * Função de fitness (Jenetics maximiza, então retornamos o negativo para minimizar tempo + penalidade)
+     */
+    private double fitness(Genotype<EnumGene<Integer>> genotype,
+                           ToDoubleFunction<Chromosome<EnumGene<Integer>>> cost) {
+        // Tempo total e penalidade por violação de prazo calculados em uma única passada
+        return -cost.applyAsDouble(genotype.chromosome());
     }
     
     /**
@@ -210,15 +991,23 @@ public class GeneticRouteOptimizer {
      */
     public ProductSpoilageResult validateOptimizedRoute(List<Integer> optimizedRoute, 
                                                        RouteOptimizationRequest request) {
+        return validateOptimizedRoute(optimizedRoute, createContext(request));
+    }
+    
+    /**
+     * Verifica se produtos estragaram na rota otimizada, usando a matriz já calculada no contexto
+     */
+    public ProductSpoilageResult validateOptimizedRoute(List<Integer> optimizedRoute, 
+                                                       OptimizationContext context) {
         try {
-            // Prepara localizações
-            List<Location> allLocations = prepareLocations(request);
-            
-            // Calcula matriz de tempo
-            double[][] timeMatrix = googleMapsService.calculateDistanceMatrix(allLocations);
-            
-            // Verifica produtos estragados
-            return checkProductSpoilage(optimizedRoute, request, timeMatrix);
+            // Rotas grandes guardam o tempo de cada trecho; as demais usam a matriz
+            double[] legTimes = context.getRouteLegTimes(optimizedRoute);
+            if (legTimes != null) {
+                return checkProductSpoilage(optimizedRoute, context.getRequest(), i -> legTimes[i - 1]);
+            }
+            double[][] timeMatrix = context.getTimeMatrix();
+            return checkProductSpoilage(optimizedRoute, context.getRequest(),
+                    i -> timeMatrix[optimizedRoute.get(i - 1)][optimizedRoute.get(i)]);
             
         } catch (Exception e) {
             LOG.error("Erro durante validação da rota otimizada: " + e.getMessage(), e);
@@ -233,6 +1022,16 @@ public class GeneticRouteOptimizer {
     public ProductSpoilageResult checkProductSpoilage(List<Integer> optimizedRoute, 
                                                      RouteOptimizationRequest request, 
                                                      double[][] timeMatrix) {
+        return checkProductSpoilage(optimizedRoute, request,
+                i -> timeMatrix[optimizedRoute.get(i - 1)][optimizedRoute.get(i)]);
+    }
+    
+    /**
+     * Verifica produtos estragados com o tempo do trecho que chega à posição i da rota
+     */
+    private ProductSpoilageResult checkProductSpoilage(List<Integer> optimizedRoute, 
+                                                      RouteOptimizationRequest request, 
+                                                      IntToDoubleFunction legTime) {
         List<String> spoiledProducts = new ArrayList<>();
         List<Integer> spoiledDeliveries = new ArrayList<>();
         double currentTime = 0;
@@ -240,11 +1039,10 @@ public class GeneticRouteOptimizer {
         
         // Simula a execução da rota otimizada
         for (int i = 1; i < optimizedRoute.size() - 1; i++) {
-            int prevIndex = optimizedRoute.get(i - 1);
             int currentIndex = optimizedRoute.get(i);
             
             // Adiciona tempo de viagem
-            currentTime += timeMatrix[prevIndex][currentIndex];
+            currentTime += legTime.applyAsDouble(i);
             
             // Adiciona tempo de carregamento
             currentTime += request.getLoadingTimeMinutes();
@@ -274,24 +1072,32 @@ public class GeneticRouteOptimizer {
     }
     
     /**
-     * Verifica viabilidade da solução
+     * Verifica a viabilidade com limites inferiores e sequência por prazo, sem executar o algoritmo genético
      */
-    private FeasibilityResult checkFeasibility(RouteOptimizationRequest request, double[][] timeMatrix) {
-        List<Integer> infeasibleDeliveries = new ArrayList<>();
+    public RouteOptimizationResponse checkFeasibility(OptimizationContext context) {
+        long startTime = System.currentTimeMillis();
         
-        for (int i = 0; i < request.getDeliveries().size(); i++) {
-            Delivery delivery = request.getDeliveries().get(i);
-            int maxTimeLimit = delivery.getMinDeliveryTimeLimit();
-            
-            // Tempo mínimo direto do ponto inicial até esta entrega
-            double minTimeToDelivery = timeMatrix[0][i + 1] + request.getLoadingTimeMinutes();
-            
-            if (minTimeToDelivery > maxTimeLimit) {
-                infeasibleDeliveries.add(i);
-            }
+        RouteFitnessKernel kernel = context.getKernel();
+        FeasibilityAnalyzer.Result result = OptimizationMetrics.timePhase(Phase.FEASIBILITY,
+                kernel.getDeliveryCount(), () -> FeasibilityAnalyzer.analyze(kernel));
+        
+        RouteOptimizationResponse response = new RouteOptimizationResponse();
+        response.setFeasible(result.isFeasible());
+        response.setInfeasibleDeliveries(result.getInfeasibleDeliveries());
+        switch (result.getVerdict()) {
+            case PROVEN_INFEASIBLE:
+                response.setMessage("Não é possível entregar todos os produtos dentro do prazo limite");
+                break;
+            case PROVEN_FEASIBLE:
+                response.setMessage("Rota viável: a sequência por prazo de entrega cumpre todos os prazos");
+                break;
+            default:
+                response.setMessage("Nenhuma restrição de prazo impede a rota; a viabilidade depende da sequência otimizada");
+                break;
         }
+        response.setAlgorithmExecutionTimeMs(System.currentTimeMillis() - startTime);
         
-        return new FeasibilityResult(infeasibleDeliveries.isEmpty(), infeasibleDeliveries);
+        return response;
     }
     
     /**
@@ -304,37 +1110,30 @@ public class GeneticRouteOptimizer {
     }
     
     /**
-     * Cria resposta para casos inviáveis
+     * Cria resposta de frota para casos inviáveis
      */
-    private RouteOptimizationResponse createInfeasibleResponse(FeasibilityResult feasibilityResult, long startTime) {
-        RouteOptimizationResponse response = new RouteOptimizationResponse();
+    private FleetOptimizationResponse createInfeasibleFleetResponse(List<Integer> infeasibleDeliveries, String message,
+                                                                    long startTime) {
+        FleetOptimizationResponse response = new FleetOptimizationResponse();
         response.setFeasible(false);
-        response.setInfeasibleDeliveries(feasibilityResult.getInfeasibleDeliveries());
-        response.setMessage("Não é possível entregar todos os produtos dentro do prazo limite");
+        response.setInfeasibleDeliveries(infeasibleDeliveries);
+        response.setMessage(message);
         response.setAlgorithmExecutionTimeMs(System.currentTimeMillis() - startTime);
         
         return response;
     }
     
     /**
-     * Classe interna para resultado de viabilidade
+     * Cria resposta para casos inviáveis
      */
-    private static class FeasibilityResult {
-        private final boolean feasible;
-        private final List<Integer> infeasibleDeliveries;
-        
-        public FeasibilityResult(boolean feasible, List<Integer> infeasibleDeliveries) {
-            this.feasible = feasible;
-            this.infeasibleDeliveries = infeasibleDeliveries;
-        }
-        
-        public boolean isFeasible() {
-            return feasible;
-        }
+    private RouteOptimizationResponse createInfeasibleResponse(List<Integer> infeasibleDeliveries, long startTime) {
+        RouteOptimizationResponse response = new RouteOptimizationResponse();
+        response.setFeasible(false);
+        response.setInfeasibleDeliveries(infeasibleDeliveries);
+        response.setMessage("Não é possível entregar todos os produtos dentro do prazo limite");
+        response.setAlgorithmExecutionTimeMs(System.currentTimeMillis() - startTime);
         
-        public List<Integer> getInfeasibleDeliveries() {
-            return infeasibleDeliveries;
-        }
+        return response;
     }
     
     /**
@@ -0,0 +1,219 @@
+package com.agropecuaria.route.algorithms;
+
+import io.jenetics.Chromosome;
+import io.jenetics.EnumGene;
+
+import java.util.Arrays;
+
+/**
+ * Divisão ótima de uma rota gigante entre os veículos da frota (split de Prins).
+ *
+ * O cromossomo continua sendo uma permutação de todas as entregas; a divisão
+ * em trechos consecutivos, um por veículo na ordem da frota (trechos vazios
+ * permitidos), é decidida por programação dinâmica respeitando a capacidade
+ * de cada veículo. Todos os veículos saem do ponto inicial no instante 0, e o
+ * custo de cada trecho segue o núcleo: tempo de viagem + carregamento +
+ * penalidade quadrática de atraso. Como a capacidade interrompe a extensão de
+ * um trecho, cada avaliação custa O(veículos · entregas · entregas por trecho).
+ *
+ * Se nenhuma divisão respeita as capacidades, os veículos são preenchidos em
+ * ordem e o excesso do último é penalizado, o que orienta a busca de volta às
+ * permutações viáveis.
+ */
+public final class GiantTourSplit {
+
+    private static final double EPSILON = 1e-9;
+
+    // Vetores da programação dinâmica reaproveitados entre avaliações da mesma thread
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final RouteFitnessKernel kernel;
+    private final double[] loads;
+    private final double[] capacities;
+
+    /**
+     * @param kernel núcleo com a matriz de tempos e os prazos de todas as entregas
+     * @param loads carga de cada entrega (índice base 0)
+     * @param capacities capacidade de cada veículo, na ordem da frota
+     */
+    public GiantTourSplit(RouteFitnessKernel kernel, double[] loads, double[] capacities) {
+        this.kernel = kernel;
+        this.loads = loads.clone();
+        this.capacities = capacities.clone();
+    }
+
+    /**
+     * Custo da melhor divisão da rota gigante (soma dos custos das rotas)
+     */
+    public double cost(int[] tour) {
+        Scratch scratch = SCRATCH.get();
+        scratch.ensure(tour.length);
+        return divide(tour, tour.length, scratch.previous, scratch.best, null);
+    }
+
+    /**
+     * Custo de um cromossomo de permutação, com a rota gigante lida dos índices dos alelos
+     * para o vetor da thread
+     */
+    public double cost(Chromosome<EnumGene<Integer>> chromosome) {
+        int n = chromosome.length();
+        Scratch scratch = SCRATCH.get();
+        scratch.ensure(n);
+        int[] tour = scratch.tour;
+        for (int k = 0; k < n; k++) {
+            tour[k] = chromosome.get(k).alleleIndex();
+        }
+        return divide(tour, n, scratch.previous, scratch.best, null);
+    }
+
+    /**
+     * Ordem de entregas (base 0) de cada veículo na melhor divisão; veículos sem entregas recebem um array vazio
+     */
+    public int[][] split(int[] tour) {
+        double[] best = new double[tour.length + 1];
+        int[][] predecessors = new int[capacities.length][tour.length + 1];
+        divide(tour, tour.length, new double[tour.length + 1], best, predecessors);
+        if (best[tour.length] == Double.POSITIVE_INFINITY) {
+            return greedy(tour);
+        }
+
+        int[][] routes = new int[capacities.length][];
+        int end = tour.length;
+        for (int vehicle = capacities.length - 1; vehicle >= 0; vehicle--) {
+            int start = predecessors[vehicle][end];
+            routes[vehicle] = Arrays.copyOfRange(tour, start, end);
+            end = start;
+        }
+        return routes;
+    }
+
+    /**
+     * Carga total de uma rota
+     */
+    public double load(int[] route) {
+        double load = 0;
+        for (int delivery : route) {
+            load += loads[delivery];
+        }
+        return load;
+    }
+
+    /**
+     * Programação dinâmica sobre (veículo, entregas atendidas): best[j] é o menor
+     * custo para atender as j primeiras entregas da rota gigante com os veículos
+     * já processados; predecessors[v][j] guarda onde começa o trecho do veículo v.
+     * Só {@link #split} precisa dos predecessores; o cálculo do custo passa null.
+     * Apenas as {@code n} primeiras posições de {@code tour} formam a rota gigante
+     */
+    private double divide(int[] tour, int n, double[] previous, double[] best, int[][] predecessors) {
+        Arrays.fill(previous, 0, n + 1, Double.POSITIVE_INFINITY);
+        previous[0] = 0;
+
+        double loadingTime = kernel.getLoadingTime();
+        for (int vehicle = 0; vehicle < capacities.length; vehicle++) {
+            // Veículo vazio: herda o custo anterior
+            System.arraycopy(previous, 0, best, 0, n + 1);
+            int[] predecessor = predecessors != null ? predecessors[vehicle] : null;
+            if (predecessor != null) {
+                for (int j = 0; j <= n; j++) {
+                    predecessor[j] = j;
+                }
+            }
+
+            double capacity = capacities[vehicle] + EPSILON;
+            for (int i = 0; i < n; i++) {
+                if (previous[i] == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                double load = 0;
+                double time = 0;
+                double penalty = 0;
+                int prev = 0;
+                for (int j = i + 1; j <= n; j++) {
+                    int delivery = tour[j - 1];
+                    load += loads[delivery];
+                    if (load > capacity) {
+                        break;
+                    }
+
+                    int node = delivery + 1;
+                    time += kernel.travelTime(prev, node) + loadingTime;
+                    double lateness = time - kernel.deadline(delivery);
+                    if (lateness > 0) {
+                        penalty += lateness * lateness * RouteFitnessKernel.PENALTY_WEIGHT;
+                    }
+                    prev = node;
+
+                    double cost = previous[i] + time + kernel.travelTime(node, 0) + penalty;
+                    if (cost < best[j]) {
+                        best[j] = cost;
+                        if (predecessor != null) {
+                            predecessor[j] = i;
+                        }
+                    }
+                }
+            }
+
+            System.arraycopy(best, 0, previous, 0, n + 1);
+        }
+
+        return Double.isFinite(best[n]) ? best[n] : greedyCost(tour.length == n ? tour : Arrays.copyOf(tour, n));
+    }
+
+    /**
+     * Preenche os veículos em ordem; o último recebe todo o restante, mesmo acima da capacidade
+     */
+    private int[][] greedy(int[] tour) {
+        int[][] routes = new int[capacities.length][];
+        int start = 0;
+        for (int vehicle = 0; vehicle < capacities.length; vehicle++) {
+            int end = start;
+            if (vehicle == capacities.length - 1) {
+                end = tour.length;
+            } else {
+                double load = 0;
+                while (end < tour.length && load + loads[tour[end]] <= capacities[vehicle] + EPSILON) {
+                    load += loads[tour[end++]];
+                }
+            }
+            routes[vehicle] = Arrays.copyOfRange(tour, start, end);
+            start = end;
+        }
+        return routes;
+    }
+
+    private double greedyCost(int[] tour) {
+        int[][] routes = greedy(tour);
+        double cost = 0;
+        for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+            cost += kernel.cost(routes[vehicle]);
+            double overload = load(routes[vehicle]) - capacities[vehicle];
+            if (overload > 0) {
+                cost += overload * overload * RouteFitnessKernel.PENALTY_WEIGHT;
+            }
+        }
+        return cost;
+    }
+
+    public int getVehicleCount() {
+        return capacities.length;
+    }
+
+    /**
+     * Vetores de uma thread, crescidos conforme o tamanho da rota gigante
+     */
+    private static final class Scratch {
+        int[] tour = new int[0];
+        double[] previous = new double[1];
+        double[] best = new double[1];
+
+        void ensure(int size) {
+            if (tour.length < size) {
+                tour = new int[size];
+                previous = new double[size + 1];
+                best = new double[size + 1];
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.agropecuaria.route.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Solver exato por programação dinâmica (Held–Karp) para rotas pequenas.
+ *
+ * O estado (subconjunto visitado, última entrega) guarda o menor horário de
+ * chegada que respeita o prazo de todas as entregas do subconjunto. Como só
+ * há prazos (sem janelas de abertura), chegar mais cedo nunca é pior, então a
+ * rota reconstruída é a de menor tempo total entre as que cumprem todos os
+ * prazos. As tabelas são arrays primitivos indexados por máscara de bits:
+ * com 12 entregas ocupam cerca de 400 KB.
+ */
+public final class HeldKarpRouteSolver {
+
+    /** Limite rígido: acima disso as tabelas passam de centenas de MB */
+    public static final int MAX_SUPPORTED_DELIVERIES = 20;
+
+    private HeldKarpRouteSolver() {}
+
+    /**
+     * Resolve a instância de forma exata
+     *
+     * @return ordem ótima das entregas (índices base 0), ou null se nenhuma
+     *         ordem cumpre todos os prazos
+     */
+    public static int[] solve(RouteFitnessKernel kernel) {
+        int n = kernel.getDeliveryCount();
+        if (n > MAX_SUPPORTED_DELIVERIES) {
+            throw new IllegalArgumentException(
+                "Instância grande demais para o solver exato: " + n + " entregas"
+            );
+        }
+        if (n == 0) {
+            return new int[0];
+        }
+
+        double loadingTime = kernel.getLoadingTime();
+        int full = (1 << n) - 1;
+        double[] arrival = new double[(full + 1) * n]; // arrival[mask * n + last]
+        byte[] parent = new byte[(full + 1) * n];
+        Arrays.fill(arrival, Double.POSITIVE_INFINITY);
+
+        for (int j = 0; j < n; j++) {
+            double time = kernel.travelTime(0, j + 1) + loadingTime;
+            if (time <= kernel.deadline(j)) {
+                arrival[(1 << j) * n + j] = time;
+                parent[(1 << j) * n + j] = -1;
+            }
+        }
+
+        for (int mask = 1; mask < full; mask++) {
+            int base = mask * n;
+            for (int last = 0; last < n; last++) {
+                double current = arrival[base + last];
+                if (current == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int next = 0; next < n; next++) {
+                    if ((mask & (1 << next)) != 0) {
+                        continue;
+                    }
+                    double time = current + kernel.travelTime(last + 1, next + 1) + loadingTime;
+                    int index = (mask | (1 << next)) * n + next;
+                    if (time <= kernel.deadline(next) && time < arrival[index]) {
+                        arrival[index] = time;
+                        parent[index] = (byte) last;
+                    }
+                }
+            }
+        }
+
+        // Fecha o ciclo retornando ao ponto inicial
+        int bestLast = -1;
+        double bestTotal = Double.POSITIVE_INFINITY;
+        for (int last = 0; last < n; last++) {
+            double total = arrival[full * n + last] + kernel.travelTime(last + 1, 0);
+            if (total < bestTotal) {
+                bestTotal = total;
+                bestLast = last;
+            }
+        }
+        if (bestLast < 0) {
+            return null;
+        }
+
+        // Reconstrói a ordem de trás para frente
+        int[] order = new int[n];
+        int mask = full;
+        int last = bestLast;
+        for (int position = n - 1; position >= 0; position--) {
+            order[position] = last;
+            int previous = parent[mask * n + last];
+            mask &= ~(1 << last);
+            last = previous;
+        }
+
+        return order;
+    }
+}
@@ -0,0 +1,153 @@
+package com.agropecuaria.route.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reparo incremental de uma rota em andamento, sem novo algoritmo genético.
+ *
+ * A matriz de tempos cobre a posição atual do veículo (nó 0), as entregas
+ * pendentes (nós 1..m) e o ponto inicial, para onde o veículo retorna (nó m + 1).
+ * Os prazos já vêm descontados do tempo decorrido desde a saída.
+ *
+ * As entregas priorizadas são visitadas primeiro, na ordem informada. As demais
+ * mantêm a ordem do plano atual, as novas são inseridas na posição mais barata
+ * e a sequência resultante passa pela busca local 2-opt/Or-opt.
+ */
+public final class IncrementalRouteRepair {
+
+    private final double[][] timeMatrix;
+    private final int[] deadlines;
+    private final int loadingTime;
+    private final int maxPasses;
+    private final int deliveryCount;
+
+    /**
+     * @param timeMatrix tempos entre posição atual, entregas pendentes e ponto inicial (último nó)
+     * @param deadlines prazo restante (minutos) de cada entrega pendente, podendo ser negativo
+     */
+    public IncrementalRouteRepair(double[][] timeMatrix, int[] deadlines, int loadingTimeMinutes, int maxPasses) {
+        this.timeMatrix = timeMatrix;
+        this.deadlines = deadlines.clone();
+        this.loadingTime = loadingTimeMinutes;
+        this.maxPasses = maxPasses;
+        this.deliveryCount = deadlines.length;
+    }
+
+    /**
+     * Nova ordem das entregas pendentes (base 0)
+     *
+     * @param currentOrder entregas já planejadas, na ordem do plano atual; as ausentes são novas
+     * @param prioritized entregas que devem ser visitadas primeiro, na ordem informada
+     */
+    public int[] repair(int[] currentOrder, int[] prioritized) {
+        boolean[] fixed = new boolean[deliveryCount];
+        List<Integer> prefix = new ArrayList<>();
+        for (int delivery : prioritized) {
+            if (!fixed[delivery]) {
+                fixed[delivery] = true;
+                prefix.add(delivery);
+            }
+        }
+
+        // Entregas livres, na numeração do núcleo do trecho após as priorizadas
+        int[] free = new int[deliveryCount - prefix.size()];
+        int[] localIndex = new int[deliveryCount];
+        for (int delivery = 0, k = 0; delivery < deliveryCount; delivery++) {
+            if (!fixed[delivery]) {
+                localIndex[delivery] = k;
+                free[k++] = delivery;
+            }
+        }
+
+        int origin = prefix.isEmpty() ? 0 : prefix.get(prefix.size() - 1) + 1;
+        double offset = prefixTime(prefix);
+        RouteFitnessKernel kernel = kernel(origin, free, offset);
+
+        int[] partial = Arrays.stream(currentOrder)
+                .filter(delivery -> !fixed[delivery])
+                .map(delivery -> localIndex[delivery])
+                .toArray();
+        int[] order = WarmStartSeeds.cheapestInsertion(kernel, partial);
+        int[] improved = new RouteLocalSearch(kernel, maxPasses).improve(order);
+        if (kernel.cost(improved) < kernel.cost(order)) {
+            order = improved;
+        }
+
+        int[] result = new int[deliveryCount];
+        int k = 0;
+        for (int delivery : prefix) {
+            result[k++] = delivery;
+        }
+        for (int local : order) {
+            result[k++] = free[local];
+        }
+        return result;
+    }
+
+    /**
+     * Núcleo sobre toda a rota restante, saindo da posição atual
+     */
+    public RouteFitnessKernel kernel() {
+        int[] all = new int[deliveryCount];
+        Arrays.setAll(all, i -> i);
+        return kernel(0, all, 0);
+    }
+
+    /**
+     * Minutos de atraso de cada entrega (0 quando no prazo) ao seguir a ordem
+     */
+    public double[] lateness(int[] order) {
+        double[] lateness = new double[deliveryCount];
+        double time = 0;
+        int prev = 0;
+        for (int delivery : order) {
+            time += timeMatrix[prev][delivery + 1] + loadingTime;
+            lateness[delivery] = Math.max(0, time - deadlines[delivery]);
+            prev = delivery + 1;
+        }
+        return lateness;
+    }
+
+    /**
+     * Tempo para percorrer as entregas priorizadas a partir da posição atual
+     */
+    private double prefixTime(List<Integer> prefix) {
+        double time = 0;
+        int prev = 0;
+        for (int delivery : prefix) {
+            time += timeMatrix[prev][delivery + 1] + loadingTime;
+            prev = delivery + 1;
+        }
+        return time;
+    }
+
+    /**
+     * Núcleo com origem no nó informado e as entregas indicadas. A coluna 0, lida pelo
+     * núcleo como retorno, guarda o tempo até o ponto inicial; os prazos são deslocados
+     * pelo tempo já gasto até a origem
+     */
+    private RouteFitnessKernel kernel(int origin, int[] deliveries, double offset) {
+        int depot = timeMatrix.length - 1;
+        int size = deliveries.length + 1;
+        int[] nodes = new int[size];
+        nodes[0] = origin;
+        for (int k = 0; k < deliveries.length; k++) {
+            nodes[k + 1] = deliveries[k] + 1;
+        }
+
+        double[][] matrix = new double[size][size];
+        int[] shifted = new int[deliveries.length];
+        for (int a = 0; a < size; a++) {
+            for (int b = 1; b < size; b++) {
+                matrix[a][b] = timeMatrix[nodes[a]][nodes[b]];
+            }
+            matrix[a][0] = timeMatrix[nodes[a]][depot];
+            if (a > 0) {
+                shifted[a - 1] = (int) Math.floor(deadlines[deliveries[a - 1]] - offset);
+            }
+        }
+        return new RouteFitnessKernel(matrix, shifted, loadingTime);
+    }
+}
@@ -0,0 +1,178 @@
+package com.agropecuaria.route.algorithms;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * Modelo de ilhas: várias subpopulações evoluem em paralelo com o mesmo engine
+ * e, a cada época de {@code migrationInterval} gerações, os melhores indivíduos
+ * de cada ilha substituem os piores da ilha seguinte (topologia em anel).
+ *
+ * Ao fim de cada época o melhor custo global de cada geração é repassado, em
+ * ordem, aos critérios de parada, que assim mantêm a mesma semântica da
+ * evolução em população única.
+ */
+final class IslandEvolution {
+
+    private final Engine<EnumGene<Integer>, Double> engine;
+    private final int islands;
+    private final int migrationInterval;
+    private final int migrants;
+    private final Executor executor;
+
+    IslandEvolution(Engine<EnumGene<Integer>, Double> engine, int islands,
+                    int migrationInterval, int migrants, Executor executor) {
+        this.engine = engine;
+        this.islands = Math.max(1, islands);
+        this.migrationInterval = Math.max(1, migrationInterval);
+        this.migrants = Math.max(0, migrants);
+        this.executor = executor;
+    }
+
+    /**
+     * Evolui até que algum critério de parada seja atingido e retorna o melhor indivíduo encontrado.
+     * As sementes entram na população inicial de todas as ilhas (o engine completa o restante com
+     * indivíduos aleatórios), {@code epochBest} recebe o melhor indivíduo global ao fim de cada época
+     * e a telemetria registra cada geração: melhor custo global, médias do custo médio e da
+     * diversidade das ilhas e a soma dos tempos de avaliação
+     */
+    Phenotype<EnumGene<Integer>, Double> run(List<Genotype<EnumGene<Integer>>> seeds,
+                                             EvolutionTermination termination,
+                                             BiConsumer<Long, Phenotype<EnumGene<Integer>, Double>> epochBest,
+                                             EvolutionTelemetry telemetry) {
+        List<EvolutionStart<EnumGene<Integer>, Double>> starts = new ArrayList<>();
+        for (int i = 0; i < islands; i++) {
+            starts.add(seeded(seeds));
+        }
+
+        Phenotype<EnumGene<Integer>, Double> best = null;
+        long generation = 1;
+        boolean running = true;
+
+        while (running) {
+            // Evolui todas as ilhas por uma época
+            List<CompletableFuture<Epoch>> futures = new ArrayList<>();
+            for (EvolutionStart<EnumGene<Integer>, Double> start : starts) {
+                futures.add(CompletableFuture.supplyAsync(() -> evolveEpoch(start), executor));
+            }
+            List<Epoch> epochs = futures.stream().map(CompletableFuture::join).toList();
+
+            for (Epoch epoch : epochs) {
+                if (best == null || epoch.best.fitness() > best.fitness()) {
+                    best = epoch.best;
+                }
+            }
+
+            // Alimenta os critérios de parada geração a geração com o melhor custo global
+            for (int g = 0; g < migrationInterval && running; g++, generation++) {
+                double generationBest = Double.POSITIVE_INFINITY;
+                double mean = 0;
+                double diversity = 0;
+                long evaluation = 0;
+                for (Epoch epoch : epochs) {
+                    EvolutionTelemetry.Sample sample = epoch.samples[g];
+                    generationBest = Math.min(generationBest, sample.bestCost);
+                    mean += sample.meanCost / epochs.size();
+                    diversity += sample.diversity / epochs.size();
+                    evaluation += sample.evaluationNanos;
+                }
+                telemetry.record(generation, generationBest, mean, diversity, evaluation);
+                termination.proceed(generation, generationBest);
+                running = termination.getReason() == null;
+            }
+
+            epochBest.accept(generation - 1, best);
+            starts = migrate(epochs);
+        }
+
+        return best;
+    }
+
+    static EvolutionStart<EnumGene<Integer>, Double> seeded(List<Genotype<EnumGene<Integer>>> seeds) {
+        if (seeds.isEmpty()) {
+            return EvolutionStart.empty();
+        }
+        ISeq<Phenotype<EnumGene<Integer>, Double>> population = seeds.stream()
+                .map(genotype -> Phenotype.<EnumGene<Integer>, Double>of(genotype, 1))
+                .collect(ISeq.toISeq());
+        return EvolutionStart.of(population, 1);
+    }
+
+    private Epoch evolveEpoch(EvolutionStart<EnumGene<Integer>, Double> start) {
+        EvolutionTelemetry.Sample[] samples = new EvolutionTelemetry.Sample[migrationInterval];
+        Phenotype<EnumGene<Integer>, Double> best = null;
+        EvolutionResult<EnumGene<Integer>, Double> result = null;
+
+        for (int g = 0; g < migrationInterval; g++) {
+            result = engine.evolve(result == null ? start : result.next());
+            samples[g] = EvolutionTelemetry.Sample.of(result);
+            if (best == null || result.bestPhenotype().fitness() > best.fitness()) {
+                best = result.bestPhenotype();
+            }
+        }
+
+        return new Epoch(result, best, samples);
+    }
+
+    /**
+     * Migração em anel: os melhores de cada ilha substituem os piores da ilha seguinte
+     */
+    private List<EvolutionStart<EnumGene<Integer>, Double>> migrate(List<Epoch> epochs) {
+        List<EvolutionStart<EnumGene<Integer>, Double>> starts = new ArrayList<>();
+        Comparator<Phenotype<EnumGene<Integer>, Double>> byFitness = Comparator.comparing(Phenotype::fitness);
+
+        for (int i = 0; i < epochs.size(); i++) {
+            EvolutionStart<EnumGene<Integer>, Double> next = epochs.get(i).result.next();
+            if (epochs.size() == 1 || migrants == 0) {
+                starts.add(next);
+                continue;
+            }
+
+            ISeq<Phenotype<EnumGene<Integer>, Double>> neighbour =
+                    epochs.get((i + epochs.size() - 1) % epochs.size()).result.population();
+            List<Phenotype<EnumGene<Integer>, Double>> incoming = neighbour.stream()
+                    .sorted(byFitness.reversed())
+                    .limit(migrants)
+                    .toList();
+
+            MSeq<Phenotype<EnumGene<Integer>, Double>> population = next.population().copy();
+            population.sort(byFitness); // Piores primeiro
+            for (int m = 0; m < incoming.size() && m < population.length(); m++) {
+                population.set(m, incoming.get(m));
+            }
+
+            starts.add(EvolutionStart.of(population.toISeq(), next.generation()));
+        }
+
+        return starts;
+    }
+
+    /**
+     * Estado de uma ilha ao fim de uma época
+     */
+    private static final class Epoch {
+        private final EvolutionResult<EnumGene<Integer>, Double> result;
+        private final Phenotype<EnumGene<Integer>, Double> best;
+        private final EvolutionTelemetry.Sample[] samples;
+
+        private Epoch(EvolutionResult<EnumGene<Integer>, Double> result,
+                      Phenotype<EnumGene<Integer>, Double> best, EvolutionTelemetry.Sample[] samples) {
+            this.result = result;
+            this.best = best;
+            this.samples = samples;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.agropecuaria.route.algorithms;
+
+import io.jenetics.Chromosome;
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.EvolutionInterceptor;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Etapa memética: a cada {@code interval} gerações os {@code elite} melhores
+ * indivíduos passam pela busca local e são substituídos, já avaliados, pela
+ * versão melhorada.
+ *
+ * Sem estado mutável, pode ser compartilhada entre ilhas que evoluem em paralelo.
+ */
+final class MemeticStage implements EvolutionInterceptor<EnumGene<Integer>, Double> {
+
+    private final RouteFitnessKernel kernel;
+    private final int interval;
+    private final int elite;
+    private final int maxPasses;
+    private final int[][] candidates;
+
+    MemeticStage(RouteFitnessKernel kernel, int interval, int elite, int maxPasses) {
+        this(kernel, interval, elite, maxPasses, null);
+    }
+
+    /**
+     * @param candidates vizinhos candidatos da busca local (nulo percorre a vizinhança completa)
+     */
+    MemeticStage(RouteFitnessKernel kernel, int interval, int elite, int maxPasses, int[][] candidates) {
+        this.kernel = kernel;
+        this.interval = Math.max(1, interval);
+        this.elite = elite;
+        this.maxPasses = maxPasses;
+        this.candidates = candidates;
+    }
+
+    @Override
+    public EvolutionResult<EnumGene<Integer>, Double> after(EvolutionResult<EnumGene<Integer>, Double> result) {
+        if (elite <= 0 || result.generation() % interval != 0) {
+            return result;
+        }
+
+        MSeq<Phenotype<EnumGene<Integer>, Double>> population = result.population().copy();
+        int[] byFitness = IntStream.range(0, population.length()).boxed()
+                .sorted(Comparator.comparing((Integer i) -> population.get(i).fitness()).reversed())
+                .limit(elite)
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        RouteLocalSearch localSearch = new RouteLocalSearch(kernel, maxPasses, candidates);
+        for (int index : byFitness) {
+            Phenotype<EnumGene<Integer>, Double> phenotype = population.get(index);
+            int[] order = toOrder(phenotype.genotype().chromosome());
+            int[] improved = localSearch.improve(order);
+
+            if (!Arrays.equals(order, improved)) {
+                Genotype<EnumGene<Integer>> genotype = toGenotype(improved, phenotype.genotype().chromosome());
+                population.set(index, Phenotype.of(genotype, result.generation(), -localSearch.getCost()));
+            }
+        }
+
+        return EvolutionResult.of(
+                result.optimize(),
+                population.toISeq(),
+                result.generation(),
+                result.totalGenerations(),
+                result.durations(),
+                result.killCount(),
+                result.invalidCount(),
+                result.alterCount()
+        );
+    }
+
+    /**
+     * Ordem de entregas (base 0) lida dos índices dos alelos
+     */
+    static int[] toOrder(Chromosome<EnumGene<Integer>> chromosome) {
+        return chromosome.stream().mapToInt(EnumGene::alleleIndex).toArray();
+    }
+
+    static Genotype<EnumGene<Integer>> toGenotype(int[] order, Chromosome<EnumGene<Integer>> template) {
+        ISeq<? extends Integer> alleles = template.gene().validAlleles();
+        ISeq<EnumGene<Integer>> genes = IntStream.of(order)
+                .mapToObj(index -> EnumGene.<Integer>of(index, alleles))
+                .collect(ISeq.toISeq());
+        return Genotype.of(template.newInstance(genes));
+    }
+}
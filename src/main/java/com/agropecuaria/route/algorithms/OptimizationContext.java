@@ -0,0 +1,151 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+import com.agropecuaria.route.services.GoogleMapsService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Contexto de uma requisição de otimização.
+ *
+ * Carrega as localizações, a matriz de tempos e o núcleo de avaliação por todo
+ * o ciclo da requisição (viabilidade, algoritmo, validação de deterioração e
+ * métricas), garantindo que a matriz seja calculada uma única vez. Também
+ * leva o ouvinte de progresso e o pedido de cancelamento de execuções
+ * assíncronas.
+ */
+public class OptimizationContext {
+
+    private final RouteOptimizationRequest request;
+    private final GoogleMapsService googleMapsService;
+    private final List<Location> locations;
+
+    private double[][] timeMatrix;
+    private RouteFitnessKernel kernel;
+    private int[][] neighbourCandidates;
+    private int neighbourCount;
+    private int matrixComputations;
+    private List<Integer> legRoute;
+    private double[] legTimes;
+    private volatile OptimizationProgressListener progressListener;
+    private volatile boolean cancelled;
+
+    public OptimizationContext(RouteOptimizationRequest request, GoogleMapsService googleMapsService) {
+        this.request = request;
+        this.googleMapsService = googleMapsService;
+        this.locations = prepareLocations(request);
+    }
+
+    /**
+     * Prepara lista de localizações incluindo ponto inicial/final
+     */
+    private static List<Location> prepareLocations(RouteOptimizationRequest request) {
+        List<Location> locations = new ArrayList<>();
+        locations.add(request.getStartLocation()); // Índice 0
+
+        for (Delivery delivery : request.getDeliveries()) {
+            locations.add(delivery.getLocation());
+        }
+
+        locations.add(request.getStartLocation()); // Índice final (mesmo que 0)
+
+        return Collections.unmodifiableList(locations);
+    }
+
+    public RouteOptimizationRequest getRequest() {
+        return request;
+    }
+
+    public List<Location> getLocations() {
+        return locations;
+    }
+
+    /**
+     * Matriz de tempos (minutos), calculada na primeira chamada e reaproveitada depois
+     */
+    public synchronized double[][] getTimeMatrix() {
+        if (timeMatrix == null) {
+            timeMatrix = googleMapsService.calculateDistanceMatrix(locations);
+            matrixComputations++;
+        }
+        return timeMatrix;
+    }
+
+    /**
+     * Usa uma matriz de tempos já calculada fora do contexto (ex.: buscada junto com as demais rotas de um lote)
+     */
+    public synchronized void setTimeMatrix(double[][] timeMatrix) {
+        this.timeMatrix = timeMatrix;
+        this.kernel = null;
+    }
+
+    /**
+     * Núcleo de avaliação pré-compilado a partir da matriz de tempos
+     */
+    public synchronized RouteFitnessKernel getKernel() {
+        if (kernel == null) {
+            kernel = new RouteFitnessKernel(
+                    getTimeMatrix(), request.getDeliveries(), request.getLoadingTimeMinutes()
+            );
+        }
+        return kernel;
+    }
+
+    /**
+     * Vizinhos mais próximos em linha reta de cada nó (0 = ponto inicial), pelo índice espacial;
+     * calculados na primeira chamada e reaproveitados depois
+     */
+    public synchronized int[][] getNeighbourCandidates(int k) {
+        if (neighbourCandidates == null || neighbourCount != k) {
+            // Sem o retorno duplicado ao ponto inicial
+            neighbourCandidates = new SpatialIndex(locations.subList(0, locations.size() - 1)).nearest(k);
+            neighbourCount = k;
+        }
+        return neighbourCandidates;
+    }
+    
+    /**
+     * Guarda o tempo de cada trecho de uma rota calculada sem a matriz densa (rotas grandes)
+     */
+    public synchronized void setRouteLegTimes(List<Integer> route, double[] legTimes) {
+        this.legRoute = route;
+        this.legTimes = legTimes;
+    }
+
+    /**
+     * Tempos dos trechos da rota informada, ou nulo se não foram guardados para ela
+     */
+    public synchronized double[] getRouteLegTimes(List<Integer> route) {
+        return route != null && route.equals(legRoute) ? legTimes : null;
+    }
+
+    public OptimizationProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    public void setProgressListener(OptimizationProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Pede o encerramento da evolução; a melhor rota encontrada até então é retornada
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Quantas vezes a matriz foi calculada neste contexto (esperado: no máximo 1)
+     */
+    public synchronized int getMatrixComputations() {
+        return matrixComputations;
+    }
+}
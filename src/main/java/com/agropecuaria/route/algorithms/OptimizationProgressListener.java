@@ -0,0 +1,20 @@
+package com.agropecuaria.route.algorithms;
+
+import java.util.List;
+
+/**
+ * Recebe o melhor resultado parcial durante a evolução, a cada lote de gerações.
+ *
+ * Pode ser chamado de threads do pool de evolução; implementações devem ser
+ * seguras para acesso concorrente.
+ */
+@FunctionalInterface
+public interface OptimizationProgressListener {
+
+    /**
+     * @param generation geração atual
+     * @param bestCost custo (minutos + penalidade de atraso) da melhor rota até agora
+     * @param bestRoute melhor rota até agora, com início e retorno no ponto 0
+     */
+    void onProgress(long generation, double bestCost, List<Integer> bestRoute);
+}
@@ -0,0 +1,135 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.Delivery;
+import io.jenetics.Chromosome;
+import io.jenetics.EnumGene;
+
+import java.util.List;
+
+/**
+ * Núcleo de avaliação de rotas pré-compilado a partir da matriz de tempos.
+ *
+ * Trabalha apenas com arrays primitivos (matriz achatada e prazos por entrega)
+ * e calcula tempo de viagem e penalidade de prazo em uma única passada,
+ * sem alocar objetos por avaliação.
+ *
+ * Convenção de índices: o ponto inicial é o nó 0 e a entrega i (base 0)
+ * corresponde ao nó i + 1 da matriz de tempos.
+ */
+public final class RouteFitnessKernel {
+
+    /** Peso da penalidade quadrática por minuto de atraso */
+    static final double PENALTY_WEIGHT = 1000;
+
+    private final int deliveryCount;
+    private final int stride;
+    private final double[] times; // Matriz achatada: times[from * stride + to]
+    private final int[] deadlines; // Prazo (minutos) de cada entrega
+    private final double loadingTime;
+
+    public RouteFitnessKernel(double[][] timeMatrix, List<Delivery> deliveries, int loadingTimeMinutes) {
+        this(timeMatrix, deliveries.stream().mapToInt(Delivery::getMinDeliveryTimeLimit).toArray(), loadingTimeMinutes);
+    }
+
+    /**
+     * Núcleo com prazos informados diretamente (ex.: deslocados pelo horário de início de um trecho da rota)
+     */
+    public RouteFitnessKernel(double[][] timeMatrix, int[] deadlines, int loadingTimeMinutes) {
+        this.deliveryCount = deadlines.length;
+        this.stride = timeMatrix.length;
+        this.times = new double[stride * stride];
+        for (int i = 0; i < stride; i++) {
+            System.arraycopy(timeMatrix[i], 0, times, i * stride, stride);
+        }
+
+        this.deadlines = deadlines.clone();
+        this.loadingTime = loadingTimeMinutes;
+    }
+
+    /**
+     * Custo (tempo total + penalidade) de uma ordem de entregas com índices base 0
+     */
+    public double cost(int[] order) {
+        double time = 0;
+        double penalty = 0;
+        int prev = 0;
+
+        for (int k = 0; k < order.length; k++) {
+            int node = order[k] + 1;
+            time += times[prev * stride + node] + loadingTime;
+
+            double lateness = time - deadlines[node - 1];
+            if (lateness > 0) {
+                penalty += lateness * lateness * PENALTY_WEIGHT;
+            }
+            prev = node;
+        }
+
+        time += times[prev * stride];
+        return time + penalty;
+    }
+
+    /**
+     * Custo de um cromossomo de permutação, lido diretamente dos índices dos alelos
+     */
+    public double cost(Chromosome<EnumGene<Integer>> chromosome) {
+        double time = 0;
+        double penalty = 0;
+        int prev = 0;
+
+        for (int k = 0, length = chromosome.length(); k < length; k++) {
+            int node = chromosome.get(k).alleleIndex() + 1;
+            time += times[prev * stride + node] + loadingTime;
+
+            double lateness = time - deadlines[node - 1];
+            if (lateness > 0) {
+                penalty += lateness * lateness * PENALTY_WEIGHT;
+            }
+            prev = node;
+        }
+
+        time += times[prev * stride];
+        return time + penalty;
+    }
+
+    /**
+     * Indica se a ordem cumpre o prazo de todas as entregas
+     */
+    public boolean isOnTime(int[] order) {
+        double time = 0;
+        int prev = 0;
+
+        for (int k = 0; k < order.length; k++) {
+            int node = order[k] + 1;
+            time += times[prev * stride + node] + loadingTime;
+            if (time > deadlines[node - 1]) {
+                return false;
+            }
+            prev = node;
+        }
+
+        return true;
+    }
+
+    /**
+     * Tempo de viagem entre dois nós da matriz
+     */
+    public double travelTime(int from, int to) {
+        return times[from * stride + to];
+    }
+
+    /**
+     * Prazo limite da entrega (índice base 0)
+     */
+    public int deadline(int delivery) {
+        return deadlines[delivery];
+    }
+
+    public double getLoadingTime() {
+        return loadingTime;
+    }
+
+    public int getDeliveryCount() {
+        return deliveryCount;
+    }
+}
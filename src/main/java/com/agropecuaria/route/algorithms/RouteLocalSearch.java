@@ -0,0 +1,260 @@
+package com.agropecuaria.route.algorithms;
+
+/**
+ * Busca local 2-opt e Or-opt sensível a prazos, usada como etapa memética do
+ * algoritmo genético.
+ *
+ * A variação do tempo de viagem de cada movimento é obtida em O(1): Or-opt
+ * troca apenas três arestas e o 2-opt usa somas prefixadas da rota nos dois
+ * sentidos (a matriz pode ser assimétrica). Como o custo é viagem + penalidade
+ * e a penalidade nunca é negativa, só movimentos cuja variação de viagem é
+ * menor que a penalidade atual podem melhorar a rota; apenas esses passam pela
+ * avaliação completa do núcleo, que também confere os prazos.
+ *
+ * Com listas de vizinhos candidatos, enquanto a rota está em dia só são
+ * tentados movimentos que criam uma aresta até um vizinho, e cada passada
+ * cai de O(n²) para O(n·k). Com atraso a vizinhança completa é percorrida,
+ * já que um movimento que alonga a viagem ainda pode reduzir a penalidade.
+ */
+public final class RouteLocalSearch {
+
+    /** Maior segmento movido pelo Or-opt */
+    static final int MAX_SEGMENT = 3;
+
+    private static final double EPSILON = 1e-9;
+
+    private final RouteFitnessKernel kernel;
+    private final int maxPasses;
+    private final int[][] candidates; // candidates[nó] = vizinhos mais próximos; nulo percorre tudo
+
+    // Rota atual com o ponto inicial nas duas pontas: path[0] = path[n + 1] = 0
+    private int[] path;
+    private double[] forward;  // forward[k] = viagem de path[0] até path[k]
+    private double[] backward; // backward[k] = mesma soma com as arestas no sentido inverso
+    private int[] position;    // position[nó] = índice do nó em path (nó 0: índice 0)
+    private double cost;
+    private double penalty;
+
+    public RouteLocalSearch(RouteFitnessKernel kernel, int maxPasses) {
+        this(kernel, maxPasses, null);
+    }
+
+    /**
+     * @param candidates vizinhos candidatos de cada nó do núcleo (0 = ponto inicial), ou nulo
+     */
+    public RouteLocalSearch(RouteFitnessKernel kernel, int maxPasses, int[][] candidates) {
+        this.kernel = kernel;
+        this.maxPasses = maxPasses;
+        this.candidates = candidates;
+    }
+
+    /**
+     * Aplica 2-opt e Or-opt até não haver melhoria (ou esgotar as passadas) e
+     * retorna a nova ordem de entregas (base 0); a ordem recebida não é alterada
+     */
+    public int[] improve(int[] order) {
+        int n = order.length;
+        path = new int[n + 2];
+        for (int k = 0; k < n; k++) {
+            path[k + 1] = order[k] + 1;
+        }
+        forward = new double[n + 2];
+        backward = new double[n + 2];
+        position = new int[n + 1];
+        refresh();
+
+        for (int pass = 0; pass < maxPasses; pass++) {
+            boolean improved = twoOpt();
+            improved |= orOpt();
+            if (!improved) {
+                break;
+            }
+        }
+
+        return toOrder();
+    }
+
+    /**
+     * Custo da última rota produzida por {@link #improve(int[])}
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Inverte o trecho path[a..b] quando isso reduz o custo
+     */
+    private boolean twoOpt() {
+        int n = path.length - 2;
+        boolean improved = false;
+
+        for (int a = 1; a < n; a++) {
+            if (!restricted()) {
+                for (int b = a + 1; b <= n; b++) {
+                    improved |= tryReverse(a, b);
+                }
+                continue;
+            }
+
+            // Nova aresta path[a - 1] -> path[b] ou path[a] -> path[b + 1] até um vizinho
+            for (int node : candidates[path[a - 1]]) {
+                int b = node == 0 ? -1 : position[node];
+                if (b > a) {
+                    improved |= tryReverse(a, b);
+                }
+            }
+            for (int node : candidates[path[a]]) {
+                int b = (node == 0 ? n + 1 : position[node]) - 1;
+                if (b > a) {
+                    improved |= tryReverse(a, b);
+                }
+            }
+        }
+
+        return improved;
+    }
+
+    private boolean tryReverse(int a, int b) {
+        double delta = kernel.travelTime(path[a - 1], path[b])
+                + kernel.travelTime(path[a], path[b + 1])
+                - kernel.travelTime(path[a - 1], path[a])
+                - kernel.travelTime(path[b], path[b + 1])
+                + (backward[b] - backward[a])
+                - (forward[b] - forward[a]);
+
+        return delta < penalty - EPSILON && accept(reversed(a, b));
+    }
+
+    /**
+     * Move trechos de até {@link #MAX_SEGMENT} entregas para outra posição, sem inverter
+     */
+    private boolean orOpt() {
+        int n = path.length - 2;
+        boolean improved = false;
+
+        for (int length = 1; length <= MAX_SEGMENT && length < n; length++) {
+            for (int a = 1; a + length - 1 <= n; a++) {
+                int e = a + length - 1;
+                double removed = kernel.travelTime(path[a - 1], path[a])
+                        + kernel.travelTime(path[e], path[e + 1])
+                        - kernel.travelTime(path[a - 1], path[e + 1]);
+
+                // Insere o trecho entre path[c] e path[c + 1]
+                if (!restricted()) {
+                    for (int c = 0; c <= n; c++) {
+                        if (tryMove(a, e, c, removed)) {
+                            improved = true;
+                            break;
+                        }
+                    }
+                    continue;
+                }
+
+                // Só ao lado de um vizinho do início ou do fim do trecho
+                int[] beforeSegment = candidates[path[a]];
+                int[] afterSegment = candidates[path[e]];
+                boolean moved = false;
+                for (int i = 0; !moved && i < beforeSegment.length; i++) {
+                    int node = beforeSegment[i];
+                    moved = tryMove(a, e, node == 0 ? 0 : position[node], removed);
+                }
+                for (int i = 0; !moved && i < afterSegment.length; i++) {
+                    int node = afterSegment[i];
+                    moved = tryMove(a, e, (node == 0 ? n + 1 : position[node]) - 1, removed);
+                }
+                improved |= moved;
+            }
+        }
+
+        return improved;
+    }
+
+    private boolean tryMove(int a, int e, int c, double removed) {
+        if (c >= a - 1 && c <= e) {
+            return false;
+        }
+        double delta = kernel.travelTime(path[c], path[a])
+                + kernel.travelTime(path[e], path[c + 1])
+                - kernel.travelTime(path[c], path[c + 1])
+                - removed;
+
+        return delta < penalty - EPSILON && accept(moved(a, e, c));
+    }
+
+    /**
+     * Vizinhança restrita às listas de candidatos: só com listas e com a rota em dia
+     */
+    private boolean restricted() {
+        return candidates != null && penalty <= EPSILON;
+    }
+
+    /**
+     * Confere o candidato no núcleo e o adota se o custo diminuir
+     */
+    private boolean accept(int[] candidate) {
+        int[] order = new int[candidate.length - 2];
+        for (int k = 0; k < order.length; k++) {
+            order[k] = candidate[k + 1] - 1;
+        }
+
+        if (kernel.cost(order) >= cost - EPSILON) {
+            return false;
+        }
+
+        path = candidate;
+        refresh();
+        return true;
+    }
+
+    private int[] reversed(int a, int b) {
+        int[] candidate = path.clone();
+        for (int i = a, j = b; i < j; i++, j--) {
+            candidate[i] = path[j];
+            candidate[j] = path[i];
+        }
+        return candidate;
+    }
+
+    private int[] moved(int a, int e, int c) {
+        int[] candidate = new int[path.length];
+        int k = 0;
+        for (int i = 0; i < path.length; i++) {
+            if (i >= a && i <= e) {
+                continue;
+            }
+            candidate[k++] = path[i];
+            if (i == c) {
+                for (int s = a; s <= e; s++) {
+                    candidate[k++] = path[s];
+                }
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Recalcula somas prefixadas, custo e penalidade da rota atual em O(n)
+     */
+    private void refresh() {
+        for (int k = 1; k < path.length - 1; k++) {
+            position[path[k]] = k;
+        }
+        for (int k = 1; k < path.length; k++) {
+            forward[k] = forward[k - 1] + kernel.travelTime(path[k - 1], path[k]);
+            backward[k] = backward[k - 1] + kernel.travelTime(path[k], path[k - 1]);
+        }
+
+        int[] order = toOrder();
+        cost = kernel.cost(order);
+        double travel = forward[path.length - 1] + order.length * kernel.getLoadingTime();
+        penalty = Math.max(0, cost - travel);
+    }
+
+    private int[] toOrder() {
+        int[] order = new int[path.length - 2];
+        for (int k = 0; k < order.length; k++) {
+            order[k] = path[k + 1] - 1;
+        }
+        return order;
+    }
+}
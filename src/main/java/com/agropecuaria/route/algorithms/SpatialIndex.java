@@ -0,0 +1,153 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.Location;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Árvore k-d sobre as coordenadas de uma requisição, para listas de vizinhos
+ * mais próximos sem comparar todos os pares.
+ *
+ * As coordenadas são projetadas no plano (longitude escalada pelo cosseno da
+ * latitude média), a mesma aproximação usada no agrupamento das rotas grandes;
+ * na escala de uma rota de entregas ela preserva a ordem das distâncias em
+ * linha reta. Construir custa O(n log² n) e cada consulta de k vizinhos
+ * O(k log n) em média, de modo que as listas de todos os pontos saem em
+ * O(n·k·log n) em vez de O(n²).
+ */
+public final class SpatialIndex {
+
+    private final double[] x;
+    private final double[] y;
+    private final int[] tree; // Pontos em ordem da árvore: o meio de cada faixa é a raiz da subárvore
+
+    public SpatialIndex(List<Location> locations) {
+        int n = locations.size();
+        double latitude = 0;
+        for (Location location : locations) {
+            latitude += location.getLatitude();
+        }
+        double cosLatitude = n > 0 ? Math.cos(Math.toRadians(latitude / n)) : 1;
+
+        this.x = new double[n];
+        this.y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = locations.get(i).getLongitude() * cosLatitude;
+            y[i] = locations.get(i).getLatitude();
+        }
+
+        Integer[] points = new Integer[n];
+        Arrays.setAll(points, i -> i);
+        build(points, 0, n, 0);
+        this.tree = Arrays.stream(points).mapToInt(Integer::intValue).toArray();
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * Os {@code k} pontos mais próximos de {@code point}, sem ele mesmo, do mais próximo ao mais distante
+     */
+    public int[] nearest(int point, int k) {
+        k = Math.max(0, Math.min(k, x.length - 1));
+        Neighbours neighbours = new Neighbours(k);
+        if (k > 0) {
+            search(point, 0, tree.length, 0, neighbours);
+        }
+        return neighbours.points;
+    }
+
+    /**
+     * Lista de {@code k} vizinhos de cada ponto, na ordem dos pontos
+     */
+    public int[][] nearest(int k) {
+        int[][] lists = new int[x.length][];
+        for (int point = 0; point < x.length; point++) {
+            lists[point] = nearest(point, k);
+        }
+        return lists;
+    }
+
+    /**
+     * Ordena a faixa pelo eixo da profundidade e repete em cada metade
+     */
+    private void build(Integer[] points, int from, int to, int depth) {
+        if (to - from <= 1) {
+            return;
+        }
+        double[] axis = depth % 2 == 0 ? x : y;
+        Arrays.sort(points, from, to, (a, b) -> Double.compare(axis[a], axis[b]));
+        int middle = (from + to) >>> 1;
+        build(points, from, middle, depth + 1);
+        build(points, middle + 1, to, depth + 1);
+    }
+
+    private void search(int point, int from, int to, int depth, Neighbours neighbours) {
+        if (from >= to) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        int candidate = tree[middle];
+        if (candidate != point) {
+            double dx = x[candidate] - x[point];
+            double dy = y[candidate] - y[point];
+            neighbours.offer(candidate, dx * dx + dy * dy);
+        }
+
+        double[] axis = depth % 2 == 0 ? x : y;
+        double split = axis[point] - axis[candidate];
+        boolean lowerFirst = split < 0;
+        if (lowerFirst) {
+            search(point, from, middle, depth + 1, neighbours);
+        } else {
+            search(point, middle + 1, to, depth + 1, neighbours);
+        }
+        // O outro lado só interessa se a distância ao plano de corte ainda cabe na lista
+        if (!neighbours.isFull() || split * split < neighbours.worst()) {
+            if (lowerFirst) {
+                search(point, middle + 1, to, depth + 1, neighbours);
+            } else {
+                search(point, from, middle, depth + 1, neighbours);
+            }
+        }
+    }
+
+    /**
+     * Os k melhores candidatos até agora, em ordem crescente de distância
+     */
+    private static final class Neighbours {
+        private final int[] points;
+        private final double[] distances;
+        private int filled;
+
+        Neighbours(int k) {
+            this.points = new int[k];
+            this.distances = new double[k];
+        }
+
+        void offer(int point, double distance) {
+            int k = points.length;
+            if (filled == k && distance >= distances[k - 1]) {
+                return;
+            }
+            int position = filled < k ? filled++ : k - 1;
+            while (position > 0 && distances[position - 1] > distance) {
+                points[position] = points[position - 1];
+                distances[position] = distances[position - 1];
+                position--;
+            }
+            points[position] = point;
+            distances[position] = distance;
+        }
+
+        boolean isFull() {
+            return filled == points.length;
+        }
+
+        double worst() {
+            return distances[points.length - 1];
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.agropecuaria.route.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Indivíduos iniciais para o algoritmo genético, no lugar de parte da população aleatória.
+ *
+ * Heurísticas construtivas (vizinho mais próximo e prazo mais cedo primeiro) e,
+ * quando existe um plano anterior com entregas em comum, a ordem desse plano
+ * completada por inserção mais barata das entregas novas. As sementes entram na
+ * população inicial e o restante continua aleatório, preservando a diversidade.
+ */
+final class WarmStartSeeds {
+
+    private WarmStartSeeds() {}
+
+    /**
+     * Sementes heurísticas e, se informada, a ordem anterior completada; ordens repetidas são descartadas
+     *
+     * @param previousOrder entregas (base 0) em comum com o plano anterior, na ordem em que foram visitadas; pode ser nulo
+     */
+    static List<int[]> of(RouteFitnessKernel kernel, int[] previousOrder) {
+        List<int[]> seeds = new ArrayList<>();
+        if (previousOrder != null) {
+            addDistinct(seeds, cheapestInsertion(kernel, previousOrder));
+        }
+        addDistinct(seeds, nearestNeighbour(kernel));
+        addDistinct(seeds, FeasibilityAnalyzer.earliestDueDateOrder(kernel));
+        return seeds;
+    }
+
+    /**
+     * Partindo do início, visita sempre a entrega mais próxima ainda não visitada
+     */
+    static int[] nearestNeighbour(RouteFitnessKernel kernel) {
+        int n = kernel.getDeliveryCount();
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        int node = 0;
+
+        for (int k = 0; k < n; k++) {
+            int next = -1;
+            double nearest = Double.POSITIVE_INFINITY;
+            for (int delivery = 0; delivery < n; delivery++) {
+                if (!visited[delivery] && (next < 0 || kernel.travelTime(node, delivery + 1) < nearest)) {
+                    next = delivery;
+                    nearest = kernel.travelTime(node, delivery + 1);
+                }
+            }
+            visited[next] = true;
+            order[k] = next;
+            node = next + 1;
+        }
+        return order;
+    }
+
+    /**
+     * Mantém a sequência parcial e insere cada entrega ausente na posição que menos aumenta o tempo de viagem
+     */
+    static int[] cheapestInsertion(RouteFitnessKernel kernel, int[] partial) {
+        int n = kernel.getDeliveryCount();
+        boolean[] present = new boolean[n];
+        List<Integer> route = new ArrayList<>(n);
+        for (int delivery : partial) {
+            if (delivery >= 0 && delivery < n && !present[delivery]) {
+                present[delivery] = true;
+                route.add(delivery);
+            }
+        }
+
+        for (int delivery = 0; delivery < n; delivery++) {
+            if (present[delivery]) {
+                continue;
+            }
+            int node = delivery + 1;
+            int bestPosition = 0;
+            double bestDelta = Double.POSITIVE_INFINITY;
+            for (int position = 0; position <= route.size(); position++) {
+                int prev = position == 0 ? 0 : route.get(position - 1) + 1;
+                int next = position == route.size() ? 0 : route.get(position) + 1;
+                double delta = kernel.travelTime(prev, node) + kernel.travelTime(node, next) - kernel.travelTime(prev, next);
+                if (delta < bestDelta) {
+                    bestDelta = delta;
+                    bestPosition = position;
+                }
+            }
+            route.add(bestPosition, delivery);
+        }
+
+        return route.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void addDistinct(List<int[]> seeds, int[] order) {
+        for (int[] seed : seeds) {
+            if (Arrays.equals(seed, order)) {
+                return;
+            }
+        }
+        seeds.add(order);
+    }
+}
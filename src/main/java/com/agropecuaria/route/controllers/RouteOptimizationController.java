@@ -3,6 +3,7 @@ package com.agropecuaria.route.controllers;
 import com.agropecuaria.route.algorithms.GeneticRouteOptimizer;
 import com.agropecuaria.route.models.RouteOptimizationRequest;
 import com.agropecuaria.route.models.RouteOptimizationResponse;
+import com.agropecuaria.route.services.OptimizationRequestValidator;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
@@ -19,6 +20,9 @@ public class RouteOptimizationController {
     @Inject
     GeneticRouteOptimizer routeOptimizer;
     
+    @Inject
+    OptimizationRequestValidator requestValidator;
+    
     /**
      * Processa requisição de otimização de rota com validações de negócio
      */
@@ -45,11 +49,10 @@ public class RouteOptimizationController {
      * Valida regras de negócio específicas
      */
     private void validateBusinessRules(RouteOptimizationRequest request) {
-        // Validação: máximo de entregas por rota
-        if (request.getDeliveries().size() > 20) {
-            throw new IllegalArgumentException(
-                "Número máximo de entregas por rota excedido (máximo: 20)"
-            );
+        // Validação: máximo de entregas por rota e perfil, as mesmas dos endpoints REST
+        String error = requestValidator.validate(request);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
         
         // Validação: produtos devem ter tempo mínimo de 30 minutos
@@ -0,0 +1,60 @@
+package com.agropecuaria.route.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Resultado de uma rota de um lote, emitido assim que a rota termina
+ */
+public class BatchOptimizationResult {
+    
+    @JsonProperty("index")
+    private Integer index; // Posição da requisição no lote
+    
+    @JsonProperty("response")
+    private RouteOptimizationResponse response; // Nulo se a requisição falhou
+    
+    @JsonProperty("error")
+    private String error; // Motivo da falha desta requisição; as demais seguem normalmente
+    
+    public BatchOptimizationResult() {}
+    
+    public BatchOptimizationResult(Integer index, RouteOptimizationResponse response, String error) {
+        this.index = index;
+        this.response = response;
+        this.error = error;
+    }
+    
+    // Getters and Setters
+    public Integer getIndex() {
+        return index;
+    }
+    
+    public void setIndex(Integer index) {
+        this.index = index;
+    }
+    
+    public RouteOptimizationResponse getResponse() {
+        return response;
+    }
+    
+    public void setResponse(RouteOptimizationResponse response) {
+        this.response = response;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchOptimizationResult{" +
+                "index=" + index +
+                ", response=" + response +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
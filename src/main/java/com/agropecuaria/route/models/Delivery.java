@@ -1,5 +1,6 @@
 package com.agropecuaria.route.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
@@ -57,6 +58,16 @@ public class Delivery {
                 .orElse(Integer.MAX_VALUE);
     }
     
+    /**
+     * Carga da entrega: soma das quantidades dos produtos
+     */
+    @JsonIgnore
+    public double getTotalQuantity() {
+        return products.stream()
+                .mapToDouble(Product::getQuantity)
+                .sum();
+    }
+    
     // Getters and Setters
     public Location getLocation() {
         return location;
@@ -0,0 +1,128 @@
+package com.agropecuaria.route.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Telemetria de uma execução do algoritmo genético, para ajustar critérios de parada e população
+ */
+public class EvolutionStatistics {
+    
+    @JsonProperty("generations")
+    private Long generations; // Gerações executadas
+    
+    @JsonProperty("bestGeneration")
+    private Long bestGeneration; // Geração em que o melhor custo final apareceu pela primeira vez
+    
+    @JsonProperty("fitnessEvaluations")
+    private Long fitnessEvaluations;
+    
+    @JsonProperty("initialBestCost")
+    private Double initialBestCost; // Melhor custo da primeira geração
+    
+    @JsonProperty("finalBestCost")
+    private Double finalBestCost; // Melhor custo da evolução, antes da busca local final
+    
+    @JsonProperty("meanEvaluationMs")
+    private Double meanEvaluationMs; // Tempo médio de avaliação por geração
+    
+    @JsonProperty("maxEvaluationMs")
+    private Double maxEvaluationMs;
+    
+    @JsonProperty("finalDiversity")
+    private Double finalDiversity; // Proporção de custos distintos na última geração
+    
+    @JsonProperty("history")
+    private List<GenerationStatistics> history; // Gerações amostradas em intervalos regulares, incluindo a última
+    
+    public EvolutionStatistics() {}
+    
+    // Getters and Setters
+    public Long getGenerations() {
+        return generations;
+    }
+    
+    public void setGenerations(Long generations) {
+        this.generations = generations;
+    }
+    
+    public Long getBestGeneration() {
+        return bestGeneration;
+    }
+    
+    public void setBestGeneration(Long bestGeneration) {
+        this.bestGeneration = bestGeneration;
+    }
+    
+    public Long getFitnessEvaluations() {
+        return fitnessEvaluations;
+    }
+    
+    public void setFitnessEvaluations(Long fitnessEvaluations) {
+        this.fitnessEvaluations = fitnessEvaluations;
+    }
+    
+    public Double getInitialBestCost() {
+        return initialBestCost;
+    }
+    
+    public void setInitialBestCost(Double initialBestCost) {
+        this.initialBestCost = initialBestCost;
+    }
+    
+    public Double getFinalBestCost() {
+        return finalBestCost;
+    }
+    
+    public void setFinalBestCost(Double finalBestCost) {
+        this.finalBestCost = finalBestCost;
+    }
+    
+    public Double getMeanEvaluationMs() {
+        return meanEvaluationMs;
+    }
+    
+    public void setMeanEvaluationMs(Double meanEvaluationMs) {
+        this.meanEvaluationMs = meanEvaluationMs;
+    }
+    
+    public Double getMaxEvaluationMs() {
+        return maxEvaluationMs;
+    }
+    
+    public void setMaxEvaluationMs(Double maxEvaluationMs) {
+        this.maxEvaluationMs = maxEvaluationMs;
+    }
+    
+    public Double getFinalDiversity() {
+        return finalDiversity;
+    }
+    
+    public void setFinalDiversity(Double finalDiversity) {
+        this.finalDiversity = finalDiversity;
+    }
+    
+    public List<GenerationStatistics> getHistory() {
+        return history;
+    }
+    
+    public void setHistory(List<GenerationStatistics> history) {
+        this.history = history;
+    }
+    
+    @Override
+    public String toString() {
+        return "EvolutionStatistics{" +
+                "generations=" + generations +
+                ", bestGeneration=" + bestGeneration +
+                ", fitnessEvaluations=" + fitnessEvaluations +
+                ", initialBestCost=" + initialBestCost +
+                ", finalBestCost=" + finalBestCost +
+                ", meanEvaluationMs=" + meanEvaluationMs +
+                ", maxEvaluationMs=" + maxEvaluationMs +
+                ", finalDiversity=" + finalDiversity +
+                ", history=" + history +
+                '}';
+    }
+}
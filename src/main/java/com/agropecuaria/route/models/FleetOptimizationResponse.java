@@ -0,0 +1,188 @@
+package com.agropecuaria.route.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Resposta da otimização de uma frota: uma rota por veículo
+ */
+public class FleetOptimizationResponse {
+    
+    @JsonProperty("routes")
+    private List<VehicleRoute> routes; // Uma rota por veículo usado, na ordem da requisição
+    
+    @JsonProperty("vehiclesUsed")
+    private Integer vehiclesUsed;
+    
+    @JsonProperty("totalDistanceKm")
+    private Double totalDistanceKm; // Soma das rotas
+    
+    @JsonProperty("totalTimeMinutes")
+    private Integer totalTimeMinutes; // Soma das rotas
+    
+    @JsonProperty("makespanMinutes")
+    private Integer makespanMinutes; // Duração da rota mais longa (veículos saem juntos)
+    
+    @JsonProperty("feasible")
+    private Boolean feasible;
+    
+    @JsonProperty("infeasibleDeliveries")
+    private List<Integer> infeasibleDeliveries; // Índices das entregas que não podem ser realizadas
+    
+    @JsonProperty("message")
+    private String message;
+    
+    @JsonProperty("algorithmExecutionTimeMs")
+    private Long algorithmExecutionTimeMs;
+    
+    @JsonProperty("solverStrategy")
+    private String solverStrategy;
+    
+    @JsonProperty("terminationReason")
+    private String terminationReason;
+    
+    @JsonProperty("generationsExecuted")
+    private Long generationsExecuted;
+    
+    @JsonProperty("engineProfile")
+    private String engineProfile;
+    
+    @JsonProperty("evolutionStatistics")
+    private EvolutionStatistics evolutionStatistics; // Só quando solicitado e o algoritmo genético foi executado
+    
+    public FleetOptimizationResponse() {}
+    
+    // Getters and Setters
+    public List<VehicleRoute> getRoutes() {
+        return routes;
+    }
+    
+    public void setRoutes(List<VehicleRoute> routes) {
+        this.routes = routes;
+    }
+    
+    public Integer getVehiclesUsed() {
+        return vehiclesUsed;
+    }
+    
+    public void setVehiclesUsed(Integer vehiclesUsed) {
+        this.vehiclesUsed = vehiclesUsed;
+    }
+    
+    public Double getTotalDistanceKm() {
+        return totalDistanceKm;
+    }
+    
+    public void setTotalDistanceKm(Double totalDistanceKm) {
+        this.totalDistanceKm = totalDistanceKm;
+    }
+    
+    public Integer getTotalTimeMinutes() {
+        return totalTimeMinutes;
+    }
+    
+    public void setTotalTimeMinutes(Integer totalTimeMinutes) {
+        this.totalTimeMinutes = totalTimeMinutes;
+    }
+    
+    public Integer getMakespanMinutes() {
+        return makespanMinutes;
+    }
+    
+    public void setMakespanMinutes(Integer makespanMinutes) {
+        this.makespanMinutes = makespanMinutes;
+    }
+    
+    public Boolean getFeasible() {
+        return feasible;
+    }
+    
+    public void setFeasible(Boolean feasible) {
+        this.feasible = feasible;
+    }
+    
+    public List<Integer> getInfeasibleDeliveries() {
+        return infeasibleDeliveries;
+    }
+    
+    public void setInfeasibleDeliveries(List<Integer> infeasibleDeliveries) {
+        this.infeasibleDeliveries = infeasibleDeliveries;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public Long getAlgorithmExecutionTimeMs() {
+        return algorithmExecutionTimeMs;
+    }
+    
+    public void setAlgorithmExecutionTimeMs(Long algorithmExecutionTimeMs) {
+        this.algorithmExecutionTimeMs = algorithmExecutionTimeMs;
+    }
+    
+    public String getSolverStrategy() {
+        return solverStrategy;
+    }
+    
+    public void setSolverStrategy(String solverStrategy) {
+        this.solverStrategy = solverStrategy;
+    }
+    
+    public String getTerminationReason() {
+        return terminationReason;
+    }
+    
+    public void setTerminationReason(String terminationReason) {
+        this.terminationReason = terminationReason;
+    }
+    
+    public Long getGenerationsExecuted() {
+        return generationsExecuted;
+    }
+    
+    public void setGenerationsExecuted(Long generationsExecuted) {
+        this.generationsExecuted = generationsExecuted;
+    }
+    
+    public String getEngineProfile() {
+        return engineProfile;
+    }
+    
+    public void setEngineProfile(String engineProfile) {
+        this.engineProfile = engineProfile;
+    }
+    
+    public EvolutionStatistics getEvolutionStatistics() {
+        return evolutionStatistics;
+    }
+    
+    public void setEvolutionStatistics(EvolutionStatistics evolutionStatistics) {
+        this.evolutionStatistics = evolutionStatistics;
+    }
+    
+    @Override
+    public String toString() {
+        return "FleetOptimizationResponse{" +
+                "routes=" + routes +
+                ", vehiclesUsed=" + vehiclesUsed +
+                ", totalDistanceKm=" + totalDistanceKm +
+                ", totalTimeMinutes=" + totalTimeMinutes +
+                ", makespanMinutes=" + makespanMinutes +
+                ", feasible=" + feasible +
+                ", infeasibleDeliveries=" + infeasibleDeliveries +
+                ", message='" + message + '\'' +
+                ", algorithmExecutionTimeMs=" + algorithmExecutionTimeMs +
+                ", solverStrategy='" + solverStrategy + '\'' +
+                ", terminationReason='" + terminationReason + '\'' +
+                ", generationsExecuted=" + generationsExecuted +
+                ", engineProfile='" + engineProfile + '\'' +
+                ", evolutionStatistics=" + evolutionStatistics +
+                '}';
+    }
+}
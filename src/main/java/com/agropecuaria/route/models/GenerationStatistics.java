@@ -0,0 +1,86 @@
+package com.agropecuaria.route.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Estatísticas de uma geração do algoritmo genético
+ */
+public class GenerationStatistics {
+    
+    @JsonProperty("generation")
+    private Long generation;
+    
+    @JsonProperty("bestCost")
+    private Double bestCost; // Custo do melhor indivíduo da geração (minutos + penalidade de atraso)
+    
+    @JsonProperty("meanCost")
+    private Double meanCost; // Custo médio da população
+    
+    @JsonProperty("diversity")
+    private Double diversity; // Proporção de custos distintos na população (0 a 1)
+    
+    @JsonProperty("evaluationMs")
+    private Double evaluationMs; // Tempo de avaliação da aptidão na geração
+    
+    public GenerationStatistics() {}
+    
+    public GenerationStatistics(Long generation, Double bestCost, Double meanCost, Double diversity, Double evaluationMs) {
+        this.generation = generation;
+        this.bestCost = bestCost;
+        this.meanCost = meanCost;
+        this.diversity = diversity;
+        this.evaluationMs = evaluationMs;
+    }
+    
+    // Getters and Setters
+    public Long getGeneration() {
+        return generation;
+    }
+    
+    public void setGeneration(Long generation) {
+        this.generation = generation;
+    }
+    
+    public Double getBestCost() {
+        return bestCost;
+    }
+    
+    public void setBestCost(Double bestCost) {
+        this.bestCost = bestCost;
+    }
+    
+    public Double getMeanCost() {
+        return meanCost;
+    }
+    
+    public void setMeanCost(Double meanCost) {
+        this.meanCost = meanCost;
+    }
+    
+    public Double getDiversity() {
+        return diversity;
+    }
+    
+    public void setDiversity(Double diversity) {
+        this.diversity = diversity;
+    }
+    
+    public Double getEvaluationMs() {
+        return evaluationMs;
+    }
+    
+    public void setEvaluationMs(Double evaluationMs) {
+        this.evaluationMs = evaluationMs;
+    }
+    
+    @Override
+    public String toString() {
+        return "GenerationStatistics{" +
+                "generation=" + generation +
+                ", bestCost=" + bestCost +
+                ", meanCost=" + meanCost +
+                ", diversity=" + diversity +
+                ", evaluationMs=" + evaluationMs +
+                '}';
+    }
+}
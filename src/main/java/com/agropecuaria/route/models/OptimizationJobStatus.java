@@ -0,0 +1,139 @@
+package com.agropecuaria.route.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Situação de uma otimização assíncrona (job), com o melhor resultado parcial
+ */
+public class OptimizationJobStatus {
+    
+    /**
+     * Estados do job
+     */
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED;
+        
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+    
+    @JsonProperty("jobId")
+    private String jobId;
+    
+    @JsonProperty("state")
+    private State state;
+    
+    @JsonProperty("generation")
+    private Long generation; // Última geração relatada
+    
+    @JsonProperty("bestCost")
+    private Double bestCost; // Minutos + penalidade de atraso da melhor rota parcial
+    
+    @JsonProperty("bestRoute")
+    private List<Integer> bestRoute; // Melhor rota parcial, mesmos índices da resposta final
+    
+    @JsonProperty("result")
+    private RouteOptimizationResponse result; // Resposta final, quando o job termina
+    
+    @JsonProperty("message")
+    private String message;
+    
+    @JsonProperty("submittedAt")
+    private Long submittedAt; // Epoch em milissegundos
+    
+    @JsonProperty("finishedAt")
+    private Long finishedAt;
+    
+    public OptimizationJobStatus() {}
+    
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+    
+    public State getState() {
+        return state;
+    }
+    
+    public void setState(State state) {
+        this.state = state;
+    }
+    
+    public Long getGeneration() {
+        return generation;
+    }
+    
+    public void setGeneration(Long generation) {
+        this.generation = generation;
+    }
+    
+    public Double getBestCost() {
+        return bestCost;
+    }
+    
+    public void setBestCost(Double bestCost) {
+        this.bestCost = bestCost;
+    }
+    
+    public List<Integer> getBestRoute() {
+        return bestRoute;
+    }
+    
+    public void setBestRoute(List<Integer> bestRoute) {
+        this.bestRoute = bestRoute;
+    }
+    
+    public RouteOptimizationResponse getResult() {
+        return result;
+    }
+    
+    public void setResult(RouteOptimizationResponse result) {
+        this.result = result;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public Long getSubmittedAt() {
+        return submittedAt;
+    }
+    
+    public void setSubmittedAt(Long submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+    
+    public Long getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(Long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "OptimizationJobStatus{" +
+                "jobId='" + jobId + '\'' +
+                ", state=" + state +
+                ", generation=" + generation +
+                ", bestCost=" + bestCost +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -31,6 +31,16 @@ public class RouteOptimizationRequest {
     @JsonProperty("useGoogleMaps")
     private Boolean useGoogleMaps = true; // Se deve usar Google Maps API para distâncias reais
     
+    @JsonProperty("profile")
+    private String profile; // Perfil do algoritmo genético (fast, balanced, thorough); nulo usa o padrão
+    
+    @Valid
+    @JsonProperty("vehicles")
+    private List<Vehicle> vehicles; // Frota para o modo com vários veículos; ignorado na rota única
+    
+    @JsonProperty("includeStatistics")
+    private Boolean includeStatistics = false; // Se a resposta deve trazer a telemetria da evolução
+    
     public RouteOptimizationRequest() {}
     
     public RouteOptimizationRequest(Location startLocation, List<Delivery> deliveries) {
@@ -79,6 +89,30 @@ public class RouteOptimizationRequest {
         this.useGoogleMaps = useGoogleMaps;
     }
     
+    public String getProfile() {
+        return profile;
+    }
+    
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+    
+    public List<Vehicle> getVehicles() {
+        return vehicles;
+    }
+    
+    public void setVehicles(List<Vehicle> vehicles) {
+        this.vehicles = vehicles;
+    }
+    
+    public Boolean getIncludeStatistics() {
+        return includeStatistics;
+    }
+    
+    public void setIncludeStatistics(Boolean includeStatistics) {
+        this.includeStatistics = includeStatistics;
+    }
+    
     @Override
     public String toString() {
         return "RouteOptimizationRequest{" +
@@ -87,6 +121,9 @@ public class RouteOptimizationRequest {
                 ", vehicleSpeedKmH=" + vehicleSpeedKmH +
                 ", loadingTimeMinutes=" + loadingTimeMinutes +
                 ", useGoogleMaps=" + useGoogleMaps +
+                ", profile='" + profile + '\'' +
+                ", vehicles=" + vehicles +
+                ", includeStatistics=" + includeStatistics +
                 '}';
     }
 }
\ No newline at end of file
@@ -33,6 +33,27 @@ public class RouteOptimizationResponse {
     @JsonProperty("algorithmExecutionTimeMs")
     private Long algorithmExecutionTimeMs;
     
+    @JsonProperty("solverStrategy")
+    private String solverStrategy; // EXACT_DP, GENETIC_ALGORITHM ou CLUSTERED
+    
+    @JsonProperty("terminationReason")
+    private String terminationReason; // Critério que encerrou a evolução
+    
+    @JsonProperty("generationsExecuted")
+    private Long generationsExecuted;
+    
+    @JsonProperty("engineProfile")
+    private String engineProfile; // Perfil do algoritmo genético usado
+    
+    @JsonProperty("partial")
+    private Boolean partial; // No streaming: true enquanto a otimização continua, false na resposta final
+    
+    @JsonProperty("cached")
+    private Boolean cached; // true quando a resposta veio do cache de resultados
+    
+    @JsonProperty("evolutionStatistics")
+    private EvolutionStatistics evolutionStatistics; // Só quando solicitado e o algoritmo genético foi executado
+    
     public RouteOptimizationResponse() {}
     
     public RouteOptimizationResponse(List<Integer> optimizedRoute, List<Delivery> deliveryOrder, 
@@ -109,6 +130,62 @@ public class RouteOptimizationResponse {
         this.algorithmExecutionTimeMs = algorithmExecutionTimeMs;
     }
     
+    public String getSolverStrategy() {
+        return solverStrategy;
+    }
+    
+    public void setSolverStrategy(String solverStrategy) {
+        this.solverStrategy = solverStrategy;
+    }
+    
+    public String getTerminationReason() {
+        return terminationReason;
+    }
+    
+    public void setTerminationReason(String terminationReason) {
+        this.terminationReason = terminationReason;
+    }
+    
+    public Long getGenerationsExecuted() {
+        return generationsExecuted;
+    }
+    
+    public void setGenerationsExecuted(Long generationsExecuted) {
+        this.generationsExecuted = generationsExecuted;
+    }
+    
+    public String getEngineProfile() {
+        return engineProfile;
+    }
+    
+    public void setEngineProfile(String engineProfile) {
+        this.engineProfile = engineProfile;
+    }
+    
+    public Boolean getPartial() {
+        return partial;
+    }
+    
+    public void setPartial(Boolean partial) {
+        this.partial = partial;
+    }
+    
+    public Boolean getCached() {
+        return cached;
+    }
+    
+    public void setCached(Boolean cached) {
+        this.cached = cached;
+    }
+    
+    public EvolutionStatistics getEvolutionStatistics() {
+        return evolutionStatistics;
+    }
+    
+    public void setEvolutionStatistics(EvolutionStatistics evolutionStatistics) {
+        this.evolutionStatistics = evolutionStatistics;
+    }
+    
     @Override
     public String toString() {
         return "RouteOptimizationResponse{" +
@@ -120,6 +197,13 @@ public class RouteOptimizationResponse {
                 ", infeasibleDeliveries=" + infeasibleDeliveries +
                 ", message='" + message + '\'' +
                 ", algorithmExecutionTimeMs=" + algorithmExecutionTimeMs +
+                ", solverStrategy='" + solverStrategy + '\'' +
+                ", terminationReason='" + terminationReason + '\'' +
+                ", generationsExecuted=" + generationsExecuted +
+                ", engineProfile='" + engineProfile + '\'' +
+                ", partial=" + partial +
+                ", cached=" + cached +
+                ", evolutionStatistics=" + evolutionStatistics +
                 '}';
     }
 }
\ No newline at end of file
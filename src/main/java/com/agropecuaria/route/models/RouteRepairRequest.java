@@ -0,0 +1,133 @@
+package com.agropecuaria.route.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Requisição de reotimização de uma rota em andamento.
+ *
+ * Os índices seguem a rota otimizada: 0 é o ponto inicial e a entrega i (base 0)
+ * da requisição original é o nó i + 1. Entregas adicionadas recebem os nós
+ * seguintes, na ordem em que aparecem.
+ */
+public class RouteRepairRequest {
+    
+    @NotNull
+    @Valid
+    @JsonProperty("request")
+    private RouteOptimizationRequest request; // Requisição que gerou a rota atual
+    
+    @NotEmpty
+    @JsonProperty("currentRoute")
+    private List<Integer> currentRoute; // Rota atual, completa ou só o trecho restante; entregas ausentes já foram feitas
+    
+    @NotNull
+    @Valid
+    @JsonProperty("currentLocation")
+    private Location currentLocation; // Posição atual do veículo
+    
+    @NotNull
+    @PositiveOrZero
+    @JsonProperty("elapsedMinutes")
+    private Integer elapsedMinutes; // Minutos desde a saída do ponto inicial
+    
+    @JsonProperty("completedDeliveries")
+    private List<Integer> completedDeliveries = new ArrayList<>(); // Nós já entregues
+    
+    @Valid
+    @JsonProperty("addedDeliveries")
+    private List<Delivery> addedDeliveries = new ArrayList<>(); // Entregas novas
+    
+    @JsonProperty("removedDeliveries")
+    private List<Integer> removedDeliveries = new ArrayList<>(); // Nós cancelados
+    
+    @JsonProperty("prioritizedDeliveries")
+    private List<Integer> prioritizedDeliveries = new ArrayList<>(); // Nós a visitar primeiro, nesta ordem
+    
+    public RouteRepairRequest() {}
+    
+    // Getters and Setters
+    public RouteOptimizationRequest getRequest() {
+        return request;
+    }
+    
+    public void setRequest(RouteOptimizationRequest request) {
+        this.request = request;
+    }
+    
+    public List<Integer> getCurrentRoute() {
+        return currentRoute;
+    }
+    
+    public void setCurrentRoute(List<Integer> currentRoute) {
+        this.currentRoute = currentRoute;
+    }
+    
+    public Location getCurrentLocation() {
+        return currentLocation;
+    }
+    
+    public void setCurrentLocation(Location currentLocation) {
+        this.currentLocation = currentLocation;
+    }
+    
+    public Integer getElapsedMinutes() {
+        return elapsedMinutes;
+    }
+    
+    public void setElapsedMinutes(Integer elapsedMinutes) {
+        this.elapsedMinutes = elapsedMinutes;
+    }
+    
+    public List<Integer> getCompletedDeliveries() {
+        return completedDeliveries;
+    }
+    
+    public void setCompletedDeliveries(List<Integer> completedDeliveries) {
+        this.completedDeliveries = completedDeliveries;
+    }
+    
+    public List<Delivery> getAddedDeliveries() {
+        return addedDeliveries;
+    }
+    
+    public void setAddedDeliveries(List<Delivery> addedDeliveries) {
+        this.addedDeliveries = addedDeliveries;
+    }
+    
+    public List<Integer> getRemovedDeliveries() {
+        return removedDeliveries;
+    }
+    
+    public void setRemovedDeliveries(List<Integer> removedDeliveries) {
+        this.removedDeliveries = removedDeliveries;
+    }
+    
+    public List<Integer> getPrioritizedDeliveries() {
+        return prioritizedDeliveries;
+    }
+    
+    public void setPrioritizedDeliveries(List<Integer> prioritizedDeliveries) {
+        this.prioritizedDeliveries = prioritizedDeliveries;
+    }
+    
+    @Override
+    public String toString() {
+        return "RouteRepairRequest{" +
+                "request=" + request +
+                ", currentRoute=" + currentRoute +
+                ", currentLocation=" + currentLocation +
+                ", elapsedMinutes=" + elapsedMinutes +
+                ", completedDeliveries=" + completedDeliveries +
+                ", addedDeliveries=" + addedDeliveries +
+                ", removedDeliveries=" + removedDeliveries +
+                ", prioritizedDeliveries=" + prioritizedDeliveries +
+                '}';
+    }
+}
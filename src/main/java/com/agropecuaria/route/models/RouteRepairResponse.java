@@ -0,0 +1,138 @@
+package com.agropecuaria.route.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Resposta da reotimização de uma rota em andamento
+ */
+public class RouteRepairResponse {
+    
+    @JsonProperty("request")
+    private RouteOptimizationRequest request; // Requisição com as entregas adicionadas ao final, base para o próximo reparo
+    
+    @JsonProperty("remainingRoute")
+    private List<Integer> remainingRoute; // Nós restantes a partir da posição atual, terminando no retorno (0)
+    
+    @JsonProperty("deliveryOrder")
+    private List<Delivery> deliveryOrder; // Entregas restantes na ordem de visita
+    
+    @JsonProperty("remainingTimeMinutes")
+    private Integer remainingTimeMinutes; // Da posição atual até o retorno ao ponto inicial
+    
+    @JsonProperty("remainingDistanceKm")
+    private Double remainingDistanceKm;
+    
+    @JsonProperty("feasible")
+    private Boolean feasible; // Se todas as entregas restantes cumprem o prazo
+    
+    @JsonProperty("lateDeliveries")
+    private List<Integer> lateDeliveries; // Nós que chegam após o prazo
+    
+    @JsonProperty("message")
+    private String message;
+    
+    @JsonProperty("solverStrategy")
+    private String solverStrategy;
+    
+    @JsonProperty("algorithmExecutionTimeMs")
+    private Long algorithmExecutionTimeMs;
+    
+    public RouteRepairResponse() {}
+    
+    // Getters and Setters
+    public RouteOptimizationRequest getRequest() {
+        return request;
+    }
+    
+    public void setRequest(RouteOptimizationRequest request) {
+        this.request = request;
+    }
+    
+    public List<Integer> getRemainingRoute() {
+        return remainingRoute;
+    }
+    
+    public void setRemainingRoute(List<Integer> remainingRoute) {
+        this.remainingRoute = remainingRoute;
+    }
+    
+    public List<Delivery> getDeliveryOrder() {
+        return deliveryOrder;
+    }
+    
+    public void setDeliveryOrder(List<Delivery> deliveryOrder) {
+        this.deliveryOrder = deliveryOrder;
+    }
+    
+    public Integer getRemainingTimeMinutes() {
+        return remainingTimeMinutes;
+    }
+    
+    public void setRemainingTimeMinutes(Integer remainingTimeMinutes) {
+        this.remainingTimeMinutes = remainingTimeMinutes;
+    }
+    
+    public Double getRemainingDistanceKm() {
+        return remainingDistanceKm;
+    }
+    
+    public void setRemainingDistanceKm(Double remainingDistanceKm) {
+        this.remainingDistanceKm = remainingDistanceKm;
+    }
+    
+    public Boolean getFeasible() {
+        return feasible;
+    }
+    
+    public void setFeasible(Boolean feasible) {
+        this.feasible = feasible;
+    }
+    
+    public List<Integer> getLateDeliveries() {
+        return lateDeliveries;
+    }
+    
+    public void setLateDeliveries(List<Integer> lateDeliveries) {
+        this.lateDeliveries = lateDeliveries;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public String getSolverStrategy() {
+        return solverStrategy;
+    }
+    
+    public void setSolverStrategy(String solverStrategy) {
+        this.solverStrategy = solverStrategy;
+    }
+    
+    public Long getAlgorithmExecutionTimeMs() {
+        return algorithmExecutionTimeMs;
+    }
+    
+    public void setAlgorithmExecutionTimeMs(Long algorithmExecutionTimeMs) {
+        this.algorithmExecutionTimeMs = algorithmExecutionTimeMs;
+    }
+    
+    @Override
+    public String toString() {
+        return "RouteRepairResponse{" +
+                "remainingRoute=" + remainingRoute +
+                ", remainingTimeMinutes=" + remainingTimeMinutes +
+                ", remainingDistanceKm=" + remainingDistanceKm +
+                ", feasible=" + feasible +
+                ", lateDeliveries=" + lateDeliveries +
+                ", message='" + message + '\'' +
+                ", solverStrategy='" + solverStrategy + '\'' +
+                ", algorithmExecutionTimeMs=" + algorithmExecutionTimeMs +
+                '}';
+    }
+}
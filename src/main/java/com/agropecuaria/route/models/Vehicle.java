@@ -0,0 +1,51 @@
+package com.agropecuaria.route.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Veículo da frota com capacidade de carga
+ */
+public class Vehicle {
+    
+    @JsonProperty("id")
+    private String id; // Identificador do veículo (placa, apelido etc.)
+    
+    @NotNull
+    @Positive
+    @JsonProperty("capacity")
+    private Double capacity; // Capacidade na mesma unidade das quantidades dos produtos
+    
+    public Vehicle() {}
+    
+    public Vehicle(String id, Double capacity) {
+        this.id = id;
+        this.capacity = capacity;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Double getCapacity() {
+        return capacity;
+    }
+    
+    public void setCapacity(Double capacity) {
+        this.capacity = capacity;
+    }
+    
+    @Override
+    public String toString() {
+        return "Vehicle{" +
+                "id='" + id + '\'' +
+                ", capacity=" + capacity +
+                '}';
+    }
+}
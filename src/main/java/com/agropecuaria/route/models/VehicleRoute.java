@@ -0,0 +1,115 @@
+package com.agropecuaria.route.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Rota atribuída a um veículo da frota
+ */
+public class VehicleRoute {
+    
+    @JsonProperty("vehicleId")
+    private String vehicleId;
+    
+    @JsonProperty("optimizedRoute")
+    private List<Integer> optimizedRoute; // Mesmos índices da rota única: 0 = início, entrega i = i + 1
+    
+    @JsonProperty("deliveryOrder")
+    private List<Delivery> deliveryOrder;
+    
+    @JsonProperty("load")
+    private Double load; // Soma das quantidades entregues pelo veículo
+    
+    @JsonProperty("capacity")
+    private Double capacity;
+    
+    @JsonProperty("totalDistanceKm")
+    private Double totalDistanceKm;
+    
+    @JsonProperty("totalTimeMinutes")
+    private Integer totalTimeMinutes;
+    
+    @JsonProperty("onTime")
+    private Boolean onTime; // Se todas as entregas do veículo cumprem o prazo
+    
+    public VehicleRoute() {}
+    
+    // Getters and Setters
+    public String getVehicleId() {
+        return vehicleId;
+    }
+    
+    public void setVehicleId(String vehicleId) {
+        this.vehicleId = vehicleId;
+    }
+    
+    public List<Integer> getOptimizedRoute() {
+        return optimizedRoute;
+    }
+    
+    public void setOptimizedRoute(List<Integer> optimizedRoute) {
+        this.optimizedRoute = optimizedRoute;
+    }
+    
+    public List<Delivery> getDeliveryOrder() {
+        return deliveryOrder;
+    }
+    
+    public void setDeliveryOrder(List<Delivery> deliveryOrder) {
+        this.deliveryOrder = deliveryOrder;
+    }
+    
+    public Double getLoad() {
+        return load;
+    }
+    
+    public void setLoad(Double load) {
+        this.load = load;
+    }
+    
+    public Double getCapacity() {
+        return capacity;
+    }
+    
+    public void setCapacity(Double capacity) {
+        this.capacity = capacity;
+    }
+    
+    public Double getTotalDistanceKm() {
+        return totalDistanceKm;
+    }
+    
+    public void setTotalDistanceKm(Double totalDistanceKm) {
+        this.totalDistanceKm = totalDistanceKm;
+    }
+    
+    public Integer getTotalTimeMinutes() {
+        return totalTimeMinutes;
+    }
+    
+    public void setTotalTimeMinutes(Integer totalTimeMinutes) {
+        this.totalTimeMinutes = totalTimeMinutes;
+    }
+    
+    public Boolean getOnTime() {
+        return onTime;
+    }
+    
+    public void setOnTime(Boolean onTime) {
+        this.onTime = onTime;
+    }
+    
+    @Override
+    public String toString() {
+        return "VehicleRoute{" +
+                "vehicleId='" + vehicleId + '\'' +
+                ", optimizedRoute=" + optimizedRoute +
+                ", load=" + load +
+                ", capacity=" + capacity +
+                ", totalDistanceKm=" + totalDistanceKm +
+                ", totalTimeMinutes=" + totalTimeMinutes +
+                ", onTime=" + onTime +
+                '}';
+    }
+}
@@ -0,0 +1,144 @@
+package com.agropecuaria.route.rest;
+
+import com.agropecuaria.route.models.OptimizationJobStatus;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+import com.agropecuaria.route.services.OptimizationJobService;
+import com.agropecuaria.route.services.OptimizationRequestValidator;
+import io.smallrye.mutiny.Multi;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Endpoint REST para otimizações assíncronas (jobs)
+ */
+@Path("/api/route-optimization/jobs")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(name = "Optimization Jobs", description = "Otimização assíncrona com consulta, eventos de progresso e cancelamento")
+public class OptimizationJobResource {
+
+    private static final Logger LOG = Logger.getLogger(OptimizationJobResource.class);
+
+    // Segundos sugeridos ao cliente quando a fila está cheia
+    private static final int RETRY_AFTER_SECONDS = 5;
+
+    @Inject
+    OptimizationJobService jobService;
+
+    @Inject
+    OptimizationRequestValidator requestValidator;
+
+    /**
+     * Enfileira uma otimização e retorna o identificador do job imediatamente
+     *
+     * @param request Mesma requisição do endpoint síncrono de otimização
+     * @return 202 com a situação inicial do job
+     */
+    @POST
+    @Operation(
+        summary = "Submeter otimização assíncrona",
+        description = "Enfileira a otimização e retorna imediatamente o job, que pode ser consultado, acompanhado por eventos ou cancelado"
+    )
+    public Response submit(@Valid RouteOptimizationRequest request) {
+        // Validações básicas
+        if (request.getDeliveries().isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse("Lista de entregas não pode estar vazia"))
+                    .build();
+        }
+
+        String error = requestValidator.validate(request);
+        if (error != null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse(error))
+                    .build();
+        }
+
+        try {
+            OptimizationJobStatus status = jobService.submit(request);
+            return Response.accepted(status)
+                    .location(URI.create("/api/route-optimization/jobs/" + status.getJobId()))
+                    .build();
+
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Fila de jobs de otimização cheia");
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", RETRY_AFTER_SECONDS)
+                    .entity(createErrorResponse("Fila de otimizações cheia, tente novamente em instantes"))
+                    .build();
+        }
+    }
+
+    /**
+     * Consulta a situação do job e a melhor rota encontrada até agora
+     */
+    @GET
+    @Path("/{jobId}")
+    @Operation(
+        summary = "Consultar job",
+        description = "Retorna o estado do job, o melhor resultado parcial e, ao final, a resposta completa"
+    )
+    public Response status(@PathParam("jobId") String jobId) {
+        return jobService.status(jobId)
+                .map(status -> Response.ok(status).build())
+                .orElseGet(() -> notFound(jobId));
+    }
+
+    /**
+     * Acompanha o job por server-sent events até o fim da execução
+     */
+    @GET
+    @Path("/{jobId}/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Eventos de progresso do job",
+        description = "Emite a situação atual e, a cada lote de gerações, a melhor rota e seu custo; encerra quando o job termina"
+    )
+    public Multi<OptimizationJobStatus> events(@PathParam("jobId") String jobId) {
+        return jobService.events(jobId)
+                .orElseGet(() -> Multi.createFrom().failure(new NotFoundException("Job não encontrado: " + jobId)));
+    }
+
+    /**
+     * Cancela o job, liberando a CPU; a melhor rota parcial continua disponível
+     */
+    @DELETE
+    @Path("/{jobId}")
+    @Operation(
+        summary = "Cancelar job",
+        description = "Interrompe a otimização na geração seguinte; se o job ainda não começou, ele não é executado"
+    )
+    public Response cancel(@PathParam("jobId") String jobId) {
+        return jobService.cancel(jobId)
+                .map(status -> Response.ok(status).build())
+                .orElseGet(() -> notFound(jobId));
+    }
+
+    private Response notFound(String jobId) {
+        return Response.status(Response.Status.NOT_FOUND)
+                .entity(createErrorResponse("Job não encontrado: " + jobId))
+                .build();
+    }
+
+    /**
+     * Cria resposta de erro padronizada
+     */
+    private RouteOptimizationResource.ErrorResponse createErrorResponse(String message) {
+        RouteOptimizationResource.ErrorResponse error = new RouteOptimizationResource.ErrorResponse();
+        error.setError(true);
+        error.setMessage(message);
+        error.setTimestamp(System.currentTimeMillis());
+        return error;
+    }
+}
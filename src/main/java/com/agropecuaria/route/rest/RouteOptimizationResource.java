@@ -1,8 +1,21 @@
 package com.agropecuaria.route.rest;
 
 import com.agropecuaria.route.algorithms.GeneticRouteOptimizer;
+import com.agropecuaria.route.models.BatchOptimizationResult;
+import com.agropecuaria.route.models.FleetOptimizationResponse;
 import com.agropecuaria.route.models.RouteOptimizationRequest;
 import com.agropecuaria.route.models.RouteOptimizationResponse;
+import com.agropecuaria.route.models.RouteRepairRequest;
+import com.agropecuaria.route.models.RouteRepairResponse;
+import com.agropecuaria.route.models.VehicleRoute;
+import com.agropecuaria.route.services.BatchOptimizationService;
+import com.agropecuaria.route.services.GoogleMapsService;
+import com.agropecuaria.route.services.OptimizationExecutionService;
+import com.agropecuaria.route.services.OptimizationJobService;
+import com.agropecuaria.route.services.OptimizationRequestValidator;
+import com.agropecuaria.route.services.OptimizationResultCache;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
@@ -11,6 +24,12 @@ import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Endpoint REST para otimização de rotas de entrega
@@ -23,9 +42,30 @@ public class RouteOptimizationResource {
     
     private static final Logger LOG = Logger.getLogger(RouteOptimizationResource.class);
     
+    // Segundos sugeridos ao cliente quando não há vaga para otimizar
+    private static final int RETRY_AFTER_SECONDS = 5;
+    
     @Inject
     GeneticRouteOptimizer routeOptimizer;
     
+    @Inject
+    GoogleMapsService googleMapsService;
+    
+    @Inject
+    OptimizationJobService jobService;
+    
+    @Inject
+    OptimizationExecutionService executionService;
+    
+    @Inject
+    OptimizationResultCache resultCache;
+    
+    @Inject
+    BatchOptimizationService batchService;
+    
+    @Inject
+    OptimizationRequestValidator requestValidator;
+    
     /**
      * Endpoint principal para otimização de rotas
      * 
@@ -38,64 +78,209 @@ public class RouteOptimizationResource {
         summary = "Otimizar rota de entrega",
         description = "Utiliza algoritmo genético para encontrar a melhor sequência de entregas considerando tempo de deterioração dos produtos"
     )
-    public Response optimizeRoute(@Valid RouteOptimizationRequest request) {
+    public Uni<Response> optimizeRoute(@Valid RouteOptimizationRequest request) {
         LOG.info("Recebida requisição de otimização de rota com " + 
                 request.getDeliveries().size() + " entregas");
         
-        try {
-            // Validações básicas
-            if (request.getDeliveries().isEmpty()) {
-                return Response.status(Response.Status.BAD_REQUEST)
-                        .entity(createErrorResponse("Lista de entregas não pode estar vazia"))
-                        .build();
-            }
-            
-            if (request.getStartLocation() == null) {
-                return Response.status(Response.Status.BAD_REQUEST)
-                        .entity(createErrorResponse("Localização inicial é obrigatória"))
-                        .build();
-            }
+        // Validações básicas
+        if (request.getDeliveries().isEmpty()) {
+            return badRequest("Lista de entregas não pode estar vazia");
+        }
+        
+        if (request.getStartLocation() == null) {
+            return badRequest("Localização inicial é obrigatória");
+        }
+        
+        String error = requestValidator.validate(request);
+        if (error != null) {
+            return badRequest(error);
+        }
+        
+        // Requisição equivalente já otimizada: responde sem buscar matriz nem executar o algoritmo
+        Optional<RouteOptimizationResponse> cached = routeOptimizer.cachedResponse(request);
+        if (cached.isPresent()) {
+            LOG.info("Rota obtida do cache de resultados");
+            return Uni.createFrom().item(optimizationResponse(cached.get()));
+        }
+        
+        // E/S: contexto com a matriz de tempos; CPU: otimização. O contexto garante
+        // uma única matriz de tempos por requisição
+        return executionService.execute(() -> routeOptimizer.prepareContext(request),
+                context -> optimizationResponse(routeOptimizer.optimizeAndValidate(context)))
+                .onFailure().recoverWithItem(e -> failureResponse("Erro interno durante otimização da rota", e));
+    }
+    
+    /**
+     * 200 para rota viável, 422 caso contrário
+     */
+    private Response optimizationResponse(RouteOptimizationResponse response) {
+        if (response.getFeasible()) {
+            LOG.info("Rota otimizada com sucesso. Tempo total: " + 
+                    response.getTotalTimeMinutes() + " minutos, Distância: " + 
+                    String.format("%.2f", response.getTotalDistanceKm()) + " km");
             
-            // Executa otimização
-            RouteOptimizationResponse response = routeOptimizer.optimizeRoute(request);
+            return Response.ok(response).build();
+        } else {
+            LOG.warn("Não foi possível otimizar a rota: " + response.getMessage());
+            return Response.status(422)
+                    .entity(response)
+                    .build();
+        }
+    }
+    
+    /**
+     * Endpoint de otimização em streaming: emite rotas melhores enquanto a evolução continua
+     * 
+     * @param request Mesma requisição do endpoint de otimização
+     * @return Server-sent events com respostas parciais ("partial": true) e a resposta final
+     */
+    @POST
+    @Path("/optimize-stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Otimizar rota com resultados parciais",
+        description = "Emite cada melhoria da rota, com intervalo mínimo configurável, para que a carga possa começar antes do fim da otimização; o último evento é a resposta completa"
+    )
+    public Multi<RouteOptimizationResponse> optimizeRouteStream(@Valid RouteOptimizationRequest request) {
+        LOG.info("Recebida requisição de otimização em streaming com " + 
+                request.getDeliveries().size() + " entregas");
+        
+        // Lançada antes de abrir o stream, para que o cliente receba 400
+        String error = requestValidator.validate(request);
+        if (error != null) {
+            throw rejected(error);
+        }
+        
+        return jobService.stream(request)
+                .onFailure(RejectedExecutionException.class).transform(e -> new ServiceUnavailableException(
+                    Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                            .type(MediaType.APPLICATION_JSON)
+                            .entity(createErrorResponse("Fila de otimizações cheia, tente novamente em instantes"))
+                            .build()
+                ));
+    }
+    
+    /**
+     * Endpoint de otimização em lote: várias rotas independentes em uma única chamada
+     * 
+     * @param requests Requisições no mesmo formato do endpoint de otimização
+     * @return Server-sent events com o resultado de cada rota, na ordem em que terminam
+     */
+    @POST
+    @Path("/optimize-batch")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Otimizar várias rotas",
+        description = "Busca uma única matriz de tempos para todas as rotas, otimiza em paralelo e emite cada resultado assim que fica pronto, identificado pela posição no lote; erros de uma rota não afetam as demais"
+    )
+    public Multi<BatchOptimizationResult> optimizeBatch(List<RouteOptimizationRequest> requests) {
+        // Lançadas antes de abrir o stream, para que o cliente receba 400 e não um stream com erro
+        if (requests == null || requests.isEmpty()) {
+            throw rejected("Lote de otimização vazio");
+        }
+        if (requests.size() > batchService.getMaxSize()) {
+            throw rejected("Lote com " + requests.size() + " rotas excede o limite de " + batchService.getMaxSize());
+        }
+        
+        LOG.info("Recebido lote de otimização com " + requests.size() + " rotas");
+        return batchService.optimize(requests);
+    }
+    
+    private BadRequestException rejected(String message) {
+        return new BadRequestException(
+            Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(createErrorResponse(message))
+                    .build()
+        );
+    }
+    
+    /**
+     * Endpoint para otimização de uma frota com vários veículos
+     * 
+     * @param request Requisição com entregas e a lista de veículos com suas capacidades
+     * @return Resposta com uma rota por veículo usado
+     */
+    @POST
+    @Path("/optimize-fleet")
+    @Operation(
+        summary = "Otimizar rotas de uma frota",
+        description = "Distribui as entregas entre os veículos respeitando a capacidade de cada um e otimiza a sequência de cada rota"
+    )
+    public Uni<Response> optimizeFleet(@Valid RouteOptimizationRequest request) {
+        LOG.info("Recebida requisição de otimização de frota com " + 
+                request.getDeliveries().size() + " entregas");
+        
+        // Validações básicas
+        if (request.getVehicles() == null || request.getVehicles().isEmpty()) {
+            return badRequest("Informe ao menos um veículo na frota");
+        }
+        
+        String error = requestValidator.validateFleet(request);
+        if (error != null) {
+            return badRequest(error);
+        }
+        
+        return executionService.execute(() -> routeOptimizer.prepareFleetContext(request), context -> {
+            FleetOptimizationResponse response = routeOptimizer.optimizeFleet(context);
             
             if (response.getFeasible()) {
-                // Verificação adicional: verifica se produtos estragaram após otimização
-                try {
-                    var spoilageResult = routeOptimizer.validateOptimizedRoute(
-                        response.getOptimizedRoute(), request
-                    );
-                    
-                    if (!spoilageResult.isAllProductsValid()) {
-                        // Alguns produtos estragaram - retorna warning mas mantém a solução
-                        String warningMessage = "ATENÇÃO: Alguns produtos podem estragar durante a entrega: " + 
-                                String.join(", ", spoilageResult.getSpoiledProducts());
-                        
-                        response.setMessage(response.getMessage() + ". " + warningMessage);
-                        
-                        LOG.warn("Produtos que podem estragar: " + spoilageResult.getSpoiledProducts());
-                        LOG.warn("Entregas afetadas: " + spoilageResult.getSpoiledDeliveries());
-                    }
-                    
-                } catch (Exception e) {
-                    LOG.warn("Erro durante verificação de produtos estragados: " + e.getMessage());
-                    // Continua sem a verificação adicional
+                // Mesma verificação de produtos estragados da rota única, aplicada a cada veículo
+                List<String> spoiledProducts = new ArrayList<>();
+                for (VehicleRoute route : response.getRoutes()) {
+                    spoiledProducts.addAll(routeOptimizer.checkProductSpoilage(
+                        route.getOptimizedRoute(), request, context.getTimeMatrix()
+                    ).getSpoiledProducts());
+                }
+                
+                if (!spoiledProducts.isEmpty()) {
+                    response.setMessage(response.getMessage() + ". ATENÇÃO: Alguns produtos podem estragar durante a entrega: " + 
+                            String.join(", ", spoiledProducts));
+                    LOG.warn("Produtos que podem estragar: " + spoiledProducts);
                 }
                 
-                LOG.info("Rota otimizada com sucesso. Tempo total: " + 
-                        response.getTotalTimeMinutes() + " minutos, Distância: " + 
-                        String.format("%.2f", response.getTotalDistanceKm()) + " km");
+                LOG.info("Frota otimizada com sucesso. Veículos usados: " + response.getVehiclesUsed() + 
+                        ", maior rota: " + response.getMakespanMinutes() + " minutos");
                 
                 return Response.ok(response).build();
             } else {
-                LOG.warn("Não foi possível otimizar a rota: " + response.getMessage());
+                LOG.warn("Não foi possível otimizar a frota: " + response.getMessage());
                 return Response.status(422)
                         .entity(response)
                         .build();
             }
+        }).onFailure().recoverWithItem(e -> failureResponse("Erro interno durante otimização da frota", e));
+    }
+    
+    /**
+     * Endpoint para reotimizar uma rota em andamento após mudanças nas entregas
+     * 
+     * @param request Rota atual, posição do veículo, tempo decorrido e alterações
+     * @return Trecho restante reparado, a partir da posição atual
+     */
+    @POST
+    @Path("/reoptimize")
+    @Operation(
+        summary = "Reotimizar rota em andamento",
+        description = "Repara a rota atual a partir da posição do veículo após entregas concluídas, adicionadas, canceladas ou priorizadas, sem executar novamente o algoritmo genético"
+    )
+    public Response reoptimizeRoute(@Valid RouteRepairRequest request) {
+        LOG.info("Recebida requisição de reotimização com " + request.getCurrentRoute().size() + " nós na rota atual");
+        
+        try {
+            RouteRepairResponse response = routeOptimizer.repairRoute(request);
+            LOG.info("Rota reotimizada em " + response.getAlgorithmExecutionTimeMs() + " ms. Tempo restante: " + 
+                    response.getRemainingTimeMinutes() + " minutos");
+            return Response.ok(response).build();
             
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse(e.getMessage()))
+                    .build();
         } catch (Exception e) {
-            LOG.error("Erro interno durante otimização da rota", e);
+            LOG.error("Erro durante reotimização da rota", e);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(createErrorResponse("Erro interno do servidor: " + e.getMessage()))
                     .build();
@@ -114,15 +299,18 @@ public class RouteOptimizationResource {
     public Response checkFeasibility(@Valid RouteOptimizationRequest request) {
         LOG.info("Verificando viabilidade de " + request.getDeliveries().size() + " entregas");
         
+        String error = requestValidator.validate(request);
+        if (error != null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(createErrorResponse(error))
+                    .build();
+        }
+        
         try {
-            RouteOptimizationResponse response = routeOptimizer.optimizeRoute(request);
-            
-            // Retorna apenas informações de viabilidade
-            RouteOptimizationResponse feasibilityResponse = new RouteOptimizationResponse();
-            feasibilityResponse.setFeasible(response.getFeasible());
-            feasibilityResponse.setMessage(response.getMessage());
-            feasibilityResponse.setInfeasibleDeliveries(response.getInfeasibleDeliveries());
-            feasibilityResponse.setAlgorithmExecutionTimeMs(response.getAlgorithmExecutionTimeMs());
+            // Caminho rápido: limites de viabilidade sem executar o algoritmo genético
+            RouteOptimizationResponse feasibilityResponse = routeOptimizer.checkFeasibility(
+                routeOptimizer.createContext(request)
+            );
             
             return Response.ok(feasibilityResponse).build();
             
@@ -150,10 +338,37 @@ public class RouteOptimizationResource {
         info.setDescription("Serviço de otimização de rotas para entregas agropecuárias usando algoritmos genéticos");
         info.setAlgorithm("Jenetics - Genetic Algorithm");
         info.setStatus("Active");
+        info.setDistanceMatrixComputations(googleMapsService.getMatrixComputationCount());
+        info.setResultCacheHits(resultCache.getHits());
+        info.setResultCacheMisses(resultCache.getMisses());
         
         return Response.ok(info).build();
     }
     
+    private Uni<Response> badRequest(String message) {
+        return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                .entity(createErrorResponse(message))
+                .build());
+    }
+    
+    /**
+     * 503 quando não há vaga para otimizar agora; 500 para os demais erros
+     */
+    private Response failureResponse(String logMessage, Throwable e) {
+        if (e instanceof RejectedExecutionException) {
+            LOG.warn("Otimização recusada: " + e.getMessage());
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", RETRY_AFTER_SECONDS)
+                    .entity(createErrorResponse("Servidor ocupado com outras otimizações, tente novamente em instantes"))
+                    .build();
+        }
+        
+        LOG.error(logMessage, e);
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity(createErrorResponse("Erro interno do servidor: " + e.getMessage()))
+                .build();
+    }
+    
     /**
      * Cria resposta de erro padronizada
      */
@@ -174,6 +389,9 @@ public class RouteOptimizationResource {
         private String description;
         private String algorithm;
         private String status;
+        private long distanceMatrixComputations;
+        private long resultCacheHits;
+        private long resultCacheMisses;
         
         // Getters and Setters
         public String getServiceName() { return serviceName; }
@@ -190,6 +408,15 @@ public class RouteOptimizationResource {
         
         public String getStatus() { return status; }
         public void setStatus(String status) { this.status = status; }
+        
+        public long getDistanceMatrixComputations() { return distanceMatrixComputations; }
+        public void setDistanceMatrixComputations(long distanceMatrixComputations) { this.distanceMatrixComputations = distanceMatrixComputations; }
+        
+        public long getResultCacheHits() { return resultCacheHits; }
+        public void setResultCacheHits(long resultCacheHits) { this.resultCacheHits = resultCacheHits; }
+        
+        public long getResultCacheMisses() { return resultCacheMisses; }
+        public void setResultCacheMisses(long resultCacheMisses) { this.resultCacheMisses = resultCacheMisses; }
     }
     
     /**
@@ -0,0 +1,58 @@
+package com.agropecuaria.route.rest;
+
+import com.agropecuaria.route.models.FleetOptimizationResponse;
+import com.agropecuaria.route.models.RouteOptimizationResponse;
+import com.agropecuaria.route.models.RouteRepairResponse;
+import com.agropecuaria.route.services.OptimizationMetrics;
+import com.agropecuaria.route.services.OptimizationMetrics.Phase;
+import io.micrometer.core.instrument.Timer;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+
+/**
+ * Mede a serialização das respostas de otimização, última fase da requisição
+ */
+@Provider
+public class SerializationMetricsInterceptor implements WriterInterceptor {
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        Object entity = context.getEntity();
+        int deliveries = deliveries(entity);
+        if (deliveries < 0) {
+            context.proceed();
+            return;
+        }
+
+        Timer.Sample sample = OptimizationMetrics.start();
+        try {
+            context.proceed();
+        } finally {
+            OptimizationMetrics.recordPhase(Phase.SERIALIZATION, deliveries, sample);
+        }
+    }
+
+    /**
+     * Número de entregas da resposta, ou -1 se não é uma resposta de otimização
+     */
+    private static int deliveries(Object entity) {
+        if (entity instanceof RouteOptimizationResponse) {
+            RouteOptimizationResponse response = (RouteOptimizationResponse) entity;
+            return response.getDeliveryOrder() != null ? response.getDeliveryOrder().size() : 0;
+        }
+        if (entity instanceof FleetOptimizationResponse) {
+            FleetOptimizationResponse response = (FleetOptimizationResponse) entity;
+            return response.getRoutes() == null ? 0 : response.getRoutes().stream()
+                    .mapToInt(route -> route.getDeliveryOrder() != null ? route.getDeliveryOrder().size() : 0)
+                    .sum();
+        }
+        if (entity instanceof RouteRepairResponse) {
+            RouteRepairResponse response = (RouteRepairResponse) entity;
+            return response.getDeliveryOrder() != null ? response.getDeliveryOrder().size() : 0;
+        }
+        return -1;
+    }
+}
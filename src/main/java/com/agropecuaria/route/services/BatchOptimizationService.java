@@ -0,0 +1,175 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.algorithms.GeneticRouteOptimizer;
+import com.agropecuaria.route.algorithms.OptimizationContext;
+import com.agropecuaria.route.models.BatchOptimizationResult;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+import com.agropecuaria.route.models.RouteOptimizationResponse;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Otimização de várias rotas independentes em uma única chamada.
+ *
+ * As requisições são validadas uma a uma e as já presentes no cache de resultados
+ * são respondidas de imediato. As matrizes de tempos das demais são buscadas em
+ * conjunto, com cada par calculado uma única vez, e suas otimizações são
+ * distribuídas em um pool com roubo de tarefas.
+ * Cada rota é emitida assim que termina; a falha de uma não afeta as outras.
+ */
+@ApplicationScoped
+public class BatchOptimizationService {
+
+    private static final Logger LOG = Logger.getLogger(BatchOptimizationService.class);
+
+    @Inject
+    GeneticRouteOptimizer routeOptimizer;
+
+    @Inject
+    Validator validator;
+
+    @Inject
+    OptimizationRequestValidator requestValidator;
+
+    @ConfigProperty(name = "route.optimization.batch.max-size", defaultValue = "100")
+    int maxSize;
+
+    @ConfigProperty(name = "route.optimization.batch.parallelism")
+    Optional<Integer> parallelism;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void init() {
+        // As threads herdam o class loader da aplicação: rotas grandes chamam o cliente reativo do Google Maps
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        pool = new ForkJoinPool(Math.max(1, parallelism.orElse(Runtime.getRuntime().availableProcessors())), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("optimization-batch-" + thread.getPoolIndex());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Otimiza as rotas do lote emitindo cada resultado assim que fica pronto, em qualquer ordem.
+     * Se o cliente cancelar a inscrição, as otimizações em andamento são encerradas.
+     */
+    public Multi<BatchOptimizationResult> optimize(List<RouteOptimizationRequest> requests) {
+        return Multi.createFrom().<BatchOptimizationResult>emitter(emitter -> {
+            List<OptimizationContext> running = new ArrayList<>();
+            emitter.onTermination(() -> {
+                synchronized (running) {
+                    running.forEach(OptimizationContext::cancel);
+                }
+            });
+            pool.execute(() -> {
+                try {
+                    run(requests, running, emitter);
+                } catch (Exception e) {
+                    LOG.error("Erro durante otimização em lote: " + e.getMessage(), e);
+                    emitter.fail(e);
+                }
+            });
+        });
+    }
+
+    private void run(List<RouteOptimizationRequest> requests, List<OptimizationContext> running,
+                     MultiEmitter<? super BatchOptimizationResult> emitter) {
+        // Requisições inválidas ou já em cache são respondidas antes de buscar as matrizes
+        List<Integer> pending = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            RouteOptimizationRequest request = requests.get(index);
+            String error = validate(request);
+            if (error != null) {
+                emitter.emit(new BatchOptimizationResult(index, null, error));
+                continue;
+            }
+            Optional<RouteOptimizationResponse> cached = routeOptimizer.cachedResponse(request);
+            if (cached.isPresent()) {
+                emitter.emit(new BatchOptimizationResult(index, cached.get(), null));
+            } else {
+                pending.add(index);
+            }
+        }
+        if (pending.isEmpty()) {
+            emitter.complete();
+            return;
+        }
+
+        List<OptimizationContext> contexts;
+        try {
+            contexts = routeOptimizer.prepareBatchContexts(
+                    pending.stream().map(requests::get).collect(Collectors.toList()));
+        } catch (Exception e) {
+            // Se a busca conjunta falhar, cada rota busca a sua
+            LOG.warn("Erro ao buscar as matrizes do lote, buscando por rota: " + e.getMessage());
+            contexts = pending.stream().map(i -> routeOptimizer.createContext(requests.get(i))).collect(Collectors.toList());
+        }
+        synchronized (running) {
+            running.addAll(contexts);
+        }
+
+        AtomicInteger remaining = new AtomicInteger(contexts.size());
+        for (int k = 0; k < contexts.size(); k++) {
+            int index = pending.get(k);
+            OptimizationContext context = contexts.get(k);
+            pool.execute(() -> {
+                try {
+                    emitter.emit(new BatchOptimizationResult(index, routeOptimizer.optimizeAndValidate(context), null));
+                } catch (Exception e) {
+                    LOG.error("Erro na rota " + index + " do lote: " + e.getMessage(), e);
+                    emitter.emit(new BatchOptimizationResult(index, null, "Erro durante otimização: " + e.getMessage()));
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    emitter.complete();
+                }
+            });
+        }
+    }
+
+    /**
+     * Mesmas validações do endpoint de otimização, feitas por requisição para isolar os erros
+     */
+    private String validate(RouteOptimizationRequest request) {
+        if (request == null) {
+            return "Requisição vazia";
+        }
+        Set<ConstraintViolation<RouteOptimizationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return requestValidator.validate(request);
+    }
+}
@@ -0,0 +1,30 @@
+package com.agropecuaria.route.services;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+
+/**
+ * Cliente reativo da Distance Matrix API, configurado em quarkus.rest-client.google-maps.
+ * As chamadas não bloqueiam: a resposta chega no event loop do Vert.x.
+ */
+@Path("/maps/api/distancematrix")
+@RegisterRestClient(configKey = "google-maps")
+public interface DistanceMatrixClient {
+
+    /**
+     * @param origins coordenadas "lat,lng" separadas por "|"
+     * @param destinations coordenadas "lat,lng" separadas por "|"
+     * @param key chave da API
+     */
+    @GET
+    @Path("/json")
+    @Produces(MediaType.APPLICATION_JSON)
+    Uni<DistanceMatrixResponse> distanceMatrix(@QueryParam("origins") String origins,
+                                               @QueryParam("destinations") String destinations,
+                                               @QueryParam("key") String key);
+}
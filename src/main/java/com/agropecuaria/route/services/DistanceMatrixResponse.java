@@ -0,0 +1,134 @@
+package com.agropecuaria.route.services;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Resposta da Distance Matrix API; apenas os campos usados pelo serviço
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DistanceMatrixResponse {
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("error_message")
+    private String errorMessage;
+
+    @JsonProperty("rows")
+    private List<Row> rows;
+
+    public boolean isOk() {
+        return "OK".equals(status);
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<Row> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Uma linha por origem, com um elemento por destino
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Row {
+
+        @JsonProperty("elements")
+        private List<Element> elements;
+
+        public List<Element> getElements() {
+            return elements;
+        }
+
+        public void setElements(List<Element> elements) {
+            this.elements = elements;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Element {
+
+        @JsonProperty("status")
+        private String status;
+
+        @JsonProperty("duration")
+        private Value duration;
+
+        @JsonProperty("distance")
+        private Value distance;
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public Value getDuration() {
+            return duration;
+        }
+
+        public void setDuration(Value duration) {
+            this.duration = duration;
+        }
+
+        public Value getDistance() {
+            return distance;
+        }
+
+        public void setDistance(Value distance) {
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * Valor numérico (segundos ou metros) e seu texto formatado
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Value {
+
+        @JsonProperty("value")
+        private long value;
+
+        @JsonProperty("text")
+        private String text;
+
+        public long getValue() {
+            return value;
+        }
+
+        public void setValue(long value) {
+            this.value = value;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+    }
+}
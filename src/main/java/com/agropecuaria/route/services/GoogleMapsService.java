@@ -1,99 +1,515 @@
 package com.agropecuaria.route.services;
 
 import com.agropecuaria.route.models.Location;
-import com.google.maps.DistanceMatrixApi;
-import com.google.maps.GeoApiContext;
-import com.google.maps.model.DistanceMatrix;
-import com.google.maps.model.DistanceMatrixElement;
-import com.google.maps.model.DistanceMatrixRow;
-import com.google.maps.model.LatLng;
+import com.agropecuaria.route.services.OptimizationMetrics.MatrixSource;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
- * Serviço para integração com Google Maps Distance Matrix API
+ * Serviço para integração com Google Maps Distance Matrix API.
+ *
+ * As chamadas usam o cliente REST reativo e não ocupam threads enquanto
+ * aguardam a resposta. Cada bloco da matriz tem timeout e novas tentativas com
+ * espera exponencial e variação aleatória; o disjuntor aberto após falhas
+ * seguidas faz os blocos usarem a distância em linha reta sem chamar a API.
  */
 @ApplicationScoped
 public class GoogleMapsService {
     
     private static final Logger LOG = Logger.getLogger(GoogleMapsService.class);
     
+    // Status da API que indicam falha passageira e merecem nova tentativa
+    private static final List<String> TRANSIENT_STATUSES = List.of("OVER_QUERY_LIMIT", "UNKNOWN_ERROR");
+    
     @ConfigProperty(name = "google.maps.api.key")
     String googleMapsApiKey;
     
-    private GeoApiContext context;
+    // Limites da Distance Matrix API por requisição
+    @ConfigProperty(name = "google.maps.matrix.max-elements", defaultValue = "100")
+    int maxElementsPerRequest;
+    
+    @ConfigProperty(name = "google.maps.matrix.max-dimension", defaultValue = "25")
+    int maxDimensionPerRequest;
+    
+    // Requisições simultâneas e limite de consultas por segundo
+    @ConfigProperty(name = "google.maps.matrix.parallelism", defaultValue = "4")
+    int fetchParallelism;
+    
+    @ConfigProperty(name = "google.maps.query-rate-limit", defaultValue = "50")
+    int queryRateLimit;
+    
+    // Tempo máximo de cada chamada e novas tentativas em falhas passageiras
+    @ConfigProperty(name = "google.maps.client.timeout", defaultValue = "10s")
+    Duration requestTimeout;
+    
+    @ConfigProperty(name = "google.maps.client.retries", defaultValue = "2")
+    int retries;
+    
+    @ConfigProperty(name = "google.maps.client.retry-backoff", defaultValue = "200ms")
+    Duration retryBackoff;
+    
+    @ConfigProperty(name = "google.maps.client.retry-max-backoff", defaultValue = "2s")
+    Duration retryMaxBackoff;
+    
+    @ConfigProperty(name = "google.maps.client.retry-jitter", defaultValue = "0.5")
+    double retryJitter;
+    
+    // Falhas seguidas que abrem o disjuntor e tempo até a chamada de teste
+    @ConfigProperty(name = "google.maps.circuit-breaker.failure-threshold", defaultValue = "5")
+    int breakerFailureThreshold;
+    
+    @ConfigProperty(name = "google.maps.circuit-breaker.open-duration", defaultValue = "30s")
+    Duration breakerOpenDuration;
     
-    public void init() {
-        if (context == null && googleMapsApiKey != null && !googleMapsApiKey.isEmpty()) {
-            context = new GeoApiContext.Builder()
-                    .apiKey(googleMapsApiKey)
-                    .build();
+    @Inject
+    @RestClient
+    DistanceMatrixClient distanceMatrixClient;
+    
+    @Inject
+    TravelTimeCache travelTimeCache;
+    
+    private CircuitBreaker circuitBreaker;
+    
+    // Próximo instante (nanos) liberado pelo limite de consultas por segundo
+    private final AtomicLong nextQuerySlot = new AtomicLong();
+    
+    // Total de matrizes calculadas desde o início do serviço
+    private final AtomicLong matrixComputations = new AtomicLong();
+    
+    public synchronized void init() {
+        if (circuitBreaker == null) {
+            circuitBreaker = new CircuitBreaker(breakerFailureThreshold, breakerOpenDuration);
         }
     }
     
     /**
-     * Calcula a matriz de distâncias e tempos entre todas as localizações
+     * Calcula a matriz de distâncias e tempos entre todas as localizações,
+     * bloqueando até o fim das chamadas. Não deve ser usado no event loop.
      * @param locations Lista de localizações
      * @return Matriz de tempos em minutos (locations x locations)
      */
     public double[][] calculateDistanceMatrix(List<Location> locations) {
+        return calculateDistanceMatrixAsync(locations).await().indefinitely();
+    }
+    
+    /**
+     * Calcula a matriz de tempos sem bloquear: consulta o cache e busca na API
+     * apenas os pares ausentes
+     * @param locations Lista de localizações
+     * @return Matriz de tempos em minutos (locations x locations)
+     */
+    public Uni<double[][]> calculateDistanceMatrixAsync(List<Location> locations) {
+        matrixComputations.incrementAndGet();
+        Timer.Sample sample = OptimizationMetrics.start();
+        // Localizações sem o início e o retorno
+        int deliveries = Math.max(0, locations.size() - 2);
+        
+        if (googleMapsApiKey == null || googleMapsApiKey.isEmpty()) {
+            LOG.warn("Google Maps API key not configured, using straight-line distances");
+            double[][] matrix = calculateStraightLineDistances(locations);
+            OptimizationMetrics.countFallback("no_api_key", deliveries);
+            OptimizationMetrics.countMatrixPairs(MatrixSource.HAVERSINE, deliveries, (long) locations.size() * (locations.size() - 1));
+            OptimizationMetrics.recordMatrix(MatrixSource.HAVERSINE, deliveries, sample);
+            return Uni.createFrom().item(matrix);
+        }
         init();
         
-        if (context == null) {
+        int size = locations.size();
+        double[][] timeMatrix = new double[size][size];
+        MissingPairs missing = new MissingPairs(size);
+        int cachedCount = 0;
+        
+        // Consulta o cache; apenas os pares ausentes vão para a API
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (i == j || travelTimeCache.isSamePoint(locations.get(i), locations.get(j))) {
+                    continue;
+                }
+                double cached = travelTimeCache.get(locations.get(i), locations.get(j));
+                if (Double.isNaN(cached)) {
+                    missing.add(i, j);
+                } else {
+                    timeMatrix[i][j] = cached;
+                    cachedCount++;
+                }
+            }
+        }
+        
+        OptimizationMetrics.countMatrixPairs(MatrixSource.CACHE, deliveries, cachedCount);
+        if (missing.isEmpty()) {
+            LOG.debug("Matriz de tempos obtida inteiramente do cache");
+            OptimizationMetrics.recordMatrix(MatrixSource.CACHE, deliveries, sample);
+            return Uni.createFrom().item(timeMatrix);
+        }
+        
+        int[][] destinations = missing.destinations();
+        return fetchMissingPairs(locations, deliveries, List.of(OriginGroup.of(destinations)), destinations,
+                        (i, j, minutes) -> timeMatrix[i][j] = minutes)
+                .map(done -> timeMatrix)
+                .invoke(matrix -> OptimizationMetrics.recordMatrix(MatrixSource.API, deliveries, sample))
+                .invoke(matrix -> {
+                    // A matriz inteira só é montada em texto com o nível DEBUG ativo
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Time matrix: " + Arrays.deepToString(matrix));
+                    }
+                });
+    }
+    
+    /**
+     * Calcula sem bloquear a matriz de tempos de cada rota de um lote. Localizações
+     * repetidas entre as rotas aparecem uma vez, e cada par distinto dentro de alguma
+     * rota é consultado no cache ou buscado na API uma única vez; pares entre rotas
+     * diferentes não são calculados e nenhuma matriz do tamanho do lote é criada
+     * @param routes Localizações de cada rota
+     * @return Matriz de tempos em minutos de cada rota, na ordem das rotas
+     */
+    public Uni<List<double[][]>> calculateDistanceMatricesAsync(List<List<Location>> routes) {
+        matrixComputations.incrementAndGet();
+        Timer.Sample sample = OptimizationMetrics.start();
+        int deliveries = routes.stream().mapToInt(route -> Math.max(0, route.size() - 2)).sum();
+        
+        // Índice de cada localização de cada rota na lista sem repetições
+        Map<String, Integer> indexes = new HashMap<>();
+        List<Location> combined = new ArrayList<>();
+        List<int[]> mappings = new ArrayList<>();
+        List<double[][]> matrices = new ArrayList<>();
+        for (List<Location> route : routes) {
+            mappings.add(route.stream()
+                    .mapToInt(location -> indexes.computeIfAbsent(
+                            location.getLatitude() + "," + location.getLongitude(),
+                            key -> {
+                                combined.add(location);
+                                return combined.size() - 1;
+                            }))
+                    .toArray());
+            matrices.add(new double[route.size()][route.size()]);
+        }
+        
+        if (googleMapsApiKey == null || googleMapsApiKey.isEmpty()) {
             LOG.warn("Google Maps API key not configured, using straight-line distances");
-            return calculateStraightLineDistances(locations);
+            HaversineMatrix haversine = new HaversineMatrix(combined);
+            long pairs = 0;
+            for (int r = 0; r < mappings.size(); r++) {
+                int[] mapping = mappings.get(r);
+                double[][] matrix = matrices.get(r);
+                for (int a = 0; a < mapping.length; a++) {
+                    for (int b = 0; b < mapping.length; b++) {
+                        if (mapping[a] != mapping[b]) {
+                            matrix[a][b] = haversine.minutes(mapping[a], mapping[b]);
+                            pairs++;
+                        }
+                    }
+                }
+            }
+            OptimizationMetrics.countFallback("no_api_key", deliveries);
+            OptimizationMetrics.countMatrixPairs(MatrixSource.HAVERSINE, deliveries, pairs);
+            OptimizationMetrics.recordMatrix(MatrixSource.HAVERSINE, deliveries, sample);
+            return Uni.createFrom().item(matrices);
         }
+        init();
         
-        try {
-            LatLng[] origins = locations.stream()
-                    .map(loc -> new LatLng(loc.getLatitude(), loc.getLongitude()))
-                    .toArray(LatLng[]::new);
-            
-            LatLng[] destinations = origins;
-            
-            DistanceMatrix matrix = DistanceMatrixApi.newRequest(context)
-                    .origins(origins)
-                    .destinations(destinations)
-                    .await();
-            
-            return parseDistanceMatrix(matrix);
-            
-        } catch (Exception e) {
-            LOG.error("Error calling Google Maps API: " + e.getMessage(), e);
-            // Fallback para cálculo de distância em linha reta
-            return calculateStraightLineDistances(locations);
+        // Consulta o cache; os pares ausentes de todas as rotas são reunidos por origem, sem repetição
+        MissingPairs missing = new MissingPairs(combined.size());
+        long cachedCount = 0;
+        for (int r = 0; r < mappings.size(); r++) {
+            int[] mapping = mappings.get(r);
+            double[][] matrix = matrices.get(r);
+            for (int a = 0; a < mapping.length; a++) {
+                for (int b = 0; b < mapping.length; b++) {
+                    int i = mapping[a];
+                    int j = mapping[b];
+                    if (i == j || travelTimeCache.isSamePoint(combined.get(i), combined.get(j))) {
+                        continue;
+                    }
+                    double cached = travelTimeCache.get(combined.get(i), combined.get(j));
+                    if (Double.isNaN(cached)) {
+                        missing.add(i, j);
+                    } else {
+                        matrix[a][b] = cached;
+                        cachedCount++;
+                    }
+                }
+            }
+        }
+        
+        OptimizationMetrics.countMatrixPairs(MatrixSource.CACHE, deliveries, cachedCount);
+        if (missing.isEmpty()) {
+            LOG.debug("Matrizes de tempos do lote obtidas inteiramente do cache");
+            OptimizationMetrics.recordMatrix(MatrixSource.CACHE, deliveries, sample);
+            return Uni.createFrom().item(matrices);
+        }
+        
+        // Tempos buscados, alinhados às listas de destinos ausentes de cada origem
+        int[][] destinations = missing.destinations();
+        double[][] fetched = new double[destinations.length][];
+        for (int i = 0; i < destinations.length; i++) {
+            fetched[i] = new double[destinations[i].length];
         }
+        
+        // Cada par ausente fica com a primeira rota que o usa e os blocos são montados por rota:
+        // uma faixa de origens nunca mistura rotas, então nenhum bloco pede pares entre rotas
+        boolean[][] claimed = new boolean[destinations.length][];
+        for (int i = 0; i < destinations.length; i++) {
+            claimed[i] = new boolean[destinations[i].length];
+        }
+        List<OriginGroup> groups = new ArrayList<>();
+        for (int[] mapping : mappings) {
+            int[] routeIndexes = IntStream.of(mapping).distinct().sorted().toArray();
+            List<Integer> origins = new ArrayList<>();
+            List<int[]> routeDestinations = new ArrayList<>();
+            for (int i : routeIndexes) {
+                int[] own = new int[routeIndexes.length];
+                int count = 0;
+                for (int j : routeIndexes) {
+                    int k = Arrays.binarySearch(destinations[i], j);
+                    if (k >= 0 && !claimed[i][k]) {
+                        claimed[i][k] = true;
+                        own[count++] = j;
+                    }
+                }
+                if (count > 0) {
+                    origins.add(i);
+                    routeDestinations.add(Arrays.copyOf(own, count));
+                }
+            }
+            if (!origins.isEmpty()) {
+                groups.add(new OriginGroup(origins.stream().mapToInt(Integer::intValue).toArray(),
+                        routeDestinations.toArray(new int[0][])));
+            }
+        }
+        
+        return fetchMissingPairs(combined, deliveries, groups, destinations,
+                        (i, j, minutes) -> fetched[i][Arrays.binarySearch(destinations[i], j)] = minutes)
+                .map(done -> {
+                    for (int r = 0; r < mappings.size(); r++) {
+                        int[] mapping = mappings.get(r);
+                        double[][] matrix = matrices.get(r);
+                        for (int a = 0; a < mapping.length; a++) {
+                            int i = mapping[a];
+                            for (int b = 0; b < mapping.length; b++) {
+                                int k = Arrays.binarySearch(destinations[i], mapping[b]);
+                                if (k >= 0) {
+                                    matrix[a][b] = fetched[i][k];
+                                }
+                            }
+                        }
+                    }
+                    return matrices;
+                })
+                .invoke(done -> OptimizationMetrics.recordMatrix(MatrixSource.API, deliveries, sample));
     }
     
     /**
-     * Calcula distâncias em linha reta quando Google Maps não está disponível
+     * Busca na API somente as origens e destinos que possuem pares ausentes do cache.
+     * As origens de cada grupo são divididas em faixas e cada faixa em blocos que
+     * respeitam o limite de elementos por requisição; os blocos são buscados
+     * concorrentemente e cada bloco que falhar recorre individualmente à distância
+     * em linha reta.
+     * @param groups origens com os destinos a buscar; uma faixa nunca junta grupos diferentes
+     * @param destinations todos os destinos ausentes de cada origem, em ordem crescente
      */
-    private double[][] calculateStraightLineDistances(List<Location> locations) {
-        int size = locations.size();
-        double[][] distances = new double[size][size];
+    private Uni<Void> fetchMissingPairs(List<Location> locations, int deliveries, List<OriginGroup> groups,
+                                        int[][] destinations, TravelTimeSink sink) {
+        // Dimensões do bloco: aproximadamente quadrado, dentro dos limites da API
+        int maxElements = Math.max(1, maxElementsPerRequest);
+        int maxDimension = Math.max(1, maxDimensionPerRequest);
         
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (i == j) {
-                    distances[i][j] = 0;
-                } else {
-                    Location loc1 = locations.get(i);
-                    Location loc2 = locations.get(j);
-                    double distanceKm = calculateHaversineDistance(
-                            loc1.getLatitude(), loc1.getLongitude(),
-                            loc2.getLatitude(), loc2.getLongitude()
-                    );
-                    // Converte para tempo assumindo velocidade média de 60 km/h
-                    distances[i][j] = (distanceKm / 60.0) * 60; // tempo em minutos
+        List<int[][]> tiles = new ArrayList<>();
+        for (OriginGroup group : groups) {
+            int[] origins = group.origins;
+            int rowsPerTile = Math.min(origins.length,
+                    Math.min(maxDimension, Math.max(1, (int) Math.sqrt(maxElements))));
+            int colsPerTile = Math.min(maxDimension, Math.max(1, maxElements / rowsPerTile));
+            
+            for (int row = 0; row < origins.length; row += rowsPerTile) {
+                int end = Math.min(row + rowsPerTile, origins.length);
+                int[] tileOrigins = Arrays.copyOfRange(origins, row, end);
+                // Apenas os destinos pedidos por estas origens
+                int[] rowDestinations = IntStream.range(row, end)
+                        .flatMap(k -> IntStream.of(group.destinations[k]))
+                        .distinct()
+                        .sorted()
+                        .toArray();
+                for (int col = 0; col < rowDestinations.length; col += colsPerTile) {
+                    int[] tileDestinations = Arrays.copyOfRange(rowDestinations, col,
+                            Math.min(col + colsPerTile, rowDestinations.length));
+                    tiles.add(new int[][] {tileOrigins, tileDestinations});
                 }
             }
         }
         
-        return distances;
+        return Multi.createFrom().iterable(tiles)
+                .onItem().transformToUni(tile -> fetchTile(locations, deliveries, tile[0], tile[1], destinations, sink))
+                .merge(Math.max(1, fetchParallelism))
+                .collect().asList()
+                .invoke(done -> LOG.debug("Matriz de tempos buscada em " + tiles.size() + " blocos de " +
+                        groups.size() + " grupos de origens"))
+                .replaceWithVoid();
+    }
+    
+    /**
+     * Busca um bloco da matriz; em caso de erro, ou com o disjuntor aberto, apenas
+     * este bloco usa distância em linha reta
+     */
+    private Uni<Void> fetchTile(List<Location> locations, int deliveries, int[] originIndexes,
+                                int[] destinationIndexes, int[][] destinations, TravelTimeSink sink) {
+        if (!circuitBreaker.allowRequest()) {
+            LOG.debug("Disjuntor da API aberto, bloco (" + originIndexes.length + "x" + destinationIndexes.length +
+                    ") usa distância em linha reta");
+            OptimizationMetrics.countFallback("circuit_open", deliveries);
+            fillStraightLine(locations, deliveries, originIndexes, destinationIndexes, destinations, sink);
+            return Uni.createFrom().voidItem();
+        }
+        
+        String origins = joinCoordinates(locations, originIndexes);
+        String destinationCoordinates = joinCoordinates(locations, destinationIndexes);
+        
+        return Uni.createFrom().deferred(this::awaitQuerySlot)
+                .chain(() -> distanceMatrixClient.distanceMatrix(origins, destinationCoordinates, googleMapsApiKey))
+                .ifNoItem().after(requestTimeout).failWith(TimeoutException::new)
+                .invoke(GoogleMapsService::checkStatus)
+                .onFailure(GoogleMapsService::isTransient).retry()
+                    .withBackOff(retryBackoff, retryMaxBackoff).withJitter(retryJitter).atMost(Math.max(0, retries))
+                .invoke(response -> {
+                    parseDistanceMatrix(response, locations, deliveries, originIndexes, destinationIndexes, destinations, sink);
+                    circuitBreaker.recordSuccess();
+                })
+                .replaceWithVoid()
+                .onFailure().recoverWithItem(e -> {
+                    circuitBreaker.recordFailure();
+                    OptimizationMetrics.countApiError(errorReason(e), deliveries);
+                    OptimizationMetrics.countFallback("api_error", deliveries);
+                    LOG.warn("Erro ao buscar bloco da matriz (" + originIndexes.length + "x" + destinationIndexes.length +
+                            "), usando distância em linha reta: " + e.getMessage());
+                    fillStraightLine(locations, deliveries, originIndexes, destinationIndexes, destinations, sink);
+                    return null;
+                });
+    }
+    
+    /**
+     * Espera o próximo instante permitido pelo limite de consultas por segundo
+     */
+    private Uni<Void> awaitQuerySlot() {
+        long interval = 1_000_000_000L / Math.max(1, queryRateLimit);
+        long now = System.nanoTime();
+        long slot = nextQuerySlot.getAndAccumulate(now, (next, current) -> Math.max(next, current) + interval);
+        long wait = Math.max(slot, now) - now;
+        if (wait <= 0) {
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.createFrom().voidItem().onItem().delayIt().by(Duration.ofNanos(wait));
+    }
+    
+    private static void checkStatus(DistanceMatrixResponse response) {
+        if (!response.isOk()) {
+            throw new DistanceMatrixException(response.getStatus(), response.getErrorMessage());
+        }
+    }
+    
+    /**
+     * Timeouts, falhas de conexão, erros 5xx e limites de cota são passageiros;
+     * chave inválida ou requisição recusada não melhoram com nova tentativa
+     */
+    private static boolean isTransient(Throwable failure) {
+        if (failure instanceof DistanceMatrixException) {
+            return TRANSIENT_STATUSES.contains(((DistanceMatrixException) failure).status);
+        }
+        if (failure instanceof WebApplicationException) {
+            int status = ((WebApplicationException) failure).getResponse().getStatus();
+            return status >= 500 || status == 429;
+        }
+        return failure instanceof TimeoutException
+                || failure instanceof IOException
+                || failure instanceof ProcessingException;
+    }
+    
+    /**
+     * Tag da falha: status da API, código HTTP ou tipo da exceção
+     */
+    private static String errorReason(Throwable failure) {
+        if (failure instanceof DistanceMatrixException) {
+            return ((DistanceMatrixException) failure).status;
+        }
+        if (failure instanceof WebApplicationException) {
+            return "HTTP_" + ((WebApplicationException) failure).getResponse().getStatus();
+        }
+        return failure.getClass().getSimpleName();
+    }
+    
+    private void fillStraightLine(List<Location> locations, int deliveries, int[] originIndexes,
+                                  int[] destinationIndexes, int[][] destinations, TravelTimeSink sink) {
+        HaversineMatrix haversine = new HaversineMatrix(locations);
+        long pairs = 0;
+        for (int i : originIndexes) {
+            for (int j : destinationIndexes) {
+                if (Arrays.binarySearch(destinations[i], j) >= 0) {
+                    sink.put(i, j, haversine.minutes(i, j));
+                    pairs++;
+                }
+            }
+        }
+        OptimizationMetrics.countMatrixPairs(MatrixSource.HAVERSINE, deliveries, pairs);
+    }
+    
+    private static String joinCoordinates(List<Location> locations, int[] indexes) {
+        return Arrays.stream(indexes)
+                .mapToObj(i -> String.format(Locale.ROOT, "%.6f,%.6f",
+                        locations.get(i).getLatitude(), locations.get(i).getLongitude()))
+                .collect(Collectors.joining("|"));
+    }
+    
+    /**
+     * Estado atual do disjuntor da API
+     */
+    public CircuitBreaker.State getCircuitBreakerState() {
+        init();
+        return circuitBreaker.getState();
+    }
+    
+    /**
+     * Número de matrizes de tempo calculadas desde o início do serviço
+     */
+    public long getMatrixComputationCount() {
+        return matrixComputations.get();
+    }
+    
+    /**
+     * Calcula distâncias em linha reta quando Google Maps não está disponível
+     */
+    private double[][] calculateStraightLineDistances(List<Location> locations) {
+        return new HaversineMatrix(locations).minutesMatrix();
+    }
+    
+    /**
+     * Tempo em linha reta entre duas localizações, assumindo velocidade média de 60 km/h
+     */
+    public double straightLineMinutes(Location from, Location to) {
+        double distanceKm = calculateHaversineDistance(
+                from.getLatitude(), from.getLongitude(),
+                to.getLatitude(), to.getLongitude()
+        );
+        return (distanceKm / 60.0) * 60; // tempo em minutos
     }
     
     /**
@@ -113,27 +529,126 @@ public class GoogleMapsService {
     }
     
     /**
-     * Converte a resposta da API do Google Maps para matriz de tempos
+     * Converte a resposta da API do Google Maps para a matriz de tempos, guardando os pares no cache
      */
-    private double[][] parseDistanceMatrix(DistanceMatrix matrix) {
-        DistanceMatrixRow[] rows = matrix.rows;
-        int size = rows.length;
-        double[][] timeMatrix = new double[size][size];
+    private void parseDistanceMatrix(DistanceMatrixResponse matrix, List<Location> locations, int deliveries,
+                                     int[] originIndexes, int[] destinationIndexes,
+                                     int[][] destinations, TravelTimeSink sink) {
+        List<DistanceMatrixResponse.Row> rows = matrix.getRows();
+        long pairs = 0;
         
-        for (int i = 0; i < size; i++) {
-            DistanceMatrixElement[] elements = rows[i].elements;
-            for (int j = 0; j < elements.length; j++) {
-                if (elements[j].duration != null) {
+        for (int r = 0; r < rows.size(); r++) {
+            int i = originIndexes[r];
+            List<DistanceMatrixResponse.Element> elements = rows.get(r).getElements();
+            for (int c = 0; c < elements.size(); c++) {
+                int j = destinationIndexes[c];
+                if (Arrays.binarySearch(destinations[i], j) < 0) {
+                    continue;
+                }
+                DistanceMatrixResponse.Element element = elements.get(c);
+                if (element.getDuration() != null) {
                     // Converte de segundos para minutos
-                    timeMatrix[i][j] = elements[j].duration.inSeconds / 60.0;
+                    double minutes = element.getDuration().getValue() / 60.0;
+                    sink.put(i, j, minutes);
+                    travelTimeCache.put(locations.get(i), locations.get(j), minutes);
+                    pairs++;
                 } else {
-                    // Se não conseguir obter o tempo, usa distância em linha reta
-                    timeMatrix[i][j] = Double.MAX_VALUE;
+                    // Se não conseguir obter o tempo, marca o par como inalcançável
+                    sink.put(i, j, Double.MAX_VALUE);
                 }
             }
         }
-        LOG.info("Time matrix: " + Arrays.deepToString(timeMatrix));
-        return timeMatrix;
+
+        OptimizationMetrics.countMatrixPairs(MatrixSource.API, deliveries, pairs);
+    }
+    
+    /**
+     * Destino dos tempos obtidos para os pares ausentes do cache
+     */
+    @FunctionalInterface
+    private interface TravelTimeSink {
+        void put(int origin, int destination, double minutes);
+    }
+    
+    /**
+     * Origens buscadas em conjunto (uma rota do lote) e os destinos que cada uma busca
+     */
+    private static final class OriginGroup {
+        
+        final int[] origins;
+        final int[][] destinations; // Destinos de cada origem, na ordem de origins
+        
+        OriginGroup(int[] origins, int[][] destinations) {
+            this.origins = origins;
+            this.destinations = destinations;
+        }
+        
+        /**
+         * Um só grupo com todas as origens que têm destinos ausentes
+         */
+        static OriginGroup of(int[][] destinations) {
+            int[] origins = IntStream.range(0, destinations.length).filter(i -> destinations[i].length > 0).toArray();
+            int[][] own = new int[origins.length][];
+            for (int k = 0; k < origins.length; k++) {
+                own[k] = destinations[origins[k]];
+            }
+            return new OriginGroup(origins, own);
+        }
+    }
+    
+    /**
+     * Pares ausentes do cache agrupados por origem, sem repetição
+     */
+    private static final class MissingPairs {
+        
+        private final int[][] destinations;
+        private final int[] counts;
+        private boolean empty = true;
+        
+        MissingPairs(int size) {
+            this.destinations = new int[size][];
+            this.counts = new int[size];
+        }
+        
+        void add(int origin, int destination) {
+            int[] list = destinations[origin];
+            if (list == null) {
+                list = destinations[origin] = new int[8];
+            } else if (counts[origin] == list.length) {
+                list = destinations[origin] = Arrays.copyOf(list, list.length * 2);
+            }
+            list[counts[origin]++] = destination;
+            empty = false;
+        }
+        
+        boolean isEmpty() {
+            return empty;
+        }
+        
+        /**
+         * Destinos ausentes de cada origem, em ordem crescente (vazio se não há nenhum)
+         */
+        int[][] destinations() {
+            int[][] sorted = new int[destinations.length][];
+            for (int i = 0; i < destinations.length; i++) {
+                sorted[i] = destinations[i] == null ? new int[0]
+                        : IntStream.of(Arrays.copyOf(destinations[i], counts[i])).sorted().distinct().toArray();
+            }
+            return sorted;
+        }
+    }
+    
+    /**
+     * Status de erro devolvido pela API em uma resposta HTTP bem-sucedida
+     */
+    static final class DistanceMatrixException extends RuntimeException {
+        
+        private final String status;
+        
+        DistanceMatrixException(String status, String message) {
+            super(message == null ? status : status + ": " + message);
+            this.status = status;
+        }
     }
     
     /**
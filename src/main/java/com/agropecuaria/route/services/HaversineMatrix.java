@@ -0,0 +1,91 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.models.Location;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Distâncias em linha reta (Haversine) entre todas as localizações, usadas
+ * quando a Distance Matrix API não está disponível.
+ *
+ * Senos e cossenos das meias latitudes e longitudes são calculados uma única
+ * vez por localização, em arrays primitivos; por identidade trigonométrica
+ * cada par só precisa de multiplicações e de um arco-seno. A distância é
+ * simétrica, então apenas o triângulo superior é calculado e espelhado, e a
+ * partir de {@link #PARALLEL_MIN_SIZE} localizações as linhas são divididas
+ * entre as threads do pool comum.
+ */
+final class HaversineMatrix {
+
+    static final double EARTH_RADIUS_KM = 6371;
+
+    // Abaixo disso o custo de dividir as linhas supera o ganho
+    static final int PARALLEL_MIN_SIZE = 256;
+
+    private final int size;
+    private final double[] sinHalfLatitude;
+    private final double[] cosHalfLatitude;
+    private final double[] cosLatitude;
+    private final double[] sinHalfLongitude;
+    private final double[] cosHalfLongitude;
+
+    HaversineMatrix(List<Location> locations) {
+        this.size = locations.size();
+        this.sinHalfLatitude = new double[size];
+        this.cosHalfLatitude = new double[size];
+        this.cosLatitude = new double[size];
+        this.sinHalfLongitude = new double[size];
+        this.cosHalfLongitude = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            Location location = locations.get(i);
+            double latitude = Math.toRadians(location.getLatitude());
+            double longitude = Math.toRadians(location.getLongitude());
+            sinHalfLatitude[i] = Math.sin(latitude / 2);
+            cosHalfLatitude[i] = Math.cos(latitude / 2);
+            cosLatitude[i] = Math.cos(latitude);
+            sinHalfLongitude[i] = Math.sin(longitude / 2);
+            cosHalfLongitude[i] = Math.cos(longitude / 2);
+        }
+    }
+
+    /**
+     * Distância em km entre as localizações i e j
+     */
+    double distanceKm(int i, int j) {
+        // sin((b - a) / 2) = sin(b/2)·cos(a/2) - cos(b/2)·sin(a/2)
+        double sinLatitude = sinHalfLatitude[j] * cosHalfLatitude[i] - cosHalfLatitude[j] * sinHalfLatitude[i];
+        double sinLongitude = sinHalfLongitude[j] * cosHalfLongitude[i] - cosHalfLongitude[j] * sinHalfLongitude[i];
+        double a = sinLatitude * sinLatitude + cosLatitude[i] * cosLatitude[j] * sinLongitude * sinLongitude;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Tempo em minutos entre as localizações i e j, a 60 km/h
+     */
+    double minutes(int i, int j) {
+        return distanceKm(i, j);
+    }
+
+    /**
+     * Matriz completa de tempos em minutos, com diagonal zero
+     */
+    double[][] minutesMatrix() {
+        double[][] matrix = new double[size][size];
+        IntStream rows = IntStream.range(0, size);
+        if (size >= PARALLEL_MIN_SIZE) {
+            rows = rows.parallel();
+        }
+        // Cada linha escreve só as células (i, j) e (j, i) com j > i, disjuntas entre linhas
+        rows.forEach(i -> {
+            double[] row = matrix[i];
+            for (int j = i + 1; j < size; j++) {
+                double minutes = minutes(i, j);
+                row[j] = minutes;
+                matrix[j][i] = minutes;
+            }
+        });
+        return matrix;
+    }
+}
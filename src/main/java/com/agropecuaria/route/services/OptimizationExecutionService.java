@@ -0,0 +1,125 @@
+package com.agropecuaria.route.services;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Execução das otimizações síncronas em duas fases.
+ *
+ * No modo padrão, as duas fases rodam em sequência no pool de workers do
+ * Quarkus. Com threads virtuais habilitadas, a fase de E/S (matriz de tempos)
+ * roda em uma thread virtual e a fase de CPU (algoritmo genético) em um pool
+ * de threads de plataforma do tamanho dos núcleos. A admissão é limitada a
+ * uma requisição por thread do pool mais a fila configurada: acima disso a
+ * requisição falha imediatamente com {@link RejectedExecutionException}, em
+ * vez de esperar na fila e estourar a latência.
+ */
+@ApplicationScoped
+public class OptimizationExecutionService {
+
+    private static final Logger LOG = Logger.getLogger(OptimizationExecutionService.class);
+
+    @ConfigProperty(name = "route.optimization.execution.virtual-threads", defaultValue = "false")
+    boolean virtualThreads;
+
+    // Threads do pool de CPU (padrão: número de núcleos)
+    @ConfigProperty(name = "route.optimization.execution.cpu-threads")
+    Optional<Integer> cpuThreads;
+
+    // Requisições admitidas além das que já ocupam uma thread do pool de CPU
+    @ConfigProperty(name = "route.optimization.execution.max-queued", defaultValue = "8")
+    int maxQueued;
+
+    private ExecutorService ioExecutor;
+    private ThreadPoolExecutor cpuExecutor;
+    private Semaphore admissions;
+
+    @PostConstruct
+    void init() {
+        if (!virtualThreads) {
+            return;
+        }
+
+        int threads = Math.max(1, cpuThreads.orElse(Runtime.getRuntime().availableProcessors()));
+        ioExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("optimization-io-", 1).factory());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        cpuExecutor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "optimization-cpu-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        admissions = new Semaphore(threads + Math.max(0, maxQueued));
+        LOG.info("Otimizações com E/S em threads virtuais e " + threads + " threads de CPU (fila: " + maxQueued + ")");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ioExecutor != null) {
+            ioExecutor.shutdownNow();
+        }
+        if (cpuExecutor != null) {
+            cpuExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Executa a fase de E/S e, com o resultado dela, a fase de CPU
+     *
+     * @param io prepara os dados (ex.: contexto com a matriz de tempos)
+     * @param cpu otimiza a partir dos dados preparados
+     * @return resultado da fase de CPU; falha com {@link RejectedExecutionException} se não houver vaga
+     */
+    public <T, R> Uni<R> execute(Supplier<T> io, Function<T, R> cpu) {
+        if (!virtualThreads) {
+            return Uni.createFrom().item(() -> cpu.apply(io.get()))
+                    .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+        }
+
+        if (!admissions.tryAcquire()) {
+            return Uni.createFrom().failure(new RejectedExecutionException(
+                    "Limite de otimizações simultâneas atingido (" + getInFlight() + " em andamento)"));
+        }
+
+        return Uni.createFrom().item(io)
+                .runSubscriptionOn(ioExecutor)
+                .chain(prepared -> Uni.createFrom().item(() -> cpu.apply(prepared))
+                        .runSubscriptionOn(cpuExecutor))
+                .onTermination().invoke(admissions::release);
+    }
+
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreads;
+    }
+
+    /**
+     * Requisições admitidas e ainda não concluídas (apenas no modo com threads virtuais)
+     */
+    public int getInFlight() {
+        if (cpuExecutor == null) {
+            return 0;
+        }
+        return cpuExecutor.getMaximumPoolSize() + Math.max(0, maxQueued) - admissions.availablePermits();
+    }
+}
@@ -0,0 +1,357 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.algorithms.GeneticRouteOptimizer;
+import com.agropecuaria.route.algorithms.OptimizationContext;
+import com.agropecuaria.route.models.OptimizationJobStatus;
+import com.agropecuaria.route.models.OptimizationJobStatus.State;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+import com.agropecuaria.route.models.RouteOptimizationResponse;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Otimizações assíncronas: cada requisição vira um job executado em um pool
+ * dedicado com fila limitada, liberando a conexão HTTP imediatamente.
+ *
+ * O job recebe o melhor resultado parcial a cada lote de gerações, que pode
+ * ser consultado ou acompanhado por eventos; o cancelamento encerra a evolução
+ * na geração seguinte. Jobs encerrados ficam disponíveis pelo tempo de retenção.
+ *
+ * O mesmo pool atende o streaming de rotas parciais, que não guarda estado:
+ * a otimização vive enquanto o cliente estiver inscrito.
+ */
+@ApplicationScoped
+public class OptimizationJobService {
+
+    private static final Logger LOG = Logger.getLogger(OptimizationJobService.class);
+
+    @Inject
+    GeneticRouteOptimizer routeOptimizer;
+
+    @ConfigProperty(name = "route.optimization.jobs.threads", defaultValue = "2")
+    int threads;
+
+    @ConfigProperty(name = "route.optimization.jobs.queue-capacity", defaultValue = "16")
+    int queueCapacity;
+
+    @ConfigProperty(name = "route.optimization.jobs.retention", defaultValue = "15m")
+    Duration retention;
+
+    // Intervalo mínimo entre rotas parciais emitidas pelo streaming
+    @ConfigProperty(name = "route.optimization.stream.min-interval", defaultValue = "500ms")
+    Duration streamMinInterval;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                Math.max(1, threads), Math.max(1, threads), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "optimization-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(job -> job.context.cancel());
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Enfileira a otimização e retorna o job imediatamente
+     *
+     * @throws RejectedExecutionException se a fila de jobs estiver cheia
+     */
+    public OptimizationJobStatus submit(RouteOptimizationRequest request) {
+        purgeExpired();
+
+        Job job = new Job(UUID.randomUUID().toString(), routeOptimizer.createContext(request));
+        job.context.setProgressListener(job::progress);
+        job.task = () -> run(job);
+
+        jobs.put(job.id, job);
+        try {
+            executor.execute(job.task);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+
+        LOG.info("Job " + job.id + " enfileirado com " + request.getDeliveries().size() + " entregas");
+        return job.snapshot();
+    }
+
+    /**
+     * Situação atual do job, se existir
+     */
+    public Optional<OptimizationJobStatus> status(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::snapshot);
+    }
+
+    /**
+     * Cancela o job: se ainda está na fila não chega a executar; se está em execução,
+     * a evolução encerra na geração seguinte mantendo a melhor rota encontrada
+     */
+    public Optional<OptimizationJobStatus> cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+
+        if (job.cancel()) {
+            executor.remove(job.task);
+        }
+        LOG.info("Cancelamento solicitado para o job " + jobId);
+        return Optional.of(job.snapshot());
+    }
+
+    /**
+     * Eventos do job: a situação atual e, a seguir, cada progresso até o fim da execução
+     */
+    public Optional<Multi<OptimizationJobStatus>> events(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Multi.createFrom().<OptimizationJobStatus>emitter(job::subscribe));
+    }
+
+    /**
+     * Otimiza emitindo cada melhoria da rota, no máximo uma a cada intervalo mínimo, e por
+     * fim a resposta completa. Se o cliente cancelar a inscrição a evolução é encerrada.
+     * Falha com {@link RejectedExecutionException} se a fila estiver cheia.
+     */
+    public Multi<RouteOptimizationResponse> stream(RouteOptimizationRequest request) {
+        return Multi.createFrom().<RouteOptimizationResponse>emitter(emitter -> {
+            OptimizationContext context = routeOptimizer.createContext(request);
+            ImprovementThrottle throttle = new ImprovementThrottle(streamMinInterval.toNanos());
+            context.setProgressListener((generation, bestCost, bestRoute) -> {
+                if (throttle.offer(bestCost)) {
+                    emitter.emit(routeOptimizer.partialResponse(context, generation, bestRoute));
+                }
+            });
+            emitter.onTermination(context::cancel);
+
+            try {
+                executor.execute(() -> {
+                    try {
+                        RouteOptimizationResponse response = routeOptimizer.cachedResponse(request)
+                                .orElseGet(() -> routeOptimizer.optimizeAndValidate(context));
+                        response.setPartial(false);
+                        emitter.emit(response);
+                        emitter.complete();
+                    } catch (Exception e) {
+                        LOG.error("Erro durante otimização em streaming: " + e.getMessage(), e);
+                        emitter.fail(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                emitter.fail(e);
+            }
+        });
+    }
+
+    private void run(Job job) {
+        if (!job.start()) {
+            return; // Cancelado enquanto aguardava na fila
+        }
+
+        try {
+            RouteOptimizationRequest request = job.context.getRequest();
+            job.finish(routeOptimizer.cachedResponse(request)
+                    .orElseGet(() -> routeOptimizer.optimizeAndValidate(job.context)));
+        } catch (Exception e) {
+            LOG.error("Erro durante o job " + job.id + ": " + e.getMessage(), e);
+            job.fail(e);
+        }
+    }
+
+    /**
+     * Remove jobs encerrados há mais tempo que a retenção configurada
+     */
+    private void purgeExpired() {
+        long limit = System.currentTimeMillis() - retention.toMillis();
+        jobs.values().removeIf(job -> job.isExpired(limit));
+    }
+
+    /**
+     * Aceita um custo apenas se melhora o último aceito e se o intervalo mínimo já passou;
+     * uma melhoria barrada é aceita no próximo relato, que traz o melhor custo atual
+     */
+    private static final class ImprovementThrottle {
+
+        private final long minIntervalNanos;
+        private double lastCost = Double.POSITIVE_INFINITY;
+        private long lastNanos;
+        private boolean emitted;
+
+        ImprovementThrottle(long minIntervalNanos) {
+            this.minIntervalNanos = minIntervalNanos;
+        }
+
+        synchronized boolean offer(double cost) {
+            long now = System.nanoTime();
+            if (cost >= lastCost || (emitted && now - lastNanos < minIntervalNanos)) {
+                return false;
+            }
+            lastCost = cost;
+            lastNanos = now;
+            emitted = true;
+            return true;
+        }
+    }
+
+    /**
+     * Estado mutável de um job; todo acesso é sincronizado no próprio job
+     */
+    private static final class Job {
+
+        private final String id;
+        private final OptimizationContext context;
+        private final long submittedAt = System.currentTimeMillis();
+        private final List<MultiEmitter<? super OptimizationJobStatus>> subscribers = new ArrayList<>();
+        private Runnable task;
+
+        private State state = State.QUEUED;
+        private Long generation;
+        private Double bestCost;
+        private List<Integer> bestRoute;
+        private RouteOptimizationResponse result;
+        private String message = "Aguardando execução";
+        private Long finishedAt;
+
+        Job(String id, OptimizationContext context) {
+            this.id = id;
+            this.context = context;
+        }
+
+        synchronized boolean start() {
+            if (state != State.QUEUED) {
+                return false;
+            }
+            state = State.RUNNING;
+            message = "Otimização em andamento";
+            publish();
+            return true;
+        }
+
+        synchronized void progress(long generation, double cost, List<Integer> route) {
+            if (state != State.RUNNING) {
+                return;
+            }
+            this.generation = this.generation == null ? generation : Math.max(this.generation, generation);
+            if (bestCost == null || cost < bestCost) {
+                bestCost = cost;
+                bestRoute = List.copyOf(route);
+            }
+            publish();
+        }
+
+        synchronized void finish(RouteOptimizationResponse response) {
+            result = response;
+            if (response.getOptimizedRoute() != null) {
+                bestRoute = List.copyOf(response.getOptimizedRoute());
+            }
+            if (response.getGenerationsExecuted() != null) {
+                generation = response.getGenerationsExecuted();
+            }
+            state = context.isCancelled() ? State.CANCELLED : State.COMPLETED;
+            message = response.getMessage();
+            close();
+        }
+
+        synchronized void fail(Exception e) {
+            state = State.FAILED;
+            message = "Erro durante otimização: " + e.getMessage();
+            close();
+        }
+
+        /**
+         * @return true se o job ainda estava na fila
+         */
+        synchronized boolean cancel() {
+            context.cancel();
+            if (state != State.QUEUED) {
+                return false;
+            }
+            state = State.CANCELLED;
+            message = "Cancelado antes de iniciar";
+            close();
+            return true;
+        }
+
+        synchronized void subscribe(MultiEmitter<? super OptimizationJobStatus> emitter) {
+            emitter.emit(snapshot());
+            if (state.isFinished()) {
+                emitter.complete();
+                return;
+            }
+            subscribers.add(emitter);
+            emitter.onTermination(() -> unsubscribe(emitter));
+        }
+
+        private synchronized void unsubscribe(MultiEmitter<? super OptimizationJobStatus> emitter) {
+            subscribers.remove(emitter);
+        }
+
+        synchronized boolean isExpired(long limit) {
+            return finishedAt != null && finishedAt < limit;
+        }
+
+        synchronized OptimizationJobStatus snapshot() {
+            OptimizationJobStatus status = new OptimizationJobStatus();
+            status.setJobId(id);
+            status.setState(state);
+            status.setGeneration(generation);
+            status.setBestCost(bestCost);
+            status.setBestRoute(bestRoute);
+            status.setResult(result);
+            status.setMessage(message);
+            status.setSubmittedAt(submittedAt);
+            status.setFinishedAt(finishedAt);
+            return status;
+        }
+
+        private void publish() {
+            OptimizationJobStatus status = snapshot();
+            for (MultiEmitter<? super OptimizationJobStatus> subscriber : List.copyOf(subscribers)) {
+                subscriber.emit(status);
+            }
+        }
+
+        private void close() {
+            finishedAt = System.currentTimeMillis();
+            publish();
+            List.copyOf(subscribers).forEach(MultiEmitter::complete);
+            subscribers.clear();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.agropecuaria.route.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Métricas das fases da otimização, publicadas pelo Quarkus no endpoint Prometheus (/q/metrics).
+ *
+ * Usa o registro global do Micrometer, ao qual o Quarkus liga o registro Prometheus;
+ * fora do Quarkus (testes unitários, benchmarks) as medições são descartadas. Tempos
+ * e contadores levam a faixa do número de entregas, para acompanhar como a latência
+ * cresce com o tamanho da instância.
+ */
+public final class OptimizationMetrics {
+
+    /**
+     * Fases medidas de uma otimização
+     */
+    public enum Phase {
+        FEASIBILITY,
+        EVOLUTION,
+        SPOILAGE_VALIDATION,
+        SERIALIZATION
+    }
+
+    /**
+     * Origem dos tempos de viagem da matriz
+     */
+    public enum MatrixSource {
+        /** Ao menos parte dos pares veio da Distance Matrix API */
+        API,
+        /** Todos os pares vieram do cache de tempos */
+        CACHE,
+        /** Distância em linha reta (sem chave, disjuntor aberto ou erro da API) */
+        HAVERSINE
+    }
+
+    // Limites superiores das faixas de número de entregas
+    private static final int[] DELIVERY_BUCKETS = {10, 25, 50, 100, 250};
+
+    private static final double[] FRACTION_BUCKETS = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 1.0};
+
+    static MeterRegistry registry = Metrics.globalRegistry;
+
+    private OptimizationMetrics() {}
+
+    public static Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public static void recordPhase(Phase phase, int deliveries, Timer.Sample sample) {
+        sample.stop(Timer.builder("route.optimization.phase")
+                .description("Duração de cada fase da otimização")
+                .tag("phase", tagValue(phase))
+                .tag("deliveries", deliveryBucket(deliveries))
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public static <T> T timePhase(Phase phase, int deliveries, Supplier<T> action) {
+        Timer.Sample sample = start();
+        try {
+            return action.get();
+        } finally {
+            recordPhase(phase, deliveries, sample);
+        }
+    }
+
+    public static void recordMatrix(MatrixSource source, int deliveries, Timer.Sample sample) {
+        sample.stop(Timer.builder("route.optimization.matrix")
+                .description("Duração da obtenção da matriz de tempos")
+                .tag("source", tagValue(source))
+                .tag("deliveries", deliveryBucket(deliveries))
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    /**
+     * Pares da matriz obtidos de cada origem
+     */
+    public static void countMatrixPairs(MatrixSource source, int deliveries, long pairs) {
+        if (pairs > 0) {
+            Counter.builder("route.optimization.matrix.pairs")
+                    .description("Pares de tempos de viagem por origem")
+                    .tag("source", tagValue(source))
+                    .tag("deliveries", deliveryBucket(deliveries))
+                    .register(registry)
+                    .increment(pairs);
+        }
+    }
+
+    public static void countEvolution(int deliveries, long generations, long evaluations) {
+        String bucket = deliveryBucket(deliveries);
+        Counter.builder("route.optimization.generations")
+                .description("Gerações executadas pelo algoritmo genético")
+                .tag("deliveries", bucket)
+                .register(registry)
+                .increment(generations);
+        Counter.builder("route.optimization.fitness.evaluations")
+                .description("Avaliações da função de aptidão")
+                .tag("deliveries", bucket)
+                .register(registry)
+                .increment(evaluations);
+    }
+
+    /**
+     * Convergência de uma execução: gerações executadas, geração em que o melhor custo final
+     * apareceu, fração da execução até ele, diversidade final e o tempo de avaliação de cada geração
+     */
+    public static void recordConvergence(int deliveries, long generations, long bestGeneration,
+                                         double finalDiversity, long[] evaluationNanos) {
+        if (generations == 0) {
+            return;
+        }
+        String bucket = deliveryBucket(deliveries);
+        summary("route.optimization.generations.executed", "Gerações executadas por evolução", bucket)
+                .record(generations);
+        summary("route.optimization.best.generation", "Geração em que o melhor custo final apareceu", bucket)
+                .record(bestGeneration);
+        fraction("route.optimization.convergence.ratio",
+                "Fração das gerações executadas até o melhor custo final", bucket)
+                .record((double) bestGeneration / generations);
+        if (!Double.isNaN(finalDiversity)) {
+            fraction("route.optimization.population.diversity",
+                    "Proporção de custos distintos na última geração", bucket)
+                    .record(finalDiversity);
+        }
+
+        Timer evaluation = Timer.builder("route.optimization.generation.evaluation")
+                .description("Tempo de avaliação da aptidão por geração")
+                .tag("deliveries", bucket)
+                .publishPercentileHistogram()
+                .register(registry);
+        for (long nanos : evaluationNanos) {
+            evaluation.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Falha de uma chamada à Distance Matrix API, pelo status da API ou tipo de exceção
+     */
+    public static void countApiError(String reason, int deliveries) {
+        Counter.builder("google.maps.api.errors")
+                .description("Falhas de chamadas à Distance Matrix API")
+                .tag("reason", reason)
+                .tag("deliveries", deliveryBucket(deliveries))
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Bloco ou matriz calculado em linha reta em vez da API
+     */
+    public static void countFallback(String reason, int deliveries) {
+        Counter.builder("google.maps.fallbacks")
+                .description("Recursos à distância em linha reta")
+                .tag("reason", reason)
+                .tag("deliveries", deliveryBucket(deliveries))
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Faixa do número de entregas usada como tag ("1-10", "11-25", ..., "251+")
+     */
+    static String deliveryBucket(int deliveries) {
+        int lower = 1;
+        for (int upper : DELIVERY_BUCKETS) {
+            if (deliveries <= upper) {
+                return lower + "-" + upper;
+            }
+            lower = upper + 1;
+        }
+        return lower + "+";
+    }
+
+    private static DistributionSummary summary(String name, String description, String bucket) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("deliveries", bucket)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Proporções entre 0 e 1, em faixas de 0,1 (o histograma padrão começa em 1)
+     */
+    private static DistributionSummary fraction(String name, String description, String bucket) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("deliveries", bucket)
+                .serviceLevelObjectives(FRACTION_BUCKETS)
+                .register(registry);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,53 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.algorithms.GeneticRouteOptimizer;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Validações de uma requisição de otimização compartilhadas pelos endpoints
+ * (rota única, streaming, jobs, lote e frota).
+ *
+ * Os limites de tamanho são verificados antes de buscar a matriz de tempos:
+ * a frota usa sempre uma matriz densa, por isso aceita menos entregas que a
+ * rota única, cujas rotas grandes seguem pelo caminho agrupado.
+ */
+@ApplicationScoped
+public class OptimizationRequestValidator {
+
+    @Inject
+    GeneticRouteOptimizer routeOptimizer;
+
+    @ConfigProperty(name = "route.optimization.max-deliveries", defaultValue = "1000")
+    int maxDeliveries;
+
+    @ConfigProperty(name = "route.optimization.large.min-deliveries", defaultValue = "150")
+    int largeMinDeliveries;
+
+    /**
+     * Mensagem de erro da requisição, ou nulo se ela é válida
+     */
+    public String validate(RouteOptimizationRequest request) {
+        int deliveries = request.getDeliveries() == null ? 0 : request.getDeliveries().size();
+        if (deliveries > maxDeliveries) {
+            return "Número máximo de entregas por rota excedido (máximo: " + maxDeliveries + ")";
+        }
+        if (!routeOptimizer.hasProfile(request.getProfile())) {
+            return "Perfil de otimização desconhecido: " + request.getProfile();
+        }
+        return null;
+    }
+
+    /**
+     * Como {@link #validate}, com a frota limitada abaixo do tamanho das rotas grandes
+     */
+    public String validateFleet(RouteOptimizationRequest request) {
+        int deliveries = request.getDeliveries() == null ? 0 : request.getDeliveries().size();
+        if (deliveries >= largeMinDeliveries) {
+            return "Número máximo de entregas por frota excedido (máximo: " + (largeMinDeliveries - 1) + ")";
+        }
+        return validate(request);
+    }
+}
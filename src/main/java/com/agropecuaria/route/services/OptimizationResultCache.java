@@ -0,0 +1,106 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.models.RouteOptimizationResponse;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache em memória de respostas de otimização, indexado pela impressão digital da requisição.
+ *
+ * Limitado por quantidade com descarte do menos usado recentemente (LRU) e
+ * por tempo de vida, já que os tempos de viagem mudam. As respostas guardadas
+ * não devem ser alteradas por quem as recebe.
+ */
+@ApplicationScoped
+public class OptimizationResultCache {
+
+    @ConfigProperty(name = "route.optimization.result-cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "route.optimization.result-cache.capacity", defaultValue = "256")
+    int capacity;
+
+    @ConfigProperty(name = "route.optimization.result-cache.ttl", defaultValue = "10m")
+    Duration ttl;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > Math.max(1, capacity);
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Resposta guardada para a impressão digital, se existir e não tiver expirado
+     */
+    public Optional<RouteOptimizationResponse> get(String fingerprint) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(fingerprint);
+            if (entry != null && System.nanoTime() - entry.storedAt > ttl.toNanos()) {
+                entries.remove(fingerprint);
+                entry = null;
+            }
+        }
+
+        (entry == null ? misses : hits).incrementAndGet();
+        return entry == null ? Optional.empty() : Optional.of(entry.response);
+    }
+
+    public void put(String fingerprint, RouteOptimizationResponse response) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(fingerprint, new Entry(response, System.nanoTime()));
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static final class Entry {
+
+        private final RouteOptimizationResponse response;
+        private final long storedAt;
+
+        Entry(RouteOptimizationResponse response, long storedAt) {
+            this.response = response;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.Product;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Impressão digital (SHA-256) dos campos de uma requisição que influenciam a otimização.
+ *
+ * Entram na conta: coordenadas do início e de cada entrega, na ordem da lista
+ * (os índices da rota dependem dela), tempo de carregamento, perfil do
+ * algoritmo e, por produto, nome e tempo máximo até estragar (usados nos
+ * prazos e no aviso de deterioração). Endereços, contato do cliente,
+ * observações, prioridade e os demais campos informativos ficam de fora:
+ * requisições que diferem só neles têm a mesma impressão digital.
+ */
+public final class RequestFingerprint {
+
+    private static final int VERSION = 1;
+
+    private RequestFingerprint() {
+    }
+
+    /**
+     * @param profile perfil já resolvido (o padrão quando a requisição não informa)
+     */
+    public static String of(RouteOptimizationRequest request, String profile) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+            out.writeInt(VERSION);
+            writeString(out, profile);
+            writeLocation(out, request.getStartLocation());
+            out.writeInt(request.getLoadingTimeMinutes() == null ? 0 : request.getLoadingTimeMinutes());
+
+            List<Delivery> deliveries = request.getDeliveries();
+            out.writeInt(deliveries.size());
+            for (Delivery delivery : deliveries) {
+                writeLocation(out, delivery.getLocation());
+                List<Product> products = delivery.getProducts();
+                out.writeInt(products == null ? -1 : products.size());
+                if (products != null) {
+                    for (Product product : products) {
+                        writeString(out, product.getName());
+                        out.writeInt(product.getMaxDeliveryTimeMinutes() == null ? -1 : product.getMaxDeliveryTimeMinutes());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void writeLocation(DataOutputStream out, Location location) throws IOException {
+        if (location == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+        // 0.0 e -0.0 são a mesma coordenada
+        out.writeDouble(location.getLatitude() == null ? Double.NaN : location.getLatitude() + 0.0);
+        out.writeDouble(location.getLongitude() == null ? Double.NaN : location.getLongitude() + 0.0);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Histórico em memória dos últimos planos otimizados, usado para iniciar o
+ * algoritmo genético a partir de um plano parecido (warm start).
+ *
+ * Cada plano guarda o ponto inicial e a sequência de coordenadas visitadas,
+ * arredondadas para a precisão configurada. Para uma nova requisição com o
+ * mesmo ponto inicial, o plano com maior sobreposição de entregas fornece a
+ * ordem das entregas em comum; as entregas novas ficam para o chamador inserir.
+ */
+@ApplicationScoped
+public class SolutionHistory {
+
+    @ConfigProperty(name = "route.optimization.warm-start.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "route.optimization.warm-start.history-size", defaultValue = "64")
+    int historySize;
+
+    // Fração mínima de entregas em comum (sobre o maior dos dois planos)
+    @ConfigProperty(name = "route.optimization.warm-start.min-overlap", defaultValue = "0.5")
+    double minOverlap;
+
+    // Casas decimais das coordenadas na comparação (4 ~ 11 metros)
+    @ConfigProperty(name = "route.optimization.warm-start.coordinate-precision", defaultValue = "4")
+    int coordinatePrecision;
+
+    // Mais recentes primeiro
+    private final Deque<Plan> plans = new ArrayDeque<>();
+
+    /**
+     * Guarda o plano otimizado da requisição
+     *
+     * @param optimizedRoute rota [0, entregas..., 0] com índices da requisição
+     */
+    public void record(RouteOptimizationRequest request, List<Integer> optimizedRoute) {
+        if (!enabled || optimizedRoute == null || optimizedRoute.size() < 3) {
+            return;
+        }
+
+        List<Delivery> deliveries = request.getDeliveries();
+        List<String> sequence = new ArrayList<>(optimizedRoute.size() - 2);
+        for (int node : optimizedRoute.subList(1, optimizedRoute.size() - 1)) {
+            sequence.add(key(deliveries.get(node - 1).getLocation()));
+        }
+        Plan plan = new Plan(key(request.getStartLocation()), sequence);
+
+        synchronized (plans) {
+            plans.removeIf(existing -> existing.sameAs(plan));
+            plans.addFirst(plan);
+            while (plans.size() > Math.max(1, historySize)) {
+                plans.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Ordem do plano anterior mais parecido, restrita às entregas desta requisição
+     *
+     * @return índices (base 0) das entregas em comum na sequência em que foram visitadas;
+     *         vazio se nenhum plano com o mesmo início atinge a sobreposição mínima
+     */
+    public Optional<int[]> previousOrder(RouteOptimizationRequest request) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        String start = key(request.getStartLocation());
+        List<Delivery> deliveries = request.getDeliveries();
+        Map<String, Integer> counts = new HashMap<>();
+        for (Delivery delivery : deliveries) {
+            counts.merge(key(delivery.getLocation()), 1, Integer::sum);
+        }
+
+        Plan best = null;
+        double bestOverlap = 0;
+        synchronized (plans) {
+            for (Iterator<Plan> it = plans.iterator(); it.hasNext(); ) {
+                Plan plan = it.next();
+                if (!plan.start.equals(start)) {
+                    continue;
+                }
+                Map<String, Integer> remaining = new HashMap<>(counts);
+                int common = 0;
+                for (String stop : plan.sequence) {
+                    if (remaining.merge(stop, -1, Integer::sum) >= 0) {
+                        common++;
+                    }
+                }
+                double overlap = common / (double) Math.max(plan.sequence.size(), deliveries.size());
+                if (overlap > bestOverlap) {
+                    bestOverlap = overlap;
+                    best = plan;
+                }
+            }
+        }
+
+        if (best == null || bestOverlap < minOverlap) {
+            return Optional.empty();
+        }
+
+        // Coordenadas repetidas na requisição são consumidas na ordem dos índices
+        Map<String, Deque<Integer>> indexes = new HashMap<>();
+        for (int i = 0; i < deliveries.size(); i++) {
+            indexes.computeIfAbsent(key(deliveries.get(i).getLocation()), k -> new ArrayDeque<>()).add(i);
+        }
+        List<Integer> order = new ArrayList<>();
+        for (String stop : best.sequence) {
+            Deque<Integer> candidates = indexes.get(stop);
+            if (candidates != null && !candidates.isEmpty()) {
+                order.add(candidates.poll());
+            }
+        }
+        return Optional.of(order.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public int size() {
+        synchronized (plans) {
+            return plans.size();
+        }
+    }
+
+    private String key(Location location) {
+        double scale = Math.pow(10, coordinatePrecision);
+        return Math.round(location.getLatitude() * scale) + ":" + Math.round(location.getLongitude() * scale);
+    }
+
+    private static final class Plan {
+
+        private final String start;
+        private final List<String> sequence;
+
+        Plan(String start, List<String> sequence) {
+            this.start = start;
+            this.sequence = sequence;
+        }
+
+        boolean sameAs(Plan other) {
+            return start.equals(other.start) && sequence.equals(other.sequence);
+        }
+    }
+}
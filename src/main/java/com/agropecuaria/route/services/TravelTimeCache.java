@@ -0,0 +1,237 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.models.Location;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache persistente de tempos de viagem entre pares de coordenadas.
+ *
+ * As coordenadas são arredondadas para a precisão configurada e usadas como
+ * chave (origem, destino). Os registros ficam em uma tabela hash de
+ * endereçamento aberto com capacidade fixa, gravada em um arquivo mapeado em
+ * memória: o conteúdo sobrevive a reinícios e fica disponível assim que o
+ * arquivo é mapeado. Registros expirados (TTL) são tratados como ausentes e,
+ * quando a janela de sondagem está cheia, o registro mais antigo é substituído.
+ */
+@ApplicationScoped
+public class TravelTimeCache {
+
+    private static final Logger LOG = Logger.getLogger(TravelTimeCache.class);
+
+    private static final int MAGIC = 0x54544331; // "TTC1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int SLOT_BYTES = 32;
+    private static final int PROBE_WINDOW = 8;
+
+    // Deslocamentos dentro de cada registro
+    private static final int ORIGIN_LAT = 0;
+    private static final int ORIGIN_LNG = 4;
+    private static final int DESTINATION_LAT = 8;
+    private static final int DESTINATION_LNG = 12;
+    private static final int MINUTES = 16;
+    private static final int STORED_AT = 24;
+
+    @ConfigProperty(name = "google.maps.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "google.maps.cache.path")
+    Optional<String> path;
+
+    @ConfigProperty(name = "google.maps.cache.capacity", defaultValue = "65536")
+    int capacity;
+
+    @ConfigProperty(name = "google.maps.cache.ttl", defaultValue = "7d")
+    Duration ttl;
+
+    @ConfigProperty(name = "google.maps.cache.coordinate-precision", defaultValue = "4")
+    int coordinatePrecision;
+
+    Clock clock = Clock.systemUTC();
+
+    private ByteBuffer buffer;
+    private boolean persistent;
+    private int slots;
+    private double scale;
+
+    @PostConstruct
+    void open() {
+        scale = Math.pow(10, coordinatePrecision);
+        if (!enabled) {
+            return;
+        }
+
+        // Capacidade arredondada para potência de 2 (índice por máscara)
+        slots = Integer.highestOneBit(Math.max(PROBE_WINDOW, capacity) - 1) << 1;
+        long size = HEADER_BYTES + (long) slots * SLOT_BYTES;
+
+        if (path.isPresent()) {
+            try {
+                Path file = Paths.get(path.get());
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                try (FileChannel channel = FileChannel.open(file,
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                    persistent = true;
+                }
+            } catch (IOException | UnsupportedOperationException e) {
+                LOG.warn("Não foi possível mapear o cache de tempos em " + path.get() +
+                        ", usando cache apenas em memória: " + e.getMessage());
+            }
+        }
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect((int) size);
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getInt(8) != slots || buffer.getInt(12) != coordinatePrecision) {
+            // Arquivo novo ou com layout diferente: reinicializa
+            for (int i = 0; i < size; i += 8) {
+                buffer.putLong(i, 0L);
+            }
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, slots);
+            buffer.putInt(12, coordinatePrecision);
+        }
+
+        LOG.info("Cache de tempos de viagem pronto com " + slots + " posições" +
+                (persistent ? " em " + path.get() : " em memória"));
+    }
+
+    @PreDestroy
+    void close() {
+        if (persistent) {
+            ((MappedByteBuffer) buffer).force();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled && buffer != null;
+    }
+
+    /**
+     * Busca o tempo de viagem (minutos) entre duas localizações
+     *
+     * @return tempo em cache, ou NaN se ausente ou expirado
+     */
+    public synchronized double get(Location origin, Location destination) {
+        if (!isEnabled()) {
+            return Double.NaN;
+        }
+
+        int originLat = round(origin.getLatitude());
+        int originLng = round(origin.getLongitude());
+        int destinationLat = round(destination.getLatitude());
+        int destinationLng = round(destination.getLongitude());
+        long now = clock.millis();
+
+        int home = index(originLat, originLng, destinationLat, destinationLng);
+        for (int probe = 0; probe < PROBE_WINDOW; probe++) {
+            int offset = offset(home + probe);
+            long storedAt = buffer.getLong(offset + STORED_AT);
+            if (storedAt != 0 && matches(offset, originLat, originLng, destinationLat, destinationLng)) {
+                return isExpired(storedAt, now) ? Double.NaN : buffer.getDouble(offset + MINUTES);
+            }
+        }
+
+        return Double.NaN;
+    }
+
+    /**
+     * Armazena o tempo de viagem (minutos) entre duas localizações
+     */
+    public synchronized void put(Location origin, Location destination, double minutes) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        int originLat = round(origin.getLatitude());
+        int originLng = round(origin.getLongitude());
+        int destinationLat = round(destination.getLatitude());
+        int destinationLng = round(destination.getLongitude());
+        long now = clock.millis();
+
+        // Reaproveita o registro da mesma chave, senão uma posição livre ou expirada, senão a mais antiga
+        int home = index(originLat, originLng, destinationLat, destinationLng);
+        int target = -1;
+        long oldest = Long.MAX_VALUE;
+        for (int probe = 0; probe < PROBE_WINDOW; probe++) {
+            int offset = offset(home + probe);
+            long storedAt = buffer.getLong(offset + STORED_AT);
+            if (storedAt != 0 && matches(offset, originLat, originLng, destinationLat, destinationLng)) {
+                target = offset;
+                break;
+            }
+            long age = storedAt == 0 || isExpired(storedAt, now) ? Long.MIN_VALUE : storedAt;
+            if (age < oldest) {
+                oldest = age;
+                target = offset;
+            }
+        }
+
+        buffer.putInt(target + ORIGIN_LAT, originLat);
+        buffer.putInt(target + ORIGIN_LNG, originLng);
+        buffer.putInt(target + DESTINATION_LAT, destinationLat);
+        buffer.putInt(target + DESTINATION_LNG, destinationLng);
+        buffer.putDouble(target + MINUTES, minutes);
+        buffer.putLong(target + STORED_AT, now);
+    }
+
+    /**
+     * Indica se as duas localizações caem na mesma chave arredondada
+     */
+    public boolean isSamePoint(Location a, Location b) {
+        return Math.round(a.getLatitude() * scale) == Math.round(b.getLatitude() * scale)
+                && Math.round(a.getLongitude() * scale) == Math.round(b.getLongitude() * scale);
+    }
+
+    private int round(double coordinate) {
+        return (int) Math.round(coordinate * scale);
+    }
+
+    private boolean matches(int offset, int originLat, int originLng, int destinationLat, int destinationLng) {
+        return buffer.getInt(offset + ORIGIN_LAT) == originLat
+                && buffer.getInt(offset + ORIGIN_LNG) == originLng
+                && buffer.getInt(offset + DESTINATION_LAT) == destinationLat
+                && buffer.getInt(offset + DESTINATION_LNG) == destinationLng;
+    }
+
+    private boolean isExpired(long storedAt, long now) {
+        return now - storedAt > ttl.toMillis();
+    }
+
+    private int index(int originLat, int originLng, int destinationLat, int destinationLng) {
+        long hash = originLat;
+        hash = hash * 31 + originLng;
+        hash = hash * 31 + destinationLat;
+        hash = hash * 31 + destinationLng;
+        // Finalizador do MurmurHash3 para espalhar coordenadas próximas
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+
+    private int offset(int slot) {
+        return HEADER_BYTES + (slot & (slots - 1)) * SLOT_BYTES;
+    }
+}
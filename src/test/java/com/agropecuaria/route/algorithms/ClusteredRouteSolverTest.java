@@ -0,0 +1,95 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.Product;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+import com.agropecuaria.route.services.GoogleMapsService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusteredRouteSolverTest {
+
+    // Sem chave da API o serviço usa tempos em linha reta
+    private final GoogleMapsService mapsService = new GoogleMapsService();
+
+    private static RouteOptimizationRequest request(int deliveries, int deadline) {
+        Random random = new Random(3);
+        List<Delivery> list = new ArrayList<>();
+        for (int i = 0; i < deliveries; i++) {
+            Location location = new Location(-15.8 + random.nextDouble() * 0.6, -47.9 + random.nextDouble() * 0.6, "Entrega " + i);
+            Product product = new Product("Alface", "VEGETABLE", 10.0, "kg", deadline);
+            list.add(new Delivery(location, Arrays.asList(product), "Cliente " + i));
+        }
+        RouteOptimizationRequest request = new RouteOptimizationRequest(new Location(-15.8, -47.9, "Fazenda"), list);
+        request.setLoadingTimeMinutes(2);
+        return request;
+    }
+
+    private ClusteredRouteSolver solver(RouteOptimizationRequest request) {
+        return new ClusteredRouteSolver(
+                new OptimizationContext(request, mapsService), mapsService, 40, Runnable::run,
+                kernel -> new RouteLocalSearch(kernel, 50).improve(FeasibilityAnalyzer.earliestDueDateOrder(kernel))
+        );
+    }
+
+    @Test
+    void testSolvesLargeInstanceByClusters() {
+        // Arrange
+        RouteOptimizationRequest request = request(300, 100_000);
+
+        // Act
+        ClusteredRouteSolver.Result result = solver(request).solve();
+
+        // Assert - todas as entregas aparecem exatamente uma vez
+        assertTrue(result.isFeasible());
+        assertTrue(result.getClusterCount() >= 300 / 40);
+        assertEquals(300, result.getOrder().length);
+        assertEquals(300, Arrays.stream(result.getOrder()).distinct().count());
+        assertEquals(301, result.getLegTimes().length);
+        assertTrue(Arrays.stream(result.getLegTimes()).allMatch(leg -> leg >= 0 && leg < 1000));
+    }
+
+    @Test
+    void testStitchedRouteBeatsVisitingInInputOrder() {
+        // Arrange
+        RouteOptimizationRequest request = request(300, 100_000);
+        OptimizationContext context = new OptimizationContext(request, mapsService);
+        int[] inputOrder = new int[300];
+        Arrays.setAll(inputOrder, i -> i);
+
+        // Act
+        ClusteredRouteSolver.Result result = solver(request).solve();
+
+        // Assert
+        double clustered = Arrays.stream(result.getLegTimes()).sum();
+        double unordered = 0;
+        int previous = 0;
+        for (int delivery : inputOrder) {
+            unordered += mapsService.straightLineMinutes(context.getLocations().get(previous), context.getLocations().get(delivery + 1));
+            previous = delivery + 1;
+        }
+        unordered += mapsService.straightLineMinutes(context.getLocations().get(previous), context.getLocations().get(0));
+        assertTrue(clustered < unordered / 5, clustered + " vs " + unordered);
+    }
+
+    @Test
+    void testReportsDeliveriesUnreachableFromStart() {
+        // Arrange - entrega 7 com prazo menor que a viagem direta
+        RouteOptimizationRequest request = request(200, 100_000);
+        request.getDeliveries().get(7).getProducts().get(0).setMaxDeliveryTimeMinutes(1);
+
+        // Act
+        ClusteredRouteSolver.Result result = solver(request).solve();
+
+        // Assert
+        assertFalse(result.isFeasible());
+        assertEquals(Arrays.asList(7), result.getInfeasibleDeliveries());
+    }
+}
@@ -0,0 +1,67 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.EvolutionStatistics;
+import com.agropecuaria.route.models.GenerationStatistics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvolutionTelemetryTest {
+
+    @Test
+    void testBestGenerationIsFirstAppearanceOfFinalBest() {
+        // Arrange
+        EvolutionTelemetry telemetry = new EvolutionTelemetry();
+
+        // Act - o melhor custo final (80) aparece na geração 3 e se repete depois
+        telemetry.record(1, 120, 300, 1.0, 2_000_000);
+        telemetry.record(2, 100, 250, 0.8, 1_000_000);
+        telemetry.record(3, 80, 200, 0.5, 3_000_000);
+        telemetry.record(4, 80, 150, 0.2, 2_000_000);
+        telemetry.setFitnessEvaluations(400);
+        EvolutionStatistics statistics = telemetry.summarize(100);
+
+        // Assert
+        assertEquals(3, telemetry.getBestGeneration());
+        assertEquals(4L, statistics.getGenerations());
+        assertEquals(3L, statistics.getBestGeneration());
+        assertEquals(400L, statistics.getFitnessEvaluations());
+        assertEquals(120.0, statistics.getInitialBestCost());
+        assertEquals(80.0, statistics.getFinalBestCost());
+        assertEquals(2.0, statistics.getMeanEvaluationMs(), 1e-9);
+        assertEquals(3.0, statistics.getMaxEvaluationMs(), 1e-9);
+        assertEquals(0.2, statistics.getFinalDiversity());
+        assertEquals(4, statistics.getHistory().size());
+    }
+
+    @Test
+    void testHistoryIsSampledAndKeepsLastGeneration() {
+        // Arrange
+        EvolutionTelemetry telemetry = new EvolutionTelemetry();
+        for (int generation = 1; generation <= 1000; generation++) {
+            telemetry.record(generation, 1000.0 / generation, 2000.0 / generation, 0.5, 1000);
+        }
+
+        // Act
+        EvolutionStatistics statistics = telemetry.summarize(200);
+
+        // Assert
+        assertEquals(200, statistics.getHistory().size());
+        GenerationStatistics first = statistics.getHistory().get(0);
+        GenerationStatistics last = statistics.getHistory().get(statistics.getHistory().size() - 1);
+        assertEquals(1L, first.getGeneration());
+        assertEquals(1000L, last.getGeneration());
+        assertEquals(1000L, statistics.getBestGeneration());
+    }
+
+    @Test
+    void testEmptyTelemetry() {
+        // Act
+        EvolutionStatistics statistics = new EvolutionTelemetry().summarize(200);
+
+        // Assert
+        assertEquals(0L, statistics.getGenerations());
+        assertNull(statistics.getBestGeneration());
+        assertTrue(statistics.getHistory().isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+package com.agropecuaria.route.algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvolutionTerminationTest {
+
+    @Test
+    void testStopsAfterSteadyGenerations() {
+        // Arrange
+        EvolutionTermination termination = new EvolutionTermination(1000, 5, null, Double.NaN, Double.NaN);
+
+        // Act
+        long generation = 1;
+        while (termination.proceed(generation, 100.0)) {
+            generation++;
+        }
+
+        // Assert - a geração que dispara o critério ainda é aceita
+        assertEquals(EvolutionTermination.Reason.STEADY_FITNESS, termination.getReason());
+        assertEquals(6, termination.getGenerations());
+    }
+
+    @Test
+    void testStopsWhenOptimumReached() {
+        // Arrange
+        EvolutionTermination termination = new EvolutionTermination(1000, 0, null, Double.NaN, 50.0);
+
+        // Act & Assert
+        assertTrue(termination.proceed(1, 80.0));
+        assertNull(termination.getReason());
+        assertTrue(termination.proceed(2, 50.0));
+        assertFalse(termination.proceed(3, 50.0));
+        assertEquals(EvolutionTermination.Reason.OPTIMUM_REACHED, termination.getReason());
+        assertEquals(2, termination.getGenerations());
+    }
+
+    @Test
+    void testStopsWhenTargetCostReached() {
+        // Arrange
+        EvolutionTermination termination = new EvolutionTermination(1000, 0, null, 120.0, Double.NaN);
+
+        // Act
+        termination.proceed(1, 150.0);
+        termination.proceed(2, 110.0);
+
+        // Assert
+        assertFalse(termination.proceed(3, 100.0));
+        assertEquals(EvolutionTermination.Reason.TARGET_FITNESS, termination.getReason());
+        assertEquals(110.0, termination.getBestCost());
+    }
+
+    @Test
+    void testStopsAtMaxGenerationsAndTimeBudget() {
+        // Arrange
+        EvolutionTermination byGenerations = new EvolutionTermination(3, 0, null, Double.NaN, Double.NaN);
+        EvolutionTermination byTime = new EvolutionTermination(1000, 0, Duration.ZERO, Double.NaN, Double.NaN);
+
+        // Act
+        long generation = 1;
+        while (byGenerations.proceed(generation, 1000.0 - generation)) {
+            generation++;
+        }
+        byTime.proceed(1, 100.0);
+
+        // Assert
+        assertEquals(EvolutionTermination.Reason.MAX_GENERATIONS, byGenerations.getReason());
+        assertEquals(3, byGenerations.getGenerations());
+        assertEquals(EvolutionTermination.Reason.TIME_BUDGET, byTime.getReason());
+    }
+
+    @Test
+    void testStopsWhenCancelled() {
+        // Arrange
+        java.util.concurrent.atomic.AtomicBoolean cancelled = new java.util.concurrent.atomic.AtomicBoolean();
+        EvolutionTermination termination = new EvolutionTermination(1000, 0, null, Double.NaN, Double.NaN)
+                .cancelWhen(cancelled::get);
+
+        // Act & Assert - o cancelamento vale a partir da geração seguinte ao pedido
+        assertTrue(termination.proceed(1, 80.0));
+        cancelled.set(true);
+        assertTrue(termination.proceed(2, 70.0));
+        assertFalse(termination.proceed(3, 60.0));
+        assertEquals(EvolutionTermination.Reason.CANCELLED, termination.getReason());
+        assertEquals(70.0, termination.getBestCost());
+    }
+}
@@ -0,0 +1,93 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeasibilityAnalyzerTest {
+
+    // Início e três entregas; o último nó é o retorno ao início
+    private static final double[][] TIME_MATRIX = {
+        {0, 20, 20, 30, 0},
+        {20, 0, 50, 40, 20},
+        {20, 50, 0, 40, 20},
+        {30, 40, 40, 0, 30},
+        {0, 20, 20, 30, 0}
+    };
+
+    private static RouteFitnessKernel kernel(int... deadlines) {
+        List<Delivery> deliveries = new ArrayList<>();
+        for (int deadline : deadlines) {
+            Product product = new Product("Alface", "VEGETABLE", 10.0, "kg", deadline);
+            deliveries.add(new Delivery(new Location(-15.0, -47.0, "Entrega"), Arrays.asList(product)));
+        }
+        double[][] matrix = new double[deadlines.length + 2][];
+        for (int i = 0; i <= deadlines.length; i++) {
+            matrix[i] = Arrays.copyOf(TIME_MATRIX[i], deadlines.length + 2);
+            matrix[i][deadlines.length + 1] = TIME_MATRIX[i][0];
+        }
+        matrix[deadlines.length + 1] = matrix[0].clone();
+        return new RouteFitnessKernel(matrix, deliveries, 5);
+    }
+
+    @Test
+    void testDirectTripViolation() {
+        // Arrange - a entrega 2 está a 30 min + 5 de carregamento, prazo 30
+        RouteFitnessKernel kernel = kernel(500, 500, 30);
+
+        // Act
+        FeasibilityAnalyzer.Result result = FeasibilityAnalyzer.analyze(kernel);
+
+        // Assert
+        assertFalse(result.isFeasible());
+        assertEquals(Arrays.asList(2), result.getInfeasibleDeliveries());
+    }
+
+    @Test
+    void testPairwiseConflict() {
+        // Arrange - entregas 0 e 1 alcançáveis isoladamente, mas não uma após a outra
+        RouteFitnessKernel kernel = kernel(60, 60, 500);
+
+        // Act
+        FeasibilityAnalyzer.Result result = FeasibilityAnalyzer.analyze(kernel);
+
+        // Assert
+        assertEquals(FeasibilityAnalyzer.Verdict.PROVEN_INFEASIBLE, result.getVerdict());
+        assertEquals(Arrays.asList(0, 1), result.getInfeasibleDeliveries());
+    }
+
+    @Test
+    void testDeadlinePrefixViolation() {
+        // Arrange - cada par cabe, mas as três juntas precisam de pelo menos 20 + 20 + 30 + 3 x 5 = 85 minutos
+        RouteFitnessKernel kernel = kernel(80, 80, 80);
+
+        // Act
+        FeasibilityAnalyzer.Result result = FeasibilityAnalyzer.analyze(kernel);
+
+        // Assert
+        assertTrue(FeasibilityAnalyzer.pairwiseConflicts(kernel).isEmpty());
+        assertEquals(FeasibilityAnalyzer.Verdict.PROVEN_INFEASIBLE, result.getVerdict());
+        assertEquals(Arrays.asList(0, 1, 2), result.getInfeasibleDeliveries());
+    }
+
+    @Test
+    void testEarliestDueDateWitnessProvesFeasibility() {
+        // Arrange
+        RouteFitnessKernel kernel = kernel(30, 200, 100);
+
+        // Act
+        FeasibilityAnalyzer.Result result = FeasibilityAnalyzer.analyze(kernel);
+
+        // Assert
+        assertArrayEquals(new int[] {0, 2, 1}, FeasibilityAnalyzer.earliestDueDateOrder(kernel));
+        assertEquals(FeasibilityAnalyzer.Verdict.PROVEN_FEASIBLE, result.getVerdict());
+        assertTrue(result.getInfeasibleDeliveries().isEmpty());
+    }
+}
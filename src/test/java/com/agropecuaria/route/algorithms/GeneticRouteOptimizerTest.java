@@ -105,4 +105,296 @@ class GeneticRouteOptimizerTest {
         assertTrue(response.getTotalDistanceKm() > 0);
         assertTrue(response.getTotalTimeMinutes() > 0);
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testOptimizeRouteStopsEarlyOnTinyInstance() {
+        // Arrange
+        Location startLocation = new Location(-23.5505, -46.6333, "São Paulo, SP");
+        
+        Product product1 = new Product("Queijo", "Lácteo", 50.0, "kg", 720); // 12 horas
+        Delivery delivery1 = new Delivery(
+            new Location(-23.5000, -46.6000, "Perto de São Paulo, SP"),
+            Arrays.asList(product1),
+            "Cliente 1"
+        );
+        Delivery delivery2 = new Delivery(
+            new Location(-23.6000, -46.7000, "Perto de São Paulo, SP"),
+            Arrays.asList(product1),
+            "Cliente 2"
+        );
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(Arrays.asList(delivery1, delivery2));
+        
+        // Act
+        RouteOptimizationResponse response = routeOptimizer.optimizeRoute(request);
+        
+        // Assert - o ótimo de 2 entregas é encontrado logo nas primeiras gerações
+        assertTrue(response.getFeasible());
+        assertEquals("OPTIMUM_REACHED", response.getTerminationReason());
+        assertTrue(response.getGenerationsExecuted() < 10);
+    }
+    
+    @Test
+    void testEvolutionStopsAtKnownOptimumAboveExactSolverLimit() {
+        // Arrange - entre exact.max-deliveries e exact-optimum-max-deliveries da configuração padrão
+        Location startLocation = new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF");
+        java.util.Random random = new java.util.Random(13);
+        List<Delivery> deliveries = new java.util.ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            Product product = new Product("Milho", "GRAIN", 20.0, "kg", 100_000);
+            deliveries.add(new Delivery(
+                new Location(-15.7942 + random.nextDouble() * 0.4 - 0.2, -47.8822 + random.nextDouble() * 0.4 - 0.2, "Entrega " + i),
+                Arrays.asList(product),
+                "Cliente " + i
+            ));
+        }
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(deliveries);
+        
+        // Act
+        RouteOptimizationResponse response = routeOptimizer.optimizeRoute(request);
+        
+        // Assert - o algoritmo genético roda e encerra ao atingir o ótimo calculado pelo solver exato
+        assertTrue(response.getFeasible());
+        assertNotNull(response.getEngineProfile());
+        assertEquals("OPTIMUM_REACHED", response.getTerminationReason());
+    }
+    
+    @Test
+    void testContextComputesTimeMatrixOnce() {
+        // Arrange
+        Location startLocation = new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF");
+        
+        Product product1 = new Product("Banana", "FRUIT", 30.0, "kg", 120); // 2 horas
+        Delivery delivery1 = new Delivery(
+            new Location(-15.7801, -47.9292, "Taguatinga Norte, DF"),
+            Arrays.asList(product1),
+            "Cliente 1"
+        );
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(Arrays.asList(delivery1));
+        
+        // Act
+        OptimizationContext context = routeOptimizer.createContext(request);
+        RouteOptimizationResponse response = routeOptimizer.optimizeRoute(context);
+        routeOptimizer.validateOptimizedRoute(response.getOptimizedRoute(), context);
+        
+        // Assert - otimização e validação compartilham a mesma matriz
+        assertTrue(response.getFeasible());
+        assertEquals(1, context.getMatrixComputations());
+    }
+    
+    @Test
+    void testEngineSettingsScaleWithProfileAndDeliveries() {
+        // Act
+        EngineSettings fast = routeOptimizer.engineSettings("fast", 5);
+        EngineSettings thorough = routeOptimizer.engineSettings("thorough", 100);
+        EngineSettings defaultProfile = routeOptimizer.engineSettings(null, 20);
+        
+        // Assert - valores limitados aos mínimos e máximos de cada perfil
+        assertEquals(30, fast.getPopulationSize());
+        assertEquals(100, fast.getMaxGenerations());
+        assertEquals(500, thorough.getPopulationSize());
+        assertEquals(20000, thorough.getMaxGenerations());
+        assertEquals("balanced", defaultProfile.getProfile());
+        assertEquals(200, defaultProfile.getPopulationSize());
+        assertEquals(2000, defaultProfile.getMaxGenerations());
+    }
+    
+    @Test
+    void testUnknownEngineProfileIsRejected() {
+        // Act & Assert
+        assertTrue(routeOptimizer.hasProfile(null));
+        assertTrue(routeOptimizer.hasProfile("thorough"));
+        assertFalse(routeOptimizer.hasProfile("turbo"));
+        assertThrows(IllegalArgumentException.class, () -> routeOptimizer.engineSettings("turbo", 5));
+    }
+    
+    @Test
+    void testLargeRouteIsSolvedByClustersWithoutDenseMatrix() {
+        // Arrange
+        Location startLocation = new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF");
+        java.util.Random random = new java.util.Random(11);
+        List<Delivery> deliveries = new java.util.ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Product product = new Product("Milho", "GRAIN", 20.0, "kg", 100_000);
+            deliveries.add(new Delivery(
+                new Location(-15.7942 + random.nextDouble() * 0.4 - 0.2, -47.8822 + random.nextDouble() * 0.4 - 0.2, "Entrega " + i),
+                Arrays.asList(product),
+                "Cliente " + i
+            ));
+        }
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(deliveries);
+        request.setProfile("fast");
+        
+        // Act
+        OptimizationContext context = routeOptimizer.createContext(request);
+        RouteOptimizationResponse response = routeOptimizer.optimizeRoute(context);
+        var spoilage = routeOptimizer.validateOptimizedRoute(response.getOptimizedRoute(), context);
+        
+        // Assert - otimização e validação sem a matriz 202 x 202
+        assertTrue(response.getFeasible());
+        assertEquals("CLUSTERED", response.getSolverStrategy());
+        assertEquals(202, response.getOptimizedRoute().size());
+        assertEquals(200, response.getOptimizedRoute().stream().distinct().count() - 1);
+        assertTrue(spoilage.isAllProductsValid());
+        assertEquals(0, context.getMatrixComputations());
+    }
+    
+    @Test
+    void testFleetSplitsDeliveriesWithinVehicleCapacities() {
+        // Arrange - 12 entregas de 30 kg em três veículos de 150 kg
+        Location startLocation = new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF");
+        java.util.Random random = new java.util.Random(5);
+        List<Delivery> deliveries = new java.util.ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Product product = new Product("Alface", "VEGETABLE", 30.0, "kg", 600);
+            deliveries.add(new Delivery(
+                new Location(-15.7942 + random.nextDouble() * 0.3 - 0.15, -47.8822 + random.nextDouble() * 0.3 - 0.15, "Entrega " + i),
+                Arrays.asList(product),
+                "Cliente " + i
+            ));
+        }
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(deliveries);
+        request.setProfile("fast");
+        request.setVehicles(Arrays.asList(
+            new Vehicle("Caminhão 1", 150.0),
+            new Vehicle("Caminhão 2", 150.0),
+            new Vehicle("Caminhão 3", 150.0)
+        ));
+        
+        // Act
+        FleetOptimizationResponse response = routeOptimizer.optimizeFleet(routeOptimizer.createContext(request));
+        
+        // Assert - 360 kg exigem ao menos três veículos; cada entrega aparece em exatamente uma rota
+        assertTrue(response.getFeasible());
+        assertEquals("GIANT_TOUR_SPLIT", response.getSolverStrategy());
+        assertEquals(3, response.getVehiclesUsed());
+        java.util.Set<Integer> served = new java.util.HashSet<>();
+        for (VehicleRoute route : response.getRoutes()) {
+            assertTrue(route.getLoad() <= route.getCapacity());
+            assertTrue(route.getOnTime());
+            assertEquals(0, route.getOptimizedRoute().get(0));
+            assertEquals(0, route.getOptimizedRoute().get(route.getOptimizedRoute().size() - 1));
+            route.getOptimizedRoute().subList(1, route.getOptimizedRoute().size() - 1)
+                    .forEach(node -> assertTrue(served.add(node)));
+        }
+        assertEquals(12, served.size());
+        assertTrue(response.getMakespanMinutes() <= response.getTotalTimeMinutes());
+    }
+    
+    @Test
+    void testFleetRejectsDeliveryLargerThanAnyVehicle() {
+        // Arrange
+        Location startLocation = new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF");
+        Delivery small = new Delivery(
+            new Location(-15.7801, -47.9292, "Taguatinga Norte, DF"),
+            Arrays.asList(new Product("Banana", "FRUIT", 40.0, "kg", 600)),
+            "Cliente 1"
+        );
+        Delivery oversized = new Delivery(
+            new Location(-15.8267, -47.9218, "Águas Claras, DF"),
+            Arrays.asList(new Product("Milho", "GRAIN", 500.0, "kg", 600)),
+            "Cliente 2"
+        );
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(Arrays.asList(small, oversized));
+        request.setVehicles(Arrays.asList(new Vehicle("Caminhão 1", 200.0), new Vehicle("Caminhão 2", 300.0)));
+        
+        // Act
+        FleetOptimizationResponse response = routeOptimizer.optimizeFleet(routeOptimizer.createContext(request));
+        
+        // Assert
+        assertFalse(response.getFeasible());
+        assertEquals(List.of(1), response.getInfeasibleDeliveries());
+    }
+    
+    @Test
+    void testProgressIsReportedWhileEvolving() {
+        // Arrange - acima do limite do solver exato, para passar pelo algoritmo genético
+        Location startLocation = new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF");
+        java.util.Random random = new java.util.Random(9);
+        List<Delivery> deliveries = new java.util.ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            Product product = new Product("Milho", "GRAIN", 20.0, "kg", 100_000);
+            deliveries.add(new Delivery(
+                new Location(-15.7942 + random.nextDouble() * 0.4 - 0.2, -47.8822 + random.nextDouble() * 0.4 - 0.2, "Entrega " + i),
+                Arrays.asList(product),
+                "Cliente " + i
+            ));
+        }
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(deliveries);
+        request.setProfile("fast");
+        
+        OptimizationContext context = routeOptimizer.createContext(request);
+        List<Double> costs = java.util.Collections.synchronizedList(new java.util.ArrayList<>());
+        context.setProgressListener((generation, bestCost, bestRoute) -> {
+            assertEquals(17, bestRoute.size());
+            costs.add(bestCost);
+        });
+        
+        // Act
+        RouteOptimizationResponse response = routeOptimizer.optimizeRoute(context);
+        
+        // Assert
+        assertTrue(response.getFeasible());
+        assertFalse(costs.isEmpty());
+        assertTrue(costs.get(costs.size() - 1) <= costs.get(0));
+    }
+    
+    @Test
+    void testEvolutionStatisticsAreReturnedOnRequest() {
+        // Arrange - acima do limite do solver exato, para passar pelo algoritmo genético
+        Location startLocation = new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF");
+        java.util.Random random = new java.util.Random(21);
+        List<Delivery> deliveries = new java.util.ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            Product product = new Product("Milho", "GRAIN", 20.0, "kg", 100_000);
+            deliveries.add(new Delivery(
+                new Location(-15.7942 + random.nextDouble() * 0.4 - 0.2, -47.8822 + random.nextDouble() * 0.4 - 0.2, "Entrega " + i),
+                Arrays.asList(product),
+                "Cliente " + i
+            ));
+        }
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(deliveries);
+        request.setProfile("fast");
+        request.setIncludeStatistics(true);
+        
+        // Act
+        RouteOptimizationResponse response = routeOptimizer.optimizeRoute(request);
+        request.setIncludeStatistics(false);
+        RouteOptimizationResponse withoutStatistics = routeOptimizer.optimizeRoute(request);
+        
+        // Assert
+        EvolutionStatistics statistics = response.getEvolutionStatistics();
+        assertNotNull(statistics);
+        assertEquals(response.getGenerationsExecuted(), statistics.getGenerations());
+        assertTrue(statistics.getBestGeneration() >= 1);
+        assertTrue(statistics.getBestGeneration() <= statistics.getGenerations());
+        assertTrue(statistics.getFinalBestCost() <= statistics.getInitialBestCost());
+        assertTrue(statistics.getFitnessEvaluations() > 0);
+        assertFalse(statistics.getHistory().isEmpty());
+        assertTrue(statistics.getHistory().size() <= 200);
+        assertNull(withoutStatistics.getEvolutionStatistics());
+    }
+}
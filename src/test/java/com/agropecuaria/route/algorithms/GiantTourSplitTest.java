@@ -0,0 +1,123 @@
+package com.agropecuaria.route.algorithms;
+
+import io.jenetics.EnumGene;
+import io.jenetics.PermutationChromosome;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GiantTourSplitTest {
+
+    // Pontos sobre uma reta a 10 minutos um do outro; o último nó é o retorno ao início
+    private static double[][] lineMatrix(int deliveries) {
+        double[][] matrix = new double[deliveries + 2][deliveries + 2];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix.length; j++) {
+                int a = i == deliveries + 1 ? 0 : i;
+                int b = j == deliveries + 1 ? 0 : j;
+                matrix[i][j] = Math.abs(a - b) * 10.0;
+            }
+        }
+        return matrix;
+    }
+
+    private static int[] deadlines(int count, int deadline) {
+        int[] deadlines = new int[count];
+        Arrays.fill(deadlines, deadline);
+        return deadlines;
+    }
+
+    @Test
+    void testSplitRespectsCapacitiesAndMatchesRouteCosts() {
+        // Arrange
+        RouteFitnessKernel kernel = new RouteFitnessKernel(lineMatrix(6), deadlines(6, 10_000), 5);
+        double[] loads = {30, 30, 30, 30, 30, 30};
+        GiantTourSplit split = new GiantTourSplit(kernel, loads, new double[] {100, 100});
+        int[] tour = {0, 1, 2, 3, 4, 5};
+
+        // Act
+        int[][] routes = split.split(tour);
+
+        // Assert - 180 de carga em dois veículos de 100: três entregas em cada
+        assertEquals(2, routes.length);
+        double total = 0;
+        for (int[] route : routes) {
+            assertTrue(split.load(route) <= 100);
+            total += kernel.cost(route);
+        }
+        assertEquals(6, Arrays.stream(routes).mapToInt(route -> route.length).sum());
+        assertEquals(total, split.cost(tour), 1e-9);
+    }
+
+    @Test
+    void testSplitUsesSecondVehicleToMeetDeadlines() {
+        // Arrange - um veículo comporta tudo, mas sozinho não cumpre o prazo da entrega 3
+        RouteFitnessKernel kernel = new RouteFitnessKernel(lineMatrix(4), new int[] {10_000, 10_000, 10_000, 45}, 5);
+        double[] loads = {10, 10, 10, 10};
+        GiantTourSplit split = new GiantTourSplit(kernel, loads, new double[] {100, 100});
+        int[] tour = {0, 1, 2, 3};
+
+        // Act
+        int[][] routes = split.split(tour);
+
+        // Assert - sozinho, o primeiro veículo chegaria à entrega 3 em 60 minutos
+        assertFalse(kernel.isOnTime(tour));
+        assertArrayEquals(new int[] {0, 1, 2}, routes[0]);
+        assertArrayEquals(new int[] {3}, routes[1]);
+        assertTrue(kernel.isOnTime(routes[1]));
+        assertEquals(160.0, split.cost(tour), 1e-9);
+    }
+
+    @Test
+    void testChromosomeCostMatchesTourCost() {
+        // Arrange - a rota maior antes deixa o vetor da thread mais longo que a menor
+        RouteFitnessKernel large = new RouteFitnessKernel(lineMatrix(8), deadlines(8, 60), 5);
+        RouteFitnessKernel small = new RouteFitnessKernel(lineMatrix(4), deadlines(4, 60), 5);
+        GiantTourSplit largeSplit = new GiantTourSplit(large, new double[] {10, 10, 10, 10, 10, 10, 10, 10}, new double[] {40, 40});
+        GiantTourSplit smallSplit = new GiantTourSplit(small, new double[] {10, 10, 10, 10}, new double[] {20, 20});
+        PermutationChromosome<Integer> largeChromosome = PermutationChromosome.ofInteger(8);
+        PermutationChromosome<Integer> smallChromosome = PermutationChromosome.ofInteger(4);
+
+        // Act
+        double largeCost = largeSplit.cost(largeChromosome);
+        double smallCost = smallSplit.cost(smallChromosome);
+
+        // Assert
+        assertEquals(largeSplit.cost(largeChromosome.stream().mapToInt(EnumGene::alleleIndex).toArray()), largeCost, 1e-9);
+        assertEquals(smallSplit.cost(smallChromosome.stream().mapToInt(EnumGene::alleleIndex).toArray()), smallCost, 1e-9);
+    }
+
+    @Test
+    void testEmptyVehiclesAreAllowed() {
+        // Arrange
+        RouteFitnessKernel kernel = new RouteFitnessKernel(lineMatrix(3), deadlines(3, 10_000), 0);
+        GiantTourSplit split = new GiantTourSplit(kernel, new double[] {1, 1, 1}, new double[] {10, 10, 10});
+        int[] tour = {0, 1, 2};
+
+        // Act
+        int[][] routes = split.split(tour);
+
+        // Assert - sem prazos apertados, um único veículo percorre a reta uma vez só
+        assertEquals(1, Arrays.stream(routes).filter(route -> route.length > 0).count());
+        assertEquals(60.0, split.cost(tour), 1e-9);
+    }
+
+    @Test
+    void testOverloadedTourIsPenalized() {
+        // Arrange - cargas 60 e 50 ao lado de 40 e 50 impedem qualquer divisão viável nesta ordem
+        RouteFitnessKernel kernel = new RouteFitnessKernel(lineMatrix(4), deadlines(4, 10_000), 0);
+        GiantTourSplit split = new GiantTourSplit(kernel, new double[] {60, 40, 50, 50}, new double[] {100, 100});
+        int[] infeasible = {0, 2, 1, 3};
+        int[] feasible = {0, 1, 2, 3};
+
+        // Act
+        double infeasibleCost = split.cost(infeasible);
+        double feasibleCost = split.cost(feasible);
+
+        // Assert
+        assertTrue(infeasibleCost > feasibleCost + RouteFitnessKernel.PENALTY_WEIGHT);
+        assertEquals(4, Arrays.stream(split.split(infeasible)).mapToInt(route -> route.length).sum());
+    }
+}
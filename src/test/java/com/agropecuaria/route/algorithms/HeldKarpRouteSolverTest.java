@@ -0,0 +1,123 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeldKarpRouteSolverTest {
+
+    private static final int LOADING_TIME = 10;
+
+    private static RouteFitnessKernel randomKernel(Random random, int n, int minDeadline, int maxDeadline) {
+        double[][] matrix = new double[n + 2][n + 2];
+        for (int i = 0; i < n + 2; i++) {
+            for (int j = 0; j < n + 2; j++) {
+                matrix[i][j] = i == j ? 0 : 5 + random.nextInt(60);
+            }
+        }
+        // O último nó é o retorno ao ponto inicial
+        matrix[n + 1] = matrix[0].clone();
+
+        List<Delivery> deliveries = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int deadline = minDeadline + random.nextInt(maxDeadline - minDeadline + 1);
+            Product product = new Product("Produto " + i, "FRUIT", 10.0, "kg", deadline);
+            deliveries.add(new Delivery(new Location(-15.0, -47.0, "Entrega " + i), Arrays.asList(product)));
+        }
+        return new RouteFitnessKernel(matrix, deliveries, LOADING_TIME);
+    }
+
+    /**
+     * Menor custo entre as permutações que cumprem todos os prazos (força bruta)
+     */
+    private static double bruteForceFeasibleOptimum(RouteFitnessKernel kernel) {
+        int[] order = new int[kernel.getDeliveryCount()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        return permute(kernel, order, 0);
+    }
+
+    private static double permute(RouteFitnessKernel kernel, int[] order, int position) {
+        if (position == order.length) {
+            return isOnTime(kernel, order) ? kernel.cost(order) : Double.POSITIVE_INFINITY;
+        }
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = position; i < order.length; i++) {
+            swap(order, position, i);
+            best = Math.min(best, permute(kernel, order, position + 1));
+            swap(order, position, i);
+        }
+        return best;
+    }
+
+    private static boolean isOnTime(RouteFitnessKernel kernel, int[] order) {
+        double time = 0;
+        int prev = 0;
+        for (int delivery : order) {
+            time += kernel.travelTime(prev, delivery + 1) + kernel.getLoadingTime();
+            if (time > kernel.deadline(delivery)) {
+                return false;
+            }
+            prev = delivery + 1;
+        }
+        return true;
+    }
+
+    private static void swap(int[] order, int i, int j) {
+        int tmp = order[i];
+        order[i] = order[j];
+        order[j] = tmp;
+    }
+
+    @Test
+    void testSolveMatchesBruteForceOnRandomInstances() {
+        Random random = new Random(42);
+
+        for (int instance = 0; instance < 20; instance++) {
+            // Arrange
+            int n = 2 + random.nextInt(6);
+            RouteFitnessKernel kernel = randomKernel(random, n, 60, 400);
+            double expected = bruteForceFeasibleOptimum(kernel);
+
+            // Act
+            int[] order = HeldKarpRouteSolver.solve(kernel);
+
+            // Assert
+            if (expected == Double.POSITIVE_INFINITY) {
+                assertNull(order);
+            } else {
+                assertNotNull(order);
+                assertEquals(n, Arrays.stream(order).distinct().count());
+                assertTrue(isOnTime(kernel, order));
+                assertEquals(expected, kernel.cost(order), 0.001);
+            }
+        }
+    }
+
+    @Test
+    void testSolveReturnsNullWhenNoOrderMeetsDeadlines() {
+        // Arrange - prazos menores que qualquer viagem possível
+        RouteFitnessKernel kernel = randomKernel(new Random(7), 4, 1, 4);
+
+        // Act & Assert
+        assertNull(HeldKarpRouteSolver.solve(kernel));
+    }
+
+    @Test
+    void testSolveRejectsOversizedInstances() {
+        // Arrange
+        RouteFitnessKernel kernel = randomKernel(new Random(1), HeldKarpRouteSolver.MAX_SUPPORTED_DELIVERIES + 1, 60, 100);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> HeldKarpRouteSolver.solve(kernel));
+    }
+}
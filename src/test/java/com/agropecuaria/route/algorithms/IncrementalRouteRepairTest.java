@@ -0,0 +1,68 @@
+package com.agropecuaria.route.algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalRouteRepairTest {
+
+    // Posição atual, entregas e ponto inicial sobre uma reta, a 10 minutos um do outro;
+    // o último nó (ponto inicial) fica antes da posição atual
+    private static double[][] lineMatrix(int deliveries) {
+        int size = deliveries + 2;
+        double[] position = new double[size];
+        for (int i = 0; i <= deliveries; i++) {
+            position[i] = i;
+        }
+        position[size - 1] = -1;
+
+        double[][] matrix = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix[i][j] = Math.abs(position[i] - position[j]) * 10.0;
+            }
+        }
+        return matrix;
+    }
+
+    @Test
+    void testNewDeliveryIsInsertedIntoCurrentOrder() {
+        // Arrange - entregas 0, 1 e 3 planejadas em ordem; a entrega 2 é nova
+        IncrementalRouteRepair repair = new IncrementalRouteRepair(lineMatrix(4), new int[] {1000, 1000, 1000, 1000}, 5, 10);
+
+        // Act
+        int[] order = repair.repair(new int[] {0, 1, 3}, new int[0]);
+
+        // Assert
+        assertArrayEquals(new int[] {0, 1, 2, 3}, order);
+    }
+
+    @Test
+    void testPrioritizedDeliveriesComeFirstAndLatenessIsReported() {
+        // Arrange - a entrega 1 tem 25 minutos restantes
+        IncrementalRouteRepair repair = new IncrementalRouteRepair(lineMatrix(3), new int[] {1000, 25, 1000}, 0, 10);
+
+        // Act
+        int[] planned = repair.repair(new int[] {0, 1, 2}, new int[0]);
+        int[] prioritized = repair.repair(new int[] {0, 1, 2}, new int[] {2});
+
+        // Assert - após a entrega 2 o restante volta em direção ao ponto inicial,
+        // e a entrega 1 passa a chegar em 40 minutos
+        assertArrayEquals(new int[] {0, 1, 2}, planned);
+        assertEquals(0.0, repair.lateness(planned)[1], 1e-9);
+        assertArrayEquals(new int[] {2, 1, 0}, prioritized);
+        assertEquals(15.0, repair.lateness(prioritized)[1], 1e-9);
+    }
+
+    @Test
+    void testKernelReturnsToStartInsteadOfCurrentPosition() {
+        // Arrange
+        IncrementalRouteRepair repair = new IncrementalRouteRepair(lineMatrix(2), new int[] {1000, 1000}, 0, 10);
+
+        // Act
+        double cost = repair.kernel().cost(new int[] {0, 1});
+
+        // Assert - 20 minutos até a entrega 1 e 30 de volta ao ponto inicial
+        assertEquals(50.0, cost, 1e-9);
+    }
+}
@@ -0,0 +1,93 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.Product;
+import io.jenetics.EnumGene;
+import io.jenetics.PartiallyMatchedCrossover;
+import io.jenetics.PermutationChromosome;
+import io.jenetics.Phenotype;
+import io.jenetics.SwapMutator;
+import io.jenetics.engine.Engine;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IslandEvolutionTest {
+
+    private static RouteFitnessKernel kernel(int deliveries) {
+        // Pontos sobre uma reta: o ótimo visita as entregas em ordem e volta
+        double[][] matrix = new double[deliveries + 2][deliveries + 2];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix.length; j++) {
+                int a = i == deliveries + 1 ? 0 : i;
+                int b = j == deliveries + 1 ? 0 : j;
+                matrix[i][j] = Math.abs(a - b) * 10.0;
+            }
+        }
+
+        List<Delivery> list = new ArrayList<>();
+        for (int i = 0; i < deliveries; i++) {
+            Product product = new Product("Alface", "VEGETABLE", 10.0, "kg", 1000);
+            list.add(new Delivery(new Location(-15.0, -47.0, "Entrega " + i), Arrays.asList(product)));
+        }
+        return new RouteFitnessKernel(matrix, list, 5);
+    }
+
+    private static Engine<EnumGene<Integer>, Double> engine(RouteFitnessKernel kernel) {
+        return Engine
+                .builder(
+                    genotype -> -kernel.cost(genotype.chromosome()),
+                    PermutationChromosome.ofInteger(kernel.getDeliveryCount())
+                )
+                .populationSize(50)
+                .alterers(new SwapMutator<>(0.15), new PartiallyMatchedCrossover<>(0.65))
+                .executor(Runnable::run)
+                .build();
+    }
+
+    @Test
+    void testIslandsReachKnownOptimum() {
+        // Arrange
+        RouteFitnessKernel kernel = kernel(8);
+        double optimum = kernel.cost(HeldKarpRouteSolver.solve(kernel));
+        EvolutionTermination termination = new EvolutionTermination(5000, 0, null, Double.NaN, optimum);
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        // Act
+        Phenotype<EnumGene<Integer>, Double> best;
+        try {
+            best = new IslandEvolution(engine(kernel), 3, 10, 2, pool)
+                    .run(List.of(), termination, (generation, epochBest) -> {}, new EvolutionTelemetry());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(EvolutionTermination.Reason.OPTIMUM_REACHED, termination.getReason());
+        assertEquals(optimum, -best.fitness(), 1e-9);
+    }
+
+    @Test
+    void testStopsAtGenerationLimitInsideEpoch() {
+        // Arrange - o limite cai no meio da segunda época
+        RouteFitnessKernel kernel = kernel(10);
+        EvolutionTermination termination = new EvolutionTermination(15, 0, null, Double.NaN, Double.NaN);
+
+        // Act
+        Phenotype<EnumGene<Integer>, Double> best =
+                new IslandEvolution(engine(kernel), 2, 10, 1, Runnable::run)
+                        .run(List.of(), termination, (generation, epochBest) -> {}, new EvolutionTelemetry());
+
+        // Assert
+        assertEquals(EvolutionTermination.Reason.MAX_GENERATIONS, termination.getReason());
+        assertEquals(15, termination.getGenerations());
+        // A época é concluída inteira, então o melhor indivíduo nunca é pior que o último custo avaliado
+        assertTrue(-best.fitness() <= termination.getBestCost());
+    }
+}
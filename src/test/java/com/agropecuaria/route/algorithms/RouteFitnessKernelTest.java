@@ -0,0 +1,70 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.Product;
+import com.agropecuaria.route.services.GoogleMapsService;
+import io.jenetics.PermutationChromosome;
+import io.jenetics.util.ISeq;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteFitnessKernelTest {
+
+    private static final double[][] TIME_MATRIX = {
+        {0, 60, 90, 0},  // Início -> entrega 0: 60min, início -> entrega 1: 90min
+        {60, 0, 75, 60},
+        {90, 75, 0, 90},
+        {0, 60, 90, 0}   // Retorno ao início
+    };
+
+    private static Delivery delivery(int maxDeliveryTimeMinutes) {
+        Product product = new Product("Leite", "Lácteo", 10.0, "litros", maxDeliveryTimeMinutes);
+        return new Delivery(new Location(-23.5505, -46.6333, "São Paulo, SP"), Arrays.asList(product));
+    }
+
+    @Test
+    void testCostMatchesRouteTimeWithoutPenalty() {
+        // Arrange
+        List<Delivery> deliveries = Arrays.asList(delivery(1000), delivery(1000));
+        RouteFitnessKernel kernel = new RouteFitnessKernel(TIME_MATRIX, deliveries, 15);
+        double expected = new GoogleMapsService().calculateRouteTime(Arrays.asList(0, 1, 2, 0), TIME_MATRIX, 15);
+
+        // Act
+        double cost = kernel.cost(new int[] {0, 1});
+
+        // Assert
+        // Tempo esperado: 60 + 15 + 75 + 15 + 90 = 255 minutos
+        assertEquals(255.0, expected, 0.001);
+        assertEquals(expected, cost, 0.001);
+    }
+
+    @Test
+    void testCostAddsQuadraticPenaltyForLateDelivery() {
+        // Arrange - segunda entrega chega em 165 minutos com prazo de 160
+        List<Delivery> deliveries = Arrays.asList(delivery(1000), delivery(160));
+        RouteFitnessKernel kernel = new RouteFitnessKernel(TIME_MATRIX, deliveries, 15);
+
+        // Act
+        double cost = kernel.cost(new int[] {0, 1});
+
+        // Assert
+        assertEquals(255.0 + 5 * 5 * RouteFitnessKernel.PENALTY_WEIGHT, cost, 0.001);
+    }
+
+    @Test
+    void testChromosomeCostMatchesArrayCost() {
+        // Arrange
+        List<Delivery> deliveries = Arrays.asList(delivery(100), delivery(120));
+        RouteFitnessKernel kernel = new RouteFitnessKernel(TIME_MATRIX, deliveries, 15);
+        PermutationChromosome<Integer> chromosome = PermutationChromosome.of(ISeq.of(0, 1)).newInstance();
+        int[] order = chromosome.stream().mapToInt(gene -> gene.alleleIndex()).toArray();
+
+        // Act & Assert
+        assertEquals(kernel.cost(order), kernel.cost(chromosome), 0.001);
+    }
+}
@@ -0,0 +1,163 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.Product;
+import io.jenetics.EnumGene;
+import io.jenetics.PermutationChromosome;
+import io.jenetics.Phenotype;
+import io.jenetics.SwapMutator;
+import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteLocalSearchTest {
+
+    private static RouteFitnessKernel kernel(double[][] matrix, int... deadlines) {
+        List<Delivery> deliveries = new ArrayList<>();
+        for (int deadline : deadlines) {
+            Product product = new Product("Alface", "VEGETABLE", 10.0, "kg", deadline);
+            deliveries.add(new Delivery(new Location(-15.0, -47.0, "Entrega"), Arrays.asList(product)));
+        }
+        return new RouteFitnessKernel(matrix, deliveries, 5);
+    }
+
+    // Pontos sobre uma reta; o último nó é o retorno ao início
+    private static double[][] lineMatrix(int deliveries) {
+        double[][] matrix = new double[deliveries + 2][deliveries + 2];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix.length; j++) {
+                int a = i == deliveries + 1 ? 0 : i;
+                int b = j == deliveries + 1 ? 0 : j;
+                matrix[i][j] = Math.abs(a - b) * 10.0;
+            }
+        }
+        return matrix;
+    }
+
+    private static int[] deadlines(int count, int deadline) {
+        int[] deadlines = new int[count];
+        Arrays.fill(deadlines, deadline);
+        return deadlines;
+    }
+
+    @Test
+    void testUntanglesScrambledRouteToOptimum() {
+        // Arrange
+        RouteFitnessKernel kernel = kernel(lineMatrix(9), deadlines(9, 10_000));
+        int[] scrambled = {4, 8, 0, 6, 2, 7, 1, 5, 3};
+        double optimum = kernel.cost(HeldKarpRouteSolver.solve(kernel));
+
+        // Act
+        RouteLocalSearch localSearch = new RouteLocalSearch(kernel, 50);
+        int[] improved = localSearch.improve(scrambled);
+
+        // Assert
+        assertEquals(optimum, kernel.cost(improved), 1e-9);
+        assertEquals(kernel.cost(improved), localSearch.getCost(), 1e-9);
+        assertArrayEquals(new int[] {4, 8, 0, 6, 2, 7, 1, 5, 3}, scrambled);
+    }
+
+    @Test
+    void testNeverTradesDeadlinesForShorterTravel() {
+        // Arrange - a entrega 2 (longe) tem prazo curto e precisa vir primeiro
+        RouteFitnessKernel kernel = kernel(lineMatrix(3), 500, 500, 36);
+        int[] onTime = {2, 0, 1};
+
+        // Act
+        int[] improved = new RouteLocalSearch(kernel, 50).improve(onTime);
+
+        // Assert
+        assertTrue(kernel.isOnTime(improved));
+        assertEquals(2, improved[0]);
+        assertTrue(kernel.cost(improved) <= kernel.cost(onTime));
+    }
+
+    @Test
+    void testDeltaEvaluationHoldsOnAsymmetricMatrix() {
+        // Arrange
+        Random random = new Random(7);
+        int deliveries = 12;
+        double[][] matrix = new double[deliveries + 2][deliveries + 2];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix.length; j++) {
+                matrix[i][j] = i == j ? 0 : 5 + random.nextInt(60);
+            }
+        }
+        matrix[deliveries + 1] = matrix[0].clone();
+        RouteFitnessKernel kernel = kernel(matrix, deadlines(deliveries, 10_000));
+        int[] initial = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11};
+
+        // Act
+        RouteLocalSearch localSearch = new RouteLocalSearch(kernel, 50);
+        int[] improved = localSearch.improve(initial);
+
+        // Assert - o custo reportado confere com a avaliação completa do núcleo
+        assertTrue(kernel.cost(improved) < kernel.cost(initial));
+        assertEquals(kernel.cost(improved), localSearch.getCost(), 1e-9);
+        assertEquals(deliveries, Arrays.stream(improved).distinct().count());
+    }
+
+    @Test
+    void testMemeticStageImprovesEliteDuringEvolution() {
+        // Arrange - só mutação, incapaz de achar o ótimo em poucas gerações sozinha
+        RouteFitnessKernel kernel = kernel(lineMatrix(30), deadlines(30, 100_000));
+        Engine<EnumGene<Integer>, Double> engine = Engine
+                .builder(
+                    genotype -> -kernel.cost(genotype.chromosome()),
+                    PermutationChromosome.ofInteger(30)
+                )
+                .populationSize(20)
+                .alterers(new SwapMutator<>(0.05))
+                .interceptor(new MemeticStage(kernel, 1, 1, 50))
+                .executor(Runnable::run)
+                .build();
+
+        // Act
+        Phenotype<EnumGene<Integer>, Double> best = engine.stream()
+                .limit(2)
+                .collect(EvolutionResult.toBestPhenotype());
+
+        // Assert - na reta o ótimo é ir até o fim e voltar: 2 x 300 + 30 x 5
+        assertEquals(750.0, -best.fitness(), 1e-9);
+    }
+
+    @Test
+    void testCandidateListsStillReachOptimumOnLine() {
+        // Arrange - cada nó só enxerga os 4 vizinhos mais próximos na reta
+        int deliveries = 40;
+        RouteFitnessKernel kernel = kernel(lineMatrix(deliveries), deadlines(deliveries, 100_000));
+        int[][] candidates = new int[deliveries + 1][];
+        for (int node = 0; node <= deliveries; node++) {
+            int from = node;
+            candidates[node] = java.util.stream.IntStream.rangeClosed(0, deliveries)
+                    .filter(other -> other != from)
+                    .boxed()
+                    .sorted(java.util.Comparator.comparingInt(other -> Math.abs(other - from)))
+                    .limit(4)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        List<Integer> shuffled = new ArrayList<>();
+        for (int i = 0; i < deliveries; i++) {
+            shuffled.add(i);
+        }
+        java.util.Collections.shuffle(shuffled, new Random(3));
+        int[] initial = shuffled.stream().mapToInt(Integer::intValue).toArray();
+
+        // Act
+        RouteLocalSearch localSearch = new RouteLocalSearch(kernel, 100, candidates);
+        int[] improved = localSearch.improve(initial);
+
+        // Assert - ir até o fim e voltar: 2 x 400 + 40 x 5
+        assertEquals(1000.0, kernel.cost(improved), 1e-9);
+        assertEquals(kernel.cost(improved), localSearch.getCost(), 1e-9);
+    }
+}
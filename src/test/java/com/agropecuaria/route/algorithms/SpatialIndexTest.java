@@ -0,0 +1,63 @@
+package com.agropecuaria.route.algorithms;
+
+import com.agropecuaria.route.models.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialIndexTest {
+
+    @Test
+    void testNearestMatchesBruteForce() {
+        // Arrange - pontos espalhados em torno de Brasília
+        Random random = new Random(5);
+        List<Location> locations = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            locations.add(new Location(-15.8 + random.nextDouble() - 0.5, -47.9 + random.nextDouble() - 0.5, "Ponto " + i));
+        }
+        double cosLatitude = Math.cos(Math.toRadians(locations.stream().mapToDouble(Location::getLatitude).average().orElse(0)));
+
+        // Act
+        int[][] nearest = new SpatialIndex(locations).nearest(8);
+
+        // Assert
+        for (int point = 0; point < locations.size(); point++) {
+            Location from = locations.get(point);
+            int self = point;
+            int[] expected = IntStream.range(0, locations.size())
+                    .filter(other -> other != self)
+                    .boxed()
+                    .sorted(Comparator.comparingDouble(other -> {
+                        double dx = (locations.get(other).getLongitude() - from.getLongitude()) * cosLatitude;
+                        double dy = locations.get(other).getLatitude() - from.getLatitude();
+                        return dx * dx + dy * dy;
+                    }))
+                    .limit(8)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            assertArrayEquals(expected, nearest[point], "Vizinhos do ponto " + point);
+        }
+    }
+
+    @Test
+    void testNeighbourCountIsCappedBySize() {
+        // Arrange
+        List<Location> locations = List.of(
+                new Location(0.0, 0.0, "A"),
+                new Location(0.0, 1.0, "B"),
+                new Location(0.0, 3.0, "C")
+        );
+        SpatialIndex index = new SpatialIndex(locations);
+
+        // Act & Assert
+        assertArrayEquals(new int[] {1, 2}, index.nearest(0, 5));
+        assertArrayEquals(new int[] {1}, index.nearest(2, 1));
+        assertEquals(0, new SpatialIndex(List.of(locations.get(0))).nearest(0, 3).length);
+    }
+}
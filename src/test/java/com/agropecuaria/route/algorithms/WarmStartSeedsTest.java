@@ -0,0 +1,56 @@
+package com.agropecuaria.route.algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarmStartSeedsTest {
+
+    // Pontos sobre uma reta, a entrega i a (i + 1) * 10 minutos do início
+    private static RouteFitnessKernel lineKernel(int[] deadlines) {
+        int size = deadlines.length + 1;
+        double[][] matrix = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix[i][j] = Math.abs(i - j) * 10.0;
+            }
+        }
+        return new RouteFitnessKernel(matrix, deadlines, 0);
+    }
+
+    @Test
+    void testCheapestInsertionPlacesNewDeliveriesBetweenNeighbours() {
+        // Arrange
+        RouteFitnessKernel kernel = lineKernel(new int[] {1000, 1000, 1000, 1000, 1000});
+
+        // Act - plano anterior com 0, 2 e 4; as entregas 1 e 3 são novas
+        int[] order = WarmStartSeeds.cheapestInsertion(kernel, new int[] {0, 2, 4});
+
+        // Assert
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4}, order);
+    }
+
+    @Test
+    void testSeedsIncludeHeuristicsAndPreviousOrderWithoutDuplicates() {
+        // Arrange - a entrega mais distante tem o prazo mais curto
+        RouteFitnessKernel kernel = lineKernel(new int[] {1000, 1000, 1000, 35});
+
+        // Act
+        List<int[]> seeds = WarmStartSeeds.of(kernel, new int[] {3, 2, 1});
+        List<int[]> heuristics = WarmStartSeeds.of(kernel, null);
+
+        // Assert - ordem anterior completada, vizinho mais próximo e prazo mais cedo primeiro
+        assertArrayEquals(new int[] {0, 3, 2, 1}, seeds.get(0));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, seeds.get(1));
+        assertEquals(3, seeds.size());
+        assertEquals(2, heuristics.size());
+        for (int[] seed : seeds) {
+            int[] sorted = seed.clone();
+            Arrays.sort(sorted);
+            assertArrayEquals(new int[] {0, 1, 2, 3}, sorted);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.agropecuaria.route.rest;
+
+import com.agropecuaria.route.models.*;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class OptimizationJobResourceTest {
+    
+    private static RouteOptimizationRequest request(int deliveries, String profile) {
+        Random random = new Random(3);
+        List<Delivery> list = new ArrayList<>();
+        for (int i = 0; i < deliveries; i++) {
+            Product product = new Product("Milho", "GRAIN", 20.0, "kg", 100_000);
+            list.add(new Delivery(
+                new Location(-15.7942 + random.nextDouble() * 0.4 - 0.2, -47.8822 + random.nextDouble() * 0.4 - 0.2, "Entrega " + i),
+                Arrays.asList(product),
+                "Cliente " + i
+            ));
+        }
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF"));
+        request.setDeliveries(list);
+        request.setProfile(profile);
+        return request;
+    }
+    
+    private static String submit(RouteOptimizationRequest request) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/route-optimization/jobs")
+        .then()
+            .statusCode(202)
+            .header("Location", containsString("/api/route-optimization/jobs/"))
+            .body("state", anyOf(equalTo("QUEUED"), equalTo("RUNNING")))
+            .extract().path("jobId");
+    }
+    
+    private static String awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (System.currentTimeMillis() < deadline) {
+            String state = given().when().get("/api/route-optimization/jobs/" + jobId)
+                .then().statusCode(200).extract().path("state");
+            if (!state.equals("QUEUED") && !state.equals("RUNNING")) {
+                return state;
+            }
+            Thread.sleep(100);
+        }
+        return fail("Job não terminou a tempo");
+    }
+    
+    @Test
+    void testSubmittedJobCompletesWithResult() throws InterruptedException {
+        // Arrange
+        String jobId = submit(request(15, "fast"));
+        
+        // Act
+        String state = awaitFinished(jobId);
+        
+        // Assert
+        assertEquals("COMPLETED", state);
+        given()
+        .when()
+            .get("/api/route-optimization/jobs/" + jobId)
+        .then()
+            .statusCode(200)
+            .body("result.feasible", is(true))
+            .body("result.optimizedRoute.size()", is(17))
+            .body("bestRoute.size()", is(17))
+            .body("finishedAt", notNullValue());
+    }
+    
+    @Test
+    void testCancelStopsRunningJob() throws InterruptedException {
+        // Arrange - perfil completo levaria até 30 segundos
+        String jobId = submit(request(60, "thorough"));
+        
+        // Act
+        given()
+        .when()
+            .delete("/api/route-optimization/jobs/" + jobId)
+        .then()
+            .statusCode(200)
+            .body("jobId", equalTo(jobId));
+        long cancelledAt = System.currentTimeMillis();
+        String state = awaitFinished(jobId);
+        
+        // Assert
+        assertEquals("CANCELLED", state);
+        assertTrue(System.currentTimeMillis() - cancelledAt < 10_000);
+    }
+    
+    @Test
+    void testEventsOfFinishedJobEmitFinalState() throws InterruptedException {
+        // Arrange
+        String jobId = submit(request(3, "fast"));
+        awaitFinished(jobId);
+        
+        // Act & Assert
+        given()
+            .accept("text/event-stream")
+        .when()
+            .get("/api/route-optimization/jobs/" + jobId + "/events")
+        .then()
+            .statusCode(200)
+            .body(containsString("\"state\":\"COMPLETED\""));
+    }
+    
+    @Test
+    void testSubmitRejectsOversizedRequest() {
+        // Act & Assert - uma entrega acima de route.optimization.max-deliveries
+        given()
+            .contentType(ContentType.JSON)
+            .body(request(1001, "fast"))
+        .when()
+            .post("/api/route-optimization/jobs")
+        .then()
+            .statusCode(400)
+            .body("message", containsString("máximo: 1000"));
+    }
+    
+    @Test
+    void testUnknownJob() {
+        // Act & Assert
+        given()
+        .when()
+            .get("/api/route-optimization/jobs/inexistente")
+        .then()
+            .statusCode(404)
+            .body("message", containsString("inexistente"));
+        
+        given()
+        .when()
+            .delete("/api/route-optimization/jobs/inexistente")
+        .then()
+            .statusCode(404);
+    }
+}
@@ -6,6 +6,7 @@ import io.restassured.http.ContentType;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.List;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
@@ -62,6 +63,260 @@ class RouteOptimizationResourceTest {
             .body("violations[0].message", equalTo("must not be null"));
     }
     
+    @Test
+    void testOptimizeRouteUnknownProfile() {
+        // Arrange
+        Location startLocation = new Location(-23.5505, -46.6333, "São Paulo, SP");
+        Product product = new Product("Queijo", "Lácteo", 50.0, "kg", 720);
+        Delivery delivery = new Delivery(
+            new Location(-23.5000, -46.6000, "Perto de São Paulo, SP"),
+            Arrays.asList(product),
+            "Cliente 1"
+        );
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(Arrays.asList(delivery));
+        request.setProfile("turbo");
+        
+        // Act & Assert
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/route-optimization/optimize")
+        .then()
+            .statusCode(400)
+            .body("message", containsString("turbo"));
+    }
+    
+    @Test
+    void testOversizedRequestsAreRejected() {
+        // Arrange - uma entrega acima de route.optimization.max-deliveries
+        java.util.Random random = new java.util.Random(5);
+        java.util.List<Delivery> deliveries = new java.util.ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            deliveries.add(new Delivery(
+                new Location(-15.7942 + random.nextDouble() * 0.4 - 0.2, -47.8822 + random.nextDouble() * 0.4 - 0.2, "Entrega " + i),
+                Arrays.asList(new Product("Milho", "GRAIN", 20.0, "kg", 100_000)),
+                "Cliente " + i
+            ));
+        }
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF"));
+        request.setDeliveries(deliveries);
+        
+        // Act & Assert
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/route-optimization/optimize")
+        .then()
+            .statusCode(400)
+            .body("message", containsString("máximo: 1000"));
+        
+        given()
+            .contentType(ContentType.JSON)
+            .accept("text/event-stream")
+            .body(request)
+        .when()
+            .post("/api/route-optimization/optimize-stream")
+        .then()
+            .statusCode(400);
+        
+        String batch = given()
+            .contentType(ContentType.JSON)
+            .accept("text/event-stream")
+            .body(Arrays.asList(request))
+        .when()
+            .post("/api/route-optimization/optimize-batch")
+        .then()
+            .statusCode(200)
+            .extract().asString();
+        org.junit.jupiter.api.Assertions.assertTrue(batch.contains("máximo: 1000"));
+    }
+    
+    @Test
+    void testOptimizeRouteStreamEmitsPartialRoutesThenFinal() {
+        // Arrange - acima do limite do solver exato, para que haja evolução
+        java.util.Random random = new java.util.Random(21);
+        java.util.List<Delivery> deliveries = new java.util.ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            deliveries.add(new Delivery(
+                new Location(-15.7942 + random.nextDouble() * 0.4 - 0.2, -47.8822 + random.nextDouble() * 0.4 - 0.2, "Entrega " + i),
+                Arrays.asList(new Product("Milho", "GRAIN", 20.0, "kg", 100_000)),
+                "Cliente " + i
+            ));
+        }
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF"));
+        request.setDeliveries(deliveries);
+        request.setProfile("fast");
+        
+        // Act
+        String body = given()
+            .contentType(ContentType.JSON)
+            .accept("text/event-stream")
+            .body(request)
+        .when()
+            .post("/api/route-optimization/optimize-stream")
+        .then()
+            .statusCode(200)
+            .extract().asString();
+        
+        // Assert - parciais primeiro, resposta completa por último
+        org.junit.jupiter.api.Assertions.assertTrue(body.contains("\"partial\":true"));
+        org.junit.jupiter.api.Assertions.assertTrue(
+            body.lastIndexOf("\"partial\":false") > body.lastIndexOf("\"partial\":true"));
+        org.junit.jupiter.api.Assertions.assertTrue(body.contains("\"terminationReason\":\""));
+    }
+    
+    @Test
+    void testOptimizeBatchIsolatesInvalidRequests() {
+        // Arrange - duas rotas com uma entrega em comum e uma com perfil inexistente
+        Location startLocation = new Location(-15.7942, -47.8822, "Brasília, DF");
+        Product product = new Product("Feijão", "GRAIN", 30.0, "kg", 10_000);
+        Delivery shared = new Delivery(new Location(-15.8300, -47.9500, "Feira"), Arrays.asList(product), "Feira");
+        
+        RouteOptimizationRequest first = new RouteOptimizationRequest(startLocation, Arrays.asList(
+            shared,
+            new Delivery(new Location(-15.8100, -47.9100, "Entrega A"), Arrays.asList(product), "Cliente A")
+        ));
+        RouteOptimizationRequest second = new RouteOptimizationRequest(
+            new Location(-15.6000, -47.7000, "Sobradinho, DF"), Arrays.asList(shared)
+        );
+        RouteOptimizationRequest invalid = new RouteOptimizationRequest(startLocation, Arrays.asList(shared));
+        invalid.setProfile("turbo");
+        
+        // Act
+        String body = given()
+            .contentType(ContentType.JSON)
+            .accept("text/event-stream")
+            .body(Arrays.asList(first, invalid, second))
+        .when()
+            .post("/api/route-optimization/optimize-batch")
+        .then()
+            .statusCode(200)
+            .extract().asString();
+        
+        // Assert - um evento por rota; só a inválida traz erro
+        org.junit.jupiter.api.Assertions.assertTrue(body.contains("\"index\":0"));
+        org.junit.jupiter.api.Assertions.assertTrue(body.contains("\"index\":1"));
+        org.junit.jupiter.api.Assertions.assertTrue(body.contains("\"index\":2"));
+        org.junit.jupiter.api.Assertions.assertTrue(body.contains("Perfil de otimização desconhecido: turbo"));
+        org.junit.jupiter.api.Assertions.assertEquals(2, body.split("\"feasible\":true", -1).length - 1);
+    }
+    
+    @Test
+    void testOptimizeBatchRejectsEmptyBatch() {
+        given()
+            .contentType(ContentType.JSON)
+            .accept("text/event-stream")
+            .body(List.of())
+        .when()
+            .post("/api/route-optimization/optimize-batch")
+        .then()
+            .statusCode(400);
+    }
+    
+    @Test
+    void testOptimizeFleetWithoutVehicles() {
+        // Arrange
+        Location startLocation = new Location(-23.5505, -46.6333, "São Paulo, SP");
+        Product product = new Product("Queijo", "Lácteo", 50.0, "kg", 720);
+        Delivery delivery = new Delivery(
+            new Location(-23.5000, -46.6000, "Perto de São Paulo, SP"),
+            Arrays.asList(product),
+            "Cliente 1"
+        );
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(Arrays.asList(delivery));
+        
+        // Act & Assert
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/route-optimization/optimize-fleet")
+        .then()
+            .statusCode(400)
+            .body("message", containsString("veículo"));
+    }
+    
+    @Test
+    void testOptimizeFleet() {
+        // Arrange
+        Location startLocation = new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF");
+        Delivery delivery1 = new Delivery(
+            new Location(-15.7801, -47.9292, "Taguatinga Norte, DF"),
+            Arrays.asList(new Product("Banana", "FRUIT", 80.0, "kg", 600)),
+            "Cliente 1"
+        );
+        Delivery delivery2 = new Delivery(
+            new Location(-15.8267, -47.9218, "Águas Claras, DF"),
+            Arrays.asList(new Product("Alface", "VEGETABLE", 80.0, "kg", 600)),
+            "Cliente 2"
+        );
+        Delivery delivery3 = new Delivery(
+            new Location(-15.8697, -47.9172, "Guará, DF"),
+            Arrays.asList(new Product("Milho", "GRAIN", 80.0, "kg", 600)),
+            "Cliente 3"
+        );
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(Arrays.asList(delivery1, delivery2, delivery3));
+        request.setProfile("fast");
+        request.setVehicles(Arrays.asList(new Vehicle("Caminhão 1", 100.0), new Vehicle("Caminhão 2", 200.0)));
+        
+        // Act & Assert - 240 kg não cabem em um veículo só
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/route-optimization/optimize-fleet")
+        .then()
+            .statusCode(200)
+            .body("feasible", is(true))
+            .body("vehiclesUsed", is(2))
+            .body("routes.vehicleId", containsInAnyOrder("Caminhão 1", "Caminhão 2"))
+            .body("routes.find { it.vehicleId == 'Caminhão 1' }.load", is(80.0f));
+    }
+    
+    @Test
+    void testOptimizeFleetRejectsLargeRequests() {
+        // Arrange - route.optimization.large.min-deliveries entregas
+        java.util.Random random = new java.util.Random(8);
+        java.util.List<Delivery> deliveries = new java.util.ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            deliveries.add(new Delivery(
+                new Location(-15.7942 + random.nextDouble() * 0.4 - 0.2, -47.8822 + random.nextDouble() * 0.4 - 0.2, "Entrega " + i),
+                Arrays.asList(new Product("Milho", "GRAIN", 20.0, "kg", 100_000)),
+                "Cliente " + i
+            ));
+        }
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF"));
+        request.setDeliveries(deliveries);
+        request.setVehicles(Arrays.asList(new Vehicle("Caminhão 1", 10_000.0)));
+        
+        // Act & Assert
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/route-optimization/optimize-fleet")
+        .then()
+            .statusCode(400)
+            .body("message", containsString("máximo: 149"));
+    }
+    
     @Test
     void testOptimizeRouteWithSpoilageValidation() {
         // Arrange - Usando dados do example-spoilage-test.json
@@ -174,6 +429,210 @@ class RouteOptimizationResourceTest {
             .body("totalDistanceKm", greaterThan(0.0f));
     }
 
+    @Test
+    void testCheckFeasibilityWithoutOptimizing() {
+        // Arrange
+        Location startLocation = new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF");
+        
+        Product produtoViavel = new Product("Banana madura", "FRUIT", 30.0, "kg", 120);
+        
+        Delivery delivery = new Delivery(
+            new Location(-15.7801, -47.9292, "Taguatinga Norte, DF"),
+            Arrays.asList(produtoViavel),
+            "Cliente Próximo"
+        );
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(Arrays.asList(delivery));
+        
+        // Act & Assert - apenas viabilidade, sem rota otimizada
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/route-optimization/check-feasibility")
+        .then()
+            .statusCode(200)
+            .body("feasible", is(true))
+            .body("optimizedRoute", nullValue())
+            .body("message", containsString("Rota viável"));
+    }
+
+    @Test
+    void testRepeatedRequestIsServedFromResultCache() {
+        // Arrange - mesma rota reenviada alterando apenas as observações da entrega
+        Location startLocation = new Location(-16.6869, -49.2648, "Goiânia, GO");
+        Product product = new Product("Alface", "VEGETABLE", 20.0, "kg", 600);
+        Delivery first = new Delivery(new Location(-16.6000, -49.3000, "Entrega A"), Arrays.asList(product), "Cliente A");
+        Delivery second = new Delivery(new Location(-16.7500, -49.2000, "Entrega B"), Arrays.asList(product), "Cliente B");
+        first.setDeliveryNotes("Portão azul");
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(startLocation);
+        request.setDeliveries(Arrays.asList(first, second));
+        
+        List<Integer> route = given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/route-optimization/optimize")
+        .then()
+            .statusCode(200)
+            .body("cached", nullValue())
+            .extract().path("optimizedRoute");
+        
+        first.setDeliveryNotes("Portão verde");
+        
+        // Act & Assert
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/route-optimization/optimize")
+        .then()
+            .statusCode(200)
+            .body("cached", is(true))
+            .body("optimizedRoute", equalTo(route))
+            .body("deliveryOrder.deliveryNotes", hasItem("Portão verde"));
+        
+        given()
+        .when()
+            .get("/api/route-optimization/info")
+        .then()
+            .statusCode(200)
+            .body("resultCacheHits", greaterThan(0));
+    }
+
+    @Test
+    void testRepeatedRequestWithStatisticsIsNotServedFromResultCache() {
+        // Arrange - acima do limite do solver exato, para que haja evolução
+        java.util.Random random = new java.util.Random(31);
+        java.util.List<Delivery> deliveries = new java.util.ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            deliveries.add(new Delivery(
+                new Location(-15.7942 + random.nextDouble() * 0.4 - 0.2, -47.8822 + random.nextDouble() * 0.4 - 0.2, "Entrega " + i),
+                Arrays.asList(new Product("Milho", "GRAIN", 20.0, "kg", 100_000)),
+                "Cliente " + i
+            ));
+        }
+        
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(new Location(-15.7942, -47.8822, "Setor Comercial Sul, Brasília, DF"));
+        request.setDeliveries(deliveries);
+        request.setProfile("fast");
+        request.setIncludeStatistics(true);
+        
+        // Act & Assert - as duas respostas vêm de uma execução, com a telemetria
+        for (int attempt = 0; attempt < 2; attempt++) {
+            given()
+                .contentType(ContentType.JSON)
+                .body(request)
+            .when()
+                .post("/api/route-optimization/optimize")
+            .then()
+                .statusCode(200)
+                .body("cached", nullValue())
+                .body("evolutionStatistics.generations", greaterThan(0));
+        }
+    }
+    
+    @Test
+    void testReoptimizeRouteInProgress() {
+        // Arrange - rota [0, 1, 2, 3, 0] com a entrega 1 feita, a 3 cancelada e uma nova entrega
+        Location startLocation = new Location(-15.7942, -47.8822, "Brasília, DF");
+        Product product = new Product("Queijo", "DAIRY", 10.0, "kg", 600);
+        RouteOptimizationRequest original = new RouteOptimizationRequest();
+        original.setStartLocation(startLocation);
+        original.setDeliveries(Arrays.asList(
+            new Delivery(new Location(-15.8000, -47.9000, "Entrega A"), Arrays.asList(product), "Cliente A"),
+            new Delivery(new Location(-15.8300, -47.9500, "Entrega B"), Arrays.asList(product), "Cliente B"),
+            new Delivery(new Location(-15.8600, -48.0000, "Entrega C"), Arrays.asList(product), "Cliente C")
+        ));
+        
+        RouteRepairRequest repair = new RouteRepairRequest();
+        repair.setRequest(original);
+        repair.setCurrentRoute(Arrays.asList(0, 1, 2, 3, 0));
+        repair.setCurrentLocation(new Location(-15.8000, -47.9000, "Entrega A"));
+        repair.setElapsedMinutes(20);
+        repair.setCompletedDeliveries(Arrays.asList(1));
+        repair.setRemovedDeliveries(Arrays.asList(3));
+        repair.setAddedDeliveries(Arrays.asList(
+            new Delivery(new Location(-15.8400, -47.9700, "Entrega D"), Arrays.asList(product), "Cliente D")
+        ));
+        
+        // Act & Assert - a nova entrega é o nó 4
+        given()
+            .contentType(ContentType.JSON)
+            .body(repair)
+        .when()
+            .post("/api/route-optimization/reoptimize")
+        .then()
+            .statusCode(200)
+            .body("remainingRoute", containsInAnyOrder(2, 4, 0))
+            .body("remainingRoute[2]", equalTo(0))
+            .body("feasible", is(true))
+            .body("solverStrategy", equalTo("INCREMENTAL_REPAIR"))
+            .body("request.deliveries", hasSize(4))
+            .body("remainingTimeMinutes", greaterThan(0));
+    }
+
+    @Test
+    void testReoptimizeRejectsUnknownDelivery() {
+        // Arrange
+        Product product = new Product("Queijo", "DAIRY", 10.0, "kg", 600);
+        RouteOptimizationRequest original = new RouteOptimizationRequest();
+        original.setStartLocation(new Location(-15.7942, -47.8822, "Brasília, DF"));
+        original.setDeliveries(Arrays.asList(
+            new Delivery(new Location(-15.8000, -47.9000, "Entrega A"), Arrays.asList(product), "Cliente A")
+        ));
+        
+        RouteRepairRequest repair = new RouteRepairRequest();
+        repair.setRequest(original);
+        repair.setCurrentRoute(Arrays.asList(0, 1, 0));
+        repair.setCurrentLocation(new Location(-15.7942, -47.8822, "Brasília, DF"));
+        repair.setElapsedMinutes(0);
+        repair.setRemovedDeliveries(Arrays.asList(5));
+        
+        // Act & Assert
+        given()
+            .contentType(ContentType.JSON)
+            .body(repair)
+        .when()
+            .post("/api/route-optimization/reoptimize")
+        .then()
+            .statusCode(400)
+            .body("message", containsString("removedDeliveries"));
+    }
+
+    @Test
+    void testOptimizationPhasesArePublishedAsMetrics() {
+        // Arrange
+        Product product = new Product("Ovos", "EGGS", 12.0, "dúzias", 600);
+        RouteOptimizationRequest request = new RouteOptimizationRequest(
+            new Location(-15.7942, -47.8822, "Brasília, DF"),
+            Arrays.asList(new Delivery(new Location(-15.9000, -47.7000, "Entrega"), Arrays.asList(product), "Cliente"))
+        );
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/route-optimization/optimize")
+        .then()
+            .statusCode(200);
+        
+        // Act & Assert
+        given()
+        .when()
+            .get("/q/metrics")
+        .then()
+            .statusCode(200)
+            .body(containsString("route_optimization_phase_seconds_bucket"))
+            .body(containsString("phase=\"feasibility\""))
+            .body(containsString("phase=\"serialization\""))
+            .body(containsString("route_optimization_matrix_seconds_count{deliveries=\"1-10\""));
+    }
+    
     @Test
     void testGetServiceInfo() {
         given()
@@ -0,0 +1,74 @@
+package com.agropecuaria.route.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        // Arrange
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(30), clock::get);
+
+        // Act - um sucesso no meio zera a contagem
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+        boolean allowedBeforeOpening = breaker.allowRequest();
+        breaker.recordFailure();
+
+        // Assert
+        assertTrue(allowedBeforeOpening);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    void testHalfOpenAllowsSingleTrialCall() {
+        // Arrange
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(30), clock::get);
+        breaker.recordFailure();
+
+        // Act
+        clock.set(Duration.ofSeconds(31).toNanos());
+        boolean trial = breaker.allowRequest();
+        boolean concurrent = breaker.allowRequest();
+        breaker.recordSuccess();
+
+        // Assert
+        assertTrue(trial);
+        assertFalse(concurrent);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void testFailedTrialReopensCircuit() {
+        // Arrange
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(5, Duration.ofSeconds(30), clock::get);
+        for (int i = 0; i < 5; i++) {
+            breaker.recordFailure();
+        }
+        clock.set(Duration.ofSeconds(30).toNanos());
+        assertTrue(breaker.allowRequest());
+
+        // Act
+        breaker.recordFailure();
+
+        // Assert - a espera recomeça a partir da falha da chamada de teste
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        clock.set(Duration.ofSeconds(59).toNanos());
+        assertFalse(breaker.allowRequest());
+        clock.set(Duration.ofSeconds(60).toNanos());
+        assertTrue(breaker.allowRequest());
+    }
+}
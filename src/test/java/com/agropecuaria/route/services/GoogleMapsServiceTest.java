@@ -1,13 +1,19 @@
 package com.agropecuaria.route.services;
 
 import com.agropecuaria.route.models.Location;
+import io.smallrye.mutiny.Uni;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -105,4 +111,225 @@ class GoogleMapsServiceTest {
         // Assert
         assertEquals(0.0, totalTime);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Cliente falso da Distance Matrix API: 10 minutos por par, recusa origens com latitude -10
+     */
+    private static DistanceMatrixClient distanceMatrixStub(List<Integer> elementsPerRequest) {
+        return (origins, destinations, key) -> {
+            int rows = origins.split("\\|").length;
+            int cols = destinations.split("\\|").length;
+            elementsPerRequest.add(rows * cols);
+            
+            DistanceMatrixResponse response = new DistanceMatrixResponse();
+            if (origins.contains("-10.0")) {
+                response.setStatus("REQUEST_DENIED");
+                response.setRows(List.of());
+                return Uni.createFrom().item(response);
+            }
+            
+            List<DistanceMatrixResponse.Row> matrixRows = new ArrayList<>();
+            for (int r = 0; r < rows; r++) {
+                List<DistanceMatrixResponse.Element> elements = new ArrayList<>();
+                for (int c = 0; c < cols; c++) {
+                    DistanceMatrixResponse.Value duration = new DistanceMatrixResponse.Value();
+                    duration.setValue(600);
+                    DistanceMatrixResponse.Element element = new DistanceMatrixResponse.Element();
+                    element.setStatus("OK");
+                    element.setDuration(duration);
+                    elements.add(element);
+                }
+                DistanceMatrixResponse.Row row = new DistanceMatrixResponse.Row();
+                row.setElements(elements);
+                matrixRows.add(row);
+            }
+            response.setStatus("OK");
+            response.setRows(matrixRows);
+            return Uni.createFrom().item(response);
+        };
+    }
+    
+    private static GoogleMapsService newStubbedService(DistanceMatrixClient client) {
+        TravelTimeCache cache = new TravelTimeCache();
+        cache.enabled = false;
+        cache.path = Optional.empty();
+        cache.ttl = Duration.ofDays(1);
+        cache.coordinatePrecision = 4;
+        cache.open();
+        
+        GoogleMapsService service = new GoogleMapsService();
+        service.googleMapsApiKey = "AIzaStubKeyForTests";
+        service.distanceMatrixClient = client;
+        service.maxElementsPerRequest = 100;
+        service.maxDimensionPerRequest = 25;
+        service.fetchParallelism = 3;
+        service.queryRateLimit = 1000;
+        service.requestTimeout = Duration.ofSeconds(5);
+        service.retries = 2;
+        service.retryBackoff = Duration.ofMillis(10);
+        service.retryMaxBackoff = Duration.ofMillis(50);
+        service.retryJitter = 0.5;
+        service.breakerFailureThreshold = 5;
+        service.breakerOpenDuration = Duration.ofMinutes(1);
+        service.travelTimeCache = cache;
+        return service;
+    }
+    
+    private static List<Location> gridLocations(int count) {
+        List<Location> locations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            locations.add(new Location(-15.0 - i * 0.1, -47.0 - i * 0.1, "Ponto " + i));
+        }
+        return locations;
+    }
+    
+    @Test
+    void testCalculateDistanceMatrixFetchesTilesWithinElementLimit() throws Exception {
+        // Arrange
+        List<Integer> elementsPerRequest = new CopyOnWriteArrayList<>();
+        GoogleMapsService service = newStubbedService(distanceMatrixStub(elementsPerRequest));
+        List<Location> locations = gridLocations(30);
+        
+        // Act
+        double[][] matrix = service.calculateDistanceMatrix(locations);
+        
+        // Assert - 30x30 dividida em blocos de 10x10
+        assertEquals(9, elementsPerRequest.size());
+        assertTrue(elementsPerRequest.stream().allMatch(elements -> elements <= 100));
+        assertEquals(0.0, matrix[0][0]);
+        assertEquals(10.0, matrix[0][29], 0.001);
+        assertEquals(10.0, matrix[29][0], 0.001);
+    }
+    
+    @Test
+    void testBatchMatricesFetchOnlyPairsWithinRoutes() {
+        // Arrange - duas rotas de 10 localizações sem pontos em comum e uma terceira repetindo parte da primeira
+        List<Integer> elementsPerRequest = new CopyOnWriteArrayList<>();
+        GoogleMapsService service = newStubbedService(distanceMatrixStub(elementsPerRequest));
+        List<Location> locations = gridLocations(20);
+        List<List<Location>> routes = List.of(
+            locations.subList(0, 10), locations.subList(10, 20), locations.subList(2, 6)
+        );
+        
+        // Act
+        List<double[][]> matrices = service.calculateDistanceMatricesAsync(routes).await().indefinitely();
+        
+        // Assert - um bloco 10x10 por rota, sem os pares entre rotas nem os repetidos
+        assertEquals(List.of(100, 100), elementsPerRequest);
+        assertEquals(10, matrices.get(0).length);
+        assertEquals(4, matrices.get(2).length);
+        assertEquals(10.0, matrices.get(0)[0][9], 0.001);
+        assertEquals(10.0, matrices.get(1)[9][0], 0.001);
+        assertEquals(10.0, matrices.get(2)[0][3], 0.001);
+        assertEquals(0.0, matrices.get(2)[1][1]);
+    }
+    
+    @Test
+    void testBatchOfSmallRoutesRequestsNoCrossRouteElements() {
+        // Arrange - quatro rotas pequenas; uma faixa de 10 origens juntaria rotas diferentes
+        List<Integer> elementsPerRequest = new CopyOnWriteArrayList<>();
+        GoogleMapsService service = newStubbedService(distanceMatrixStub(elementsPerRequest));
+        List<Location> locations = gridLocations(16);
+        List<List<Location>> routes = List.of(
+            locations.subList(0, 4), locations.subList(4, 8), locations.subList(8, 12), locations.subList(12, 16)
+        );
+        
+        // Act
+        List<double[][]> matrices = service.calculateDistanceMatricesAsync(routes).await().indefinitely();
+        
+        // Assert - um bloco 4x4 por rota: nenhum elemento entre rotas é pedido
+        assertEquals(List.of(16, 16, 16, 16), elementsPerRequest.stream().sorted().toList());
+        for (double[][] matrix : matrices) {
+            assertEquals(10.0, matrix[0][3], 0.001);
+            assertEquals(10.0, matrix[3][0], 0.001);
+        }
+    }
+    
+    @Test
+    void testBatchMatricesWithoutApiKeyUseStraightLineWithinRoutes() {
+        // Arrange
+        GoogleMapsService service = newStubbedService((origins, destinations, key) -> fail("A API não deve ser chamada"));
+        service.googleMapsApiKey = "";
+        List<Location> locations = gridLocations(6);
+        
+        // Act
+        List<double[][]> matrices = service.calculateDistanceMatricesAsync(
+            List.of(locations.subList(0, 3), locations.subList(3, 6))
+        ).await().indefinitely();
+        
+        // Assert - cada rota com a sua matriz em linha reta
+        assertEquals(3, matrices.get(1).length);
+        assertEquals(service.straightLineMinutes(locations.get(3), locations.get(5)), matrices.get(1)[0][2], 1e-6);
+        assertEquals(0.0, matrices.get(1)[1][1]);
+    }
+    
+    @Test
+    void testCalculateDistanceMatrixFallsBackPerTile() throws Exception {
+        // Arrange - a primeira localização faz o stub recusar os blocos em que é origem
+        List<Integer> elementsPerRequest = new CopyOnWriteArrayList<>();
+        GoogleMapsService service = newStubbedService(distanceMatrixStub(elementsPerRequest));
+        List<Location> locations = gridLocations(30);
+        locations.set(0, new Location(-10.0, -47.0, "Ponto recusado"));
+        
+        // Act
+        double[][] matrix = service.calculateDistanceMatrix(locations);
+        
+        // Assert - blocos recusados usam linha reta, os demais mantêm o tempo da API
+        assertNotEquals(10.0, matrix[0][29], 0.001);
+        assertTrue(matrix[0][29] > 0);
+        assertEquals(10.0, matrix[29][0], 0.001);
+        assertEquals(10.0, matrix[15][29], 0.001);
+        assertEquals(CircuitBreaker.State.CLOSED, service.getCircuitBreakerState());
+    }
+    
+    @Test
+    void testTransientFailuresAreRetried() {
+        // Arrange - a primeira chamada falha com erro passageiro da API
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> elementsPerRequest = new CopyOnWriteArrayList<>();
+        DistanceMatrixClient stub = distanceMatrixStub(elementsPerRequest);
+        GoogleMapsService service = newStubbedService((origins, destinations, key) -> {
+            if (calls.getAndIncrement() == 0) {
+                DistanceMatrixResponse overLimit = new DistanceMatrixResponse();
+                overLimit.setStatus("OVER_QUERY_LIMIT");
+                return Uni.createFrom().item(overLimit);
+            }
+            return stub.distanceMatrix(origins, destinations, key);
+        });
+        
+        // Act
+        double[][] matrix = service.calculateDistanceMatrixAsync(gridLocations(5)).await().indefinitely();
+        
+        // Assert
+        assertEquals(2, calls.get());
+        assertEquals(10.0, matrix[0][4], 0.001);
+    }
+    
+    @Test
+    void testOpenCircuitFallsBackWithoutCallingApi() {
+        // Arrange - API fora do ar: toda chamada expira sem resposta
+        AtomicInteger calls = new AtomicInteger();
+        GoogleMapsService service = newStubbedService((origins, destinations, key) -> {
+            calls.incrementAndGet();
+            return Uni.createFrom().nothing();
+        });
+        service.requestTimeout = Duration.ofMillis(200);
+        service.breakerFailureThreshold = 3;
+        service.retries = 0;
+        service.fetchParallelism = 1;
+        List<Location> locations = gridLocations(30);
+        
+        // Act - 9 blocos, mas o disjuntor abre após 3 falhas
+        double[][] first = service.calculateDistanceMatrix(locations);
+        long start = System.nanoTime();
+        double[][] second = service.calculateDistanceMatrix(locations);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        // Assert - os demais blocos e a segunda matriz usam linha reta sem esperar timeouts
+        assertEquals(3, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, service.getCircuitBreakerState());
+        assertEquals(service.straightLineMinutes(locations.get(0), locations.get(29)), first[0][29], 1e-9);
+        assertEquals(first[0][29], second[0][29], 1e-9);
+        assertTrue(elapsedMillis < 200, "Matriz com disjuntor aberto levou " + elapsedMillis + " ms");
+    }
+}
@@ -0,0 +1,61 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.models.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HaversineMatrixTest {
+
+    private static List<Location> randomLocations(int count) {
+        Random random = new Random(11);
+        List<Location> locations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            locations.add(new Location(-30 + random.nextDouble() * 25, -60 + random.nextDouble() * 25, "Ponto " + i));
+        }
+        locations.add(locations.get(0)); // Retorno ao início
+        return locations;
+    }
+
+    @Test
+    void testMatchesPairwiseHaversine() {
+        // Arrange
+        List<Location> locations = randomLocations(40);
+        GoogleMapsService service = new GoogleMapsService();
+
+        // Act
+        double[][] matrix = new HaversineMatrix(locations).minutesMatrix();
+
+        // Assert
+        for (int i = 0; i < locations.size(); i++) {
+            for (int j = 0; j < locations.size(); j++) {
+                double expected = i == j ? 0 : service.straightLineMinutes(locations.get(i), locations.get(j));
+                assertEquals(expected, matrix[i][j], 1e-9);
+            }
+        }
+        assertEquals(0.0, matrix[0][locations.size() - 1], 1e-9);
+    }
+
+    @Test
+    void testParallelRowsFillWholeMatrix() {
+        // Arrange - acima do limite a partir do qual as linhas são divididas entre threads
+        List<Location> locations = randomLocations(HaversineMatrix.PARALLEL_MIN_SIZE + 50);
+        HaversineMatrix haversine = new HaversineMatrix(locations);
+
+        // Act
+        double[][] matrix = haversine.minutesMatrix();
+
+        // Assert
+        for (int i = 0; i < locations.size(); i++) {
+            assertEquals(0.0, matrix[i][i]);
+            for (int j = i + 1; j < locations.size(); j++) {
+                assertEquals(matrix[i][j], matrix[j][i]);
+                assertEquals(haversine.minutes(i, j), matrix[i][j]);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.agropecuaria.route.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimizationExecutionServiceTest {
+
+    private OptimizationExecutionService service;
+
+    private static OptimizationExecutionService newService(boolean virtualThreads, int cpuThreads, int maxQueued) {
+        OptimizationExecutionService service = new OptimizationExecutionService();
+        service.virtualThreads = virtualThreads;
+        service.cpuThreads = Optional.of(cpuThreads);
+        service.maxQueued = maxQueued;
+        service.init();
+        return service;
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testIoRunsOnVirtualThreadAndCpuOnPlatformPool() {
+        // Arrange
+        service = newService(true, 2, 1);
+
+        // Act
+        String threads = service.execute(
+                () -> Thread.currentThread().isVirtual() + ":",
+                io -> io + Thread.currentThread().isVirtual() + ":" + Thread.currentThread().getName()
+        ).await().atMost(Duration.ofSeconds(5));
+
+        // Assert
+        assertTrue(threads.startsWith("true:false:optimization-cpu-"), threads);
+        assertEquals(0, service.getInFlight());
+    }
+
+    @Test
+    void testRejectsImmediatelyWhenAdmissionLimitIsReached() throws Exception {
+        // Arrange - uma thread de CPU e uma vaga na fila, ambas ocupadas
+        service = newService(true, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        var running = service.execute(() -> 1, value -> {
+            started.countDown();
+            await(release);
+            return value;
+        }).subscribeAsCompletionStage();
+        var queued = service.execute(() -> 2, value -> value).subscribeAsCompletionStage();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        var rejected = service.execute(() -> 3, value -> value).subscribeAsCompletionStage();
+
+        // Assert
+        var failure = assertThrows(Exception.class, () -> rejected.toCompletableFuture().get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        assertEquals(2, service.getInFlight());
+
+        release.countDown();
+        assertEquals(1, running.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertEquals(2, queued.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertEquals(0, service.getInFlight());
+    }
+
+    @Test
+    void testDefaultModeRunsBothPhasesWithoutAdmissionLimit() {
+        // Arrange
+        service = newService(false, 1, 0);
+
+        // Act
+        int result = service.execute(() -> 20, value -> value + 1).await().atMost(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(21, result);
+        assertFalse(service.isVirtualThreadsEnabled());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
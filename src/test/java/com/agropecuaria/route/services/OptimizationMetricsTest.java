@@ -0,0 +1,79 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.services.OptimizationMetrics.MatrixSource;
+import com.agropecuaria.route.services.OptimizationMetrics.Phase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimizationMetricsTest {
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        OptimizationMetrics.registry = registry;
+    }
+
+    @AfterEach
+    void tearDown() {
+        OptimizationMetrics.registry = Metrics.globalRegistry;
+    }
+
+    @Test
+    void testDeliveryBuckets() {
+        assertEquals("1-10", OptimizationMetrics.deliveryBucket(1));
+        assertEquals("1-10", OptimizationMetrics.deliveryBucket(10));
+        assertEquals("11-25", OptimizationMetrics.deliveryBucket(11));
+        assertEquals("101-250", OptimizationMetrics.deliveryBucket(250));
+        assertEquals("251+", OptimizationMetrics.deliveryBucket(1000));
+    }
+
+    @Test
+    void testPhasesAndCountersAreTaggedByDeliveryBucket() {
+        // Act
+        String result = OptimizationMetrics.timePhase(Phase.EVOLUTION, 30, () -> "ok");
+        OptimizationMetrics.recordMatrix(MatrixSource.CACHE, 30, OptimizationMetrics.start());
+        OptimizationMetrics.countEvolution(30, 120, 6000);
+        OptimizationMetrics.countEvolution(30, 80, 4000);
+        OptimizationMetrics.countMatrixPairs(MatrixSource.API, 30, 870);
+        OptimizationMetrics.countFallback("api_error", 30);
+        OptimizationMetrics.countApiError("OVER_QUERY_LIMIT", 30);
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(1, registry.get("route.optimization.phase")
+                .tag("phase", "evolution").tag("deliveries", "26-50").timer().count());
+        assertEquals(1, registry.get("route.optimization.matrix")
+                .tag("source", "cache").timer().count());
+        assertEquals(200, registry.get("route.optimization.generations")
+                .tag("deliveries", "26-50").counter().count());
+        assertEquals(10_000, registry.get("route.optimization.fitness.evaluations").counter().count());
+        assertEquals(870, registry.get("route.optimization.matrix.pairs")
+                .tag("source", "api").tag("deliveries", "26-50").counter().count());
+        assertEquals(1, registry.get("google.maps.fallbacks")
+                .tag("reason", "api_error").tag("deliveries", "26-50").counter().count());
+        assertEquals(1, registry.get("google.maps.api.errors")
+                .tag("reason", "OVER_QUERY_LIMIT").tag("deliveries", "26-50").counter().count());
+    }
+
+    @Test
+    void testConvergenceIsRecordedAsDistributions() {
+        // Act - o melhor custo final apareceu na geração 30 de 120
+        OptimizationMetrics.recordConvergence(30, 120, 30, 0.25, new long[] {1_000_000, 3_000_000});
+
+        // Assert
+        assertEquals(120, registry.get("route.optimization.generations.executed")
+                .tag("deliveries", "26-50").summary().totalAmount());
+        assertEquals(30, registry.get("route.optimization.best.generation").summary().totalAmount());
+        assertEquals(0.25, registry.get("route.optimization.convergence.ratio").summary().totalAmount(), 1e-9);
+        assertEquals(0.25, registry.get("route.optimization.population.diversity").summary().totalAmount(), 1e-9);
+        assertEquals(2, registry.get("route.optimization.generation.evaluation").timer().count());
+    }
+}
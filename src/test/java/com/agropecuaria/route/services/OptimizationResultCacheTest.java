@@ -0,0 +1,54 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.models.RouteOptimizationResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimizationResultCacheTest {
+
+    private static OptimizationResultCache newCache(int capacity, Duration ttl) {
+        OptimizationResultCache cache = new OptimizationResultCache();
+        cache.enabled = true;
+        cache.capacity = capacity;
+        cache.ttl = ttl;
+        return cache;
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedEntry() {
+        // Arrange
+        OptimizationResultCache cache = newCache(2, Duration.ofMinutes(10));
+        cache.put("a", new RouteOptimizationResponse());
+        cache.put("b", new RouteOptimizationResponse());
+
+        // Act - "a" é usada e "b" passa a ser a menos recente
+        cache.get("a");
+        cache.put("c", new RouteOptimizationResponse());
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertTrue(cache.get("a").isPresent());
+        assertTrue(cache.get("b").isEmpty());
+        assertTrue(cache.get("c").isPresent());
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testExpiredEntriesAreMisses() throws Exception {
+        // Arrange
+        OptimizationResultCache cache = newCache(10, Duration.ofMillis(20));
+        cache.put("a", new RouteOptimizationResponse());
+
+        // Act
+        Thread.sleep(40);
+
+        // Assert
+        assertTrue(cache.get("a").isEmpty());
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getMisses());
+    }
+}
@@ -0,0 +1,55 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.Product;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestFingerprintTest {
+
+    private static RouteOptimizationRequest request(double latitude, int maxMinutes, String notes) {
+        Delivery delivery = new Delivery(
+            new Location(latitude, -47.9292, "Taguatinga Norte, DF"),
+            Arrays.asList(new Product("Leite", "DAIRY", 50.0, "litros", maxMinutes)),
+            "Cliente 1"
+        );
+        delivery.setDeliveryNotes(notes);
+
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(new Location(-15.7942, -47.8822, "Brasília, DF"));
+        request.setDeliveries(Arrays.asList(delivery));
+        request.setLoadingTimeMinutes(10);
+        return request;
+    }
+
+    @Test
+    void testInformationalFieldsDoNotChangeFingerprint() {
+        // Arrange
+        RouteOptimizationRequest original = request(-15.7801, 120, "Portão azul");
+        RouteOptimizationRequest edited = request(-15.7801, 120, "Deixar na portaria");
+        edited.getDeliveries().get(0).setCustomerPhone("61 99999-0000");
+        edited.getStartLocation().setAddress("Outro endereço");
+
+        // Act & Assert
+        assertEquals(RequestFingerprint.of(original, "balanced"), RequestFingerprint.of(edited, "balanced"));
+    }
+
+    @Test
+    void testOptimizationFieldsChangeFingerprint() {
+        // Arrange
+        String base = RequestFingerprint.of(request(-15.7801, 120, null), "balanced");
+        RouteOptimizationRequest loading = request(-15.7801, 120, null);
+        loading.setLoadingTimeMinutes(15);
+
+        // Act & Assert
+        assertNotEquals(base, RequestFingerprint.of(request(-15.7802, 120, null), "balanced"));
+        assertNotEquals(base, RequestFingerprint.of(request(-15.7801, 90, null), "balanced"));
+        assertNotEquals(base, RequestFingerprint.of(loading, "balanced"));
+        assertNotEquals(base, RequestFingerprint.of(request(-15.7801, 120, null), "fast"));
+    }
+}
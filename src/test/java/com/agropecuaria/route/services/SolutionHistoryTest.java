@@ -0,0 +1,87 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.models.Delivery;
+import com.agropecuaria.route.models.Location;
+import com.agropecuaria.route.models.Product;
+import com.agropecuaria.route.models.RouteOptimizationRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionHistoryTest {
+
+    private static SolutionHistory newHistory() {
+        SolutionHistory history = new SolutionHistory();
+        history.enabled = true;
+        history.historySize = 4;
+        history.minOverlap = 0.5;
+        history.coordinatePrecision = 4;
+        return history;
+    }
+
+    // Entregas identificadas pela latitude
+    private static RouteOptimizationRequest request(double... latitudes) {
+        List<Delivery> deliveries = new ArrayList<>();
+        for (double latitude : latitudes) {
+            deliveries.add(new Delivery(
+                new Location(latitude, -47.9292, null),
+                Arrays.asList(new Product("Leite", "DAIRY", 50.0, "litros", 120))
+            ));
+        }
+
+        RouteOptimizationRequest request = new RouteOptimizationRequest();
+        request.setStartLocation(new Location(-15.7942, -47.8822, "Brasília, DF"));
+        request.setDeliveries(deliveries);
+        request.setLoadingTimeMinutes(10);
+        return request;
+    }
+
+    @Test
+    void testPreviousOrderFollowsRecordedPlanWithoutDroppedDeliveries() {
+        // Arrange - ontem: entregas 1, 2, 3, 4 visitadas na ordem 3, 1, 4, 2
+        SolutionHistory history = newHistory();
+        history.record(request(-15.71, -15.72, -15.73, -15.74), Arrays.asList(0, 3, 1, 4, 2, 0));
+
+        // Act - hoje a entrega -15.72 saiu, -15.75 entrou e a requisição vem em outra ordem
+        Optional<int[]> order = history.previousOrder(request(-15.74, -15.75, -15.71, -15.73));
+
+        // Assert - -15.73, -15.71, -15.74 nos índices desta requisição; a entrega nova fica de fora
+        assertTrue(order.isPresent());
+        assertArrayEquals(new int[] {3, 2, 0}, order.get());
+    }
+
+    @Test
+    void testPlansBelowMinimumOverlapOrFromOtherStartAreIgnored() {
+        // Arrange
+        SolutionHistory history = newHistory();
+        history.record(request(-15.71, -15.72, -15.73, -15.74), Arrays.asList(0, 1, 2, 3, 4, 0));
+        RouteOptimizationRequest otherStart = request(-15.71, -15.72, -15.73, -15.74);
+        otherStart.getStartLocation().setLatitude(-16.0);
+
+        // Act & Assert - uma entrega em comum de cinco não atinge 50%
+        assertTrue(history.previousOrder(request(-15.71, -15.81, -15.82, -15.83, -15.84)).isEmpty());
+        assertTrue(history.previousOrder(otherStart).isEmpty());
+    }
+
+    @Test
+    void testHistoryKeepsOnlyMostRecentPlans() {
+        // Arrange
+        SolutionHistory history = newHistory();
+
+        // Act - seis planos sem entregas em comum e o último repetido
+        for (int i = 0; i < 6; i++) {
+            history.record(request(-15.71 - i * 0.01, -15.91 - i * 0.01), Arrays.asList(0, 1, 2, 0));
+        }
+        history.record(request(-15.76, -15.96), Arrays.asList(0, 1, 2, 0));
+
+        // Assert - o plano repetido não ocupa outra posição e os dois mais antigos saíram
+        assertEquals(4, history.size());
+        assertTrue(history.previousOrder(request(-15.73, -15.93)).isPresent());
+        assertTrue(history.previousOrder(request(-15.72, -15.92)).isEmpty());
+    }
+}
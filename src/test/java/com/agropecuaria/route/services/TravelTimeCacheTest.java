@@ -0,0 +1,95 @@
+package com.agropecuaria.route.services;
+
+import com.agropecuaria.route.models.Location;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TravelTimeCacheTest {
+
+    private static final Location SAO_PAULO = new Location(-23.5505, -46.6333, "São Paulo, SP");
+    private static final Location CAMPINAS = new Location(-22.9056, -47.0608, "Campinas, SP");
+
+    private static TravelTimeCache newCache(Path file, int capacity, Duration ttl) {
+        TravelTimeCache cache = new TravelTimeCache();
+        cache.enabled = true;
+        cache.path = Optional.ofNullable(file).map(Path::toString);
+        cache.capacity = capacity;
+        cache.ttl = ttl;
+        cache.coordinatePrecision = 4;
+        cache.open();
+        return cache;
+    }
+
+    @Test
+    void testPutAndGetByRoundedCoordinates() {
+        // Arrange
+        TravelTimeCache cache = newCache(null, 64, Duration.ofDays(1));
+
+        // Act
+        cache.put(SAO_PAULO, CAMPINAS, 95.5);
+
+        // Assert
+        assertEquals(95.5, cache.get(SAO_PAULO, CAMPINAS));
+        assertEquals(95.5, cache.get(new Location(-23.55052, -46.63331, "Mesmo ponto"), CAMPINAS));
+        assertTrue(Double.isNaN(cache.get(CAMPINAS, SAO_PAULO))); // Par direcionado
+    }
+
+    @Test
+    void testExpiredEntriesAreMissing() {
+        // Arrange
+        TravelTimeCache cache = newCache(null, 64, Duration.ofHours(1));
+        cache.clock = Clock.fixed(Instant.parse("2024-01-01T08:00:00Z"), ZoneOffset.UTC);
+        cache.put(SAO_PAULO, CAMPINAS, 95.5);
+
+        // Act
+        cache.clock = Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneOffset.UTC);
+
+        // Assert
+        assertTrue(Double.isNaN(cache.get(SAO_PAULO, CAMPINAS)));
+    }
+
+    @Test
+    void testEntriesSurviveReopen(@TempDir Path directory) {
+        // Arrange
+        Path file = directory.resolve("travel-times.bin");
+        TravelTimeCache cache = newCache(file, 64, Duration.ofDays(1));
+        cache.put(SAO_PAULO, CAMPINAS, 95.5);
+        cache.close();
+
+        // Act
+        TravelTimeCache reopened = newCache(file, 64, Duration.ofDays(1));
+
+        // Assert
+        assertEquals(95.5, reopened.get(SAO_PAULO, CAMPINAS));
+    }
+
+    @Test
+    void testCapacityIsBounded() {
+        // Arrange
+        TravelTimeCache cache = newCache(null, 8, Duration.ofDays(1));
+
+        // Act - muito mais pares do que posições
+        for (int i = 0; i < 100; i++) {
+            cache.put(SAO_PAULO, new Location(-22.0 - i * 0.01, -47.0, "Destino " + i), i);
+        }
+
+        // Assert - os mais recentes permanecem, os antigos foram substituídos
+        int present = 0;
+        for (int i = 0; i < 100; i++) {
+            if (!Double.isNaN(cache.get(SAO_PAULO, new Location(-22.0 - i * 0.01, -47.0, "Destino " + i)))) {
+                present++;
+            }
+        }
+        assertTrue(present <= 8);
+        assertEquals(99.0, cache.get(SAO_PAULO, new Location(-22.99, -47.0, "Destino 99")));
+    }
+}